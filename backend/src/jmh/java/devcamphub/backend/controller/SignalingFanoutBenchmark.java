@@ -0,0 +1,154 @@
+package devcamphub.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.config.WebSocketDestinations;
+import devcamphub.backend.dto.SignalMessage;
+import devcamphub.backend.service.BroadcastRelay;
+import devcamphub.backend.service.MessageBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 참여자 1명이 방에 들어올 때 생기는 아웃바운드 시그널 프레임 수를 방 크기(5 / 20 / 50)별로 비교합니다.
+ * 입장 1회는 user-list, user-joined, 기존 참여자마다 offer/answer 1개씩과
+ * 방향마다 iceCandidates개의 ICE 후보로 구성됩니다. (클라이언트 useStreamSession.ts의 흐름)
+ * - room: 기존 방식 (모든 시그널을 /topic/signal/{streamId}로 방 전체에 전달, 클라이언트가 receiver로 거름)
+ * - targeted: SignalingController 방식 (peer 간 시그널은 수신자 세션으로만, user-joined만 방 전체에)
+ * 실제 SimpleBroker로 팬아웃하며, 결과의 joins/frames 보조 카운터(초당)로 입장 1회당 프레임 수를 확인합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=SignalingFanoutBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SignalingFanoutBenchmark {
+
+    private static final String STREAM_ID = "1";
+    private static final String ROOM_TOPIC = "/topic/signal/" + STREAM_ID;
+
+    @Param({ "5", "20", "50" })
+    public int peers;
+
+    @Param({ "room", "targeted" })
+    public String routing;
+
+    @Param({ "4" })
+    public int iceCandidates;
+
+    private SimpleBrokerMessageHandler broker;
+    private MessageBroadcaster broadcaster;
+    private long frames;
+
+    private String newcomer;
+    private List<String> existingPeers;
+    private SignalMessage offer;
+    private SignalMessage ice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(outbound -> frames++);
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel,
+                List.of("/topic", "/queue"));
+        broker.start();
+        // 참여자마다 방 토픽과 "/user/queue/signal"(세션 지정 destination)을 구독합니다.
+        for (int i = 0; i < peers; i++) {
+            subscribe("peer-" + i, "sub-room", ROOM_TOPIC);
+            subscribe("peer-" + i, "sub-signal", WebSocketDestinations.sessionSignal("peer-" + i));
+        }
+
+        broadcaster = new MessageBroadcaster(new SimpMessagingTemplate(brokerChannel), new ObjectMapper(),
+                new SimpleMeterRegistry(), new StaticListableBeanFactory().getBeanProvider(BroadcastRelay.class),
+                false);
+
+        newcomer = "peer-" + (peers - 1);
+        existingPeers = IntStream.range(0, peers - 1).mapToObj(i -> "peer-" + i).toList();
+        offer = signal("offer", Map.of("type", "offer", "sdp", "v=0\r\no=- 4611731400430051336 2 IN IP4 127.0.0.1"));
+        ice = signal("ice", Map.of("candidate", "candidate:1 1 udp 2122260223 192.168.0.10 54321 typ host",
+                "sdpMid", "0", "sdpMLineIndex", 0));
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        subscribe.setSessionId(sessionId);
+        subscribe.setSubscriptionId(subscriptionId);
+        subscribe.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+    }
+
+    private static SignalMessage signal(String type, Object data) {
+        SignalMessage message = new SignalMessage();
+        message.setType(type);
+        message.setData(data);
+        return message;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long joins;
+        public long frames;
+    }
+
+    @Benchmark
+    public void join(Counters counters) {
+        long before = frames;
+
+        SignalMessage userList = signal("user-list", Set.copyOf(existingPeers));
+        userList.setSender("server");
+        userList.setReceiver(newcomer);
+        sendTo(newcomer, userList);
+        SignalMessage joined = signal("user-joined", null);
+        joined.setSender(newcomer);
+        broadcaster.broadcast(ROOM_TOPIC, joined);
+
+        for (String peer : existingPeers) {
+            sendTo(newcomer, offer);
+            sendTo(peer, offer); // answer
+            for (int i = 0; i < iceCandidates; i++) {
+                sendTo(newcomer, ice);
+                sendTo(peer, ice);
+            }
+        }
+
+        counters.joins++;
+        counters.frames += frames - before;
+    }
+
+    private void sendTo(String receiverSessionId, SignalMessage message) {
+        String destination = "targeted".equals(routing)
+                ? WebSocketDestinations.sessionSignal(receiverSessionId)
+                : ROOM_TOPIC;
+        broadcaster.broadcast(destination, message);
+    }
+}
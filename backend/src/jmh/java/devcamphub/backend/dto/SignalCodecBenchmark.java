@@ -0,0 +1,106 @@
+package devcamphub.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDP offer 시그널 1개를 전달할 때(인바운드 역직렬화 + 아웃바운드 직렬화)의 CPU 시간과 할당량을 비교합니다.
+ * - tree: 기존 방식 (data를 Object로 선언 → LinkedHashMap 트리로 읽고 다시 순회하며 직렬화)
+ * - raw: SignalMessage 방식 (data를 RawJson 바이트로 복사해 두고 그대로 출력)
+ * 실행: ./gradlew jmh -Pjmh.includes=SignalCodecBenchmark (-prof gc로 전달 1회당 할당량 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignalCodecBenchmark {
+
+    @Param({ "tree", "raw" })
+    public String codec;
+
+    // SDP 본문의 미디어 섹션 수 (오디오/비디오 트랙 수)
+    @Param({ "2", "6" })
+    public int mediaSections;
+
+    private byte[] inbound;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TreeSignalMessage offer = new TreeSignalMessage();
+        offer.type = "offer";
+        offer.sender = "alice";
+        offer.receiver = "bob";
+        offer.streamId = "1";
+        offer.data = Map.of("type", "offer", "sdp", sdp(mediaSections));
+        inbound = objectMapper.writeValueAsBytes(offer);
+
+        Class<?> type = "raw".equals(codec) ? SignalMessage.class : TreeSignalMessage.class;
+        reader = objectMapper.readerFor(type);
+        writer = objectMapper.writerFor(type);
+    }
+
+    @Benchmark
+    public byte[] forwardOffer() throws Exception {
+        Object message = reader.readValue(inbound);
+        return writer.writeValueAsBytes(message);
+    }
+
+    /**
+     * 브라우저가 만드는 offer와 비슷한 크기/구조의 SDP를 만듭니다.
+     */
+    private static String sdp(int mediaSections) {
+        StringBuilder sdp = new StringBuilder()
+                .append("v=0\r\no=- 4611731400430051336 2 IN IP4 127.0.0.1\r\ns=-\r\nt=0 0\r\n")
+                .append("a=group:BUNDLE");
+        for (int i = 0; i < mediaSections; i++) {
+            sdp.append(' ').append(i);
+        }
+        sdp.append("\r\na=msid-semantic: WMS stream\r\n");
+        for (int i = 0; i < mediaSections; i++) {
+            boolean video = i % 2 == 1;
+            sdp.append("m=").append(video ? "video" : "audio")
+                    .append(" 9 UDP/TLS/RTP/SAVPF 96 97 98 99 100 101 102\r\n")
+                    .append("c=IN IP4 0.0.0.0\r\na=rtcp:9 IN IP4 0.0.0.0\r\n")
+                    .append("a=ice-ufrag:8hhY\r\na=ice-pwd:asd88fgpdd777uzjYhagZg\r\na=ice-options:trickle\r\n")
+                    .append("a=fingerprint:sha-256 7B:8B:F0:65:5F:78:E2:51:3B:AC:6F:F3:3F:46:1B:35:")
+                    .append("DC:B8:5F:64:1A:24:C2:43:F0:A1:58:D0:A1:2C:19:08\r\n")
+                    .append("a=setup:actpass\r\na=mid:").append(i).append("\r\n")
+                    .append("a=sendrecv\r\na=rtcp-mux\r\na=rtcp-rsize\r\n");
+            for (int pt = 96; pt <= 102; pt++) {
+                sdp.append("a=rtpmap:").append(pt).append(video ? " VP8/90000" : " opus/48000/2").append("\r\n")
+                        .append("a=rtcp-fb:").append(pt).append(" nack\r\n")
+                        .append("a=fmtp:").append(pt).append(" minptime=10;useinbandfec=1\r\n");
+            }
+            sdp.append("a=ssrc:").append(1000 + i).append(" cname:4TOk42mSjXCkVIa6\r\n")
+                    .append("a=ssrc:").append(1000 + i).append(" msid:stream track-").append(i).append("\r\n");
+        }
+        return sdp.toString();
+    }
+
+    /**
+     * 기존 SignalMessage와 같은 구조 (data를 Jackson 기본 방식으로 역직렬화)
+     */
+    public static class TreeSignalMessage {
+        public String type;
+        public String sender;
+        public String receiver;
+        public Object data;
+        public String streamId;
+        public String nickname;
+    }
+}
@@ -0,0 +1,99 @@
+package devcamphub.backend.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 연속 입력(burst typing) 상황에서 ACK 프레임 수를 비교합니다.
+ * 스레드 하나가 채팅 사용자 한 명으로, burstSize개의 메시지를 연달아 보낸 뒤 pauseMillis 동안 쉽니다.
+ * - windowMs=0: 기존 방식 (메시지마다 ACK 프레임 1개)
+ * - windowMs=20: ChatAckCoalescer (한가하면 즉시, 연속 입력은 묶어서)
+ * 결과의 acks/frames 보조 카운터(초당)로 ACK 1개당 아웃바운드 프레임 수를 확인합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=AckCoalescingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class AckCoalescingBenchmark {
+
+    @Param({ "0", "20" })
+    public long windowMs;
+
+    @Param({ "1", "5" })
+    public int burstSize;
+
+    @Param({ "50" })
+    public long pauseMillis;
+
+    // ACK destination(/user/{username}/queue/ack)별로 보낸 프레임 수
+    private final Map<String, AtomicLong> framesByDestination = new ConcurrentHashMap<>();
+    private ChatAckCoalescer coalescer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MessageChannel channel = (message, timeout) -> {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            framesByDestination.computeIfAbsent(destination, key -> new AtomicLong()).incrementAndGet();
+            return true;
+        };
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        coalescer = new ChatAckCoalescer(template, windowMs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long acks;
+        public long frames;
+
+        private static final AtomicLong USER_SEQUENCE = new AtomicLong();
+        private final String username = "user-" + USER_SEQUENCE.incrementAndGet() + "@devcamphub.dev";
+        private long clientMsgId = System.nanoTime();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            acks = 0;
+            frames = 0;
+        }
+    }
+
+    @Benchmark
+    public void burstTyping(Counters counters) {
+        for (int i = 0; i < burstSize; i++) {
+            coalescer.ack(counters.username, counters.clientMsgId++);
+        }
+        counters.acks += burstSize;
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pauseMillis));
+        // 쉬는 동안 window 끝에 묶여 나간 프레임까지 이 사용자 몫으로 집계합니다.
+        counters.frames += framesByDestination
+                .computeIfAbsent("/user/" + counters.username + "/queue/ack", key -> new AtomicLong())
+                .getAndSet(0);
+    }
+}
@@ -0,0 +1,106 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.dto.ChatMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 브로드캐스트 1회의 비용을 구독자 수(100 / 1k / 5k)별로 비교합니다.
+ * - convertAndSend: 기존 ChatService 경로 (메시지 컨버터로 직렬화)
+ * - preEncoded: MessageBroadcaster 경로 (한 번 직렬화한 불변 byte[] 공유)
+ * 실제 SimpleBroker로 팬아웃하고, 아웃바운드 채널에서 구독자별 STOMP 프레임 인코딩까지 수행합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=BroadcastBenchmark (-prof gc로 브로드캐스트당 할당량 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastBenchmark {
+
+    private static final String DESTINATION = "/topic/chat/1/notice";
+
+    @Param({ "100", "1000", "5000" })
+    public int subscribers;
+
+    private SimpleBrokerMessageHandler broker;
+    private SimpMessagingTemplate template;
+    private MessageBroadcaster broadcaster;
+    private ChatMessageDto message;
+    private long encodedBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+
+        // StompSubProtocolHandler처럼 구독자마다 프레임을 인코딩합니다.
+        StompEncoder encoder = new StompEncoder();
+        clientOutbound.subscribe(outbound -> {
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(outbound);
+            accessor.setCommand(StompCommand.MESSAGE);
+            encodedBytes += encoder.encode(accessor.getMessageHeaders(), (byte[]) outbound.getPayload()).length;
+        });
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        broker.start();
+        for (int i = 0; i < subscribers; i++) {
+            SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            subscribe.setSessionId("session-" + i);
+            subscribe.setSubscriptionId("sub-0");
+            subscribe.setDestination(DESTINATION);
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        template = new SimpMessagingTemplate(brokerChannel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        template.setMessageConverter(converter);
+        broadcaster = new MessageBroadcaster(template, objectMapper, new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(BroadcastRelay.class), false);
+
+        message = new ChatMessageDto(1L, 1L, "notice", "admin",
+                "{\"text\":\"오늘 강의는 10분 뒤에 시작합니다. 모두 접속해주세요!\"}", "2025-10-01 09:50:00");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Benchmark
+    public long convertAndSend() {
+        template.convertAndSend(DESTINATION, message);
+        return encodedBytes;
+    }
+
+    @Benchmark
+    public long preEncoded() {
+        broadcaster.broadcast(DESTINATION, message);
+        return encodedBytes;
+    }
+}
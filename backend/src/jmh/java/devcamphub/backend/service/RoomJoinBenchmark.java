@@ -0,0 +1,102 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시그널링 방 입장 + 퇴장 1회의 지연 시간을 임베디드 Redis에서 비교합니다.
+ * - sequential: 기존 방식 (입장: SMEMBERS, SADD, HSET, SCARD / 퇴장: HGET, HGET, SREM, SCARD, HDEL → 9회 왕복)
+ * - script: WebSocketSessionRegistry의 Lua 스크립트 (입장 1회 + 퇴장 1회 → 2회 왕복, presence/노드 기록 포함)
+ * 로컬 루프백이라 왕복 비용이 작으므로, 실제 네트워크(수백 µs RTT)에서는 차이가 더 커집니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=RoomJoinBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomJoinBenchmark {
+
+    private static final String ROOM_ID = "1";
+    private static final String ROOM_KEY = "ws:room:" + ROOM_ID;
+    private static final String NICKNAME_ROOM_MAP = "ws:nickname-room";
+    private static final String NICKNAME = "newcomer";
+
+    @Param({ "5", "50" })
+    public int roomSize;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private WebSocketSessionRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        // Redis 왕복만 비교하도록 near cache는 끕니다.
+        NodeIdentity nodeIdentity = new NodeIdentity(redisTemplate, -1, 30);
+        registry = new WebSocketSessionRegistry(redisTemplate,
+                new RoomRegistryNearCache(connectionFactory, nodeIdentity, new SimpleMeterRegistry(), false, 10_000, 30),
+                nodeIdentity, 30, 3600);
+
+        for (int i = 0; i < roomSize - 1; i++) {
+            registry.joinRoom(ROOM_ID, "peer-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public Set<String> sequential() {
+        Set<String> existing = redisTemplate.opsForSet().members(ROOM_KEY);
+        redisTemplate.opsForSet().add(ROOM_KEY, NICKNAME);
+        redisTemplate.opsForHash().put(NICKNAME_ROOM_MAP, NICKNAME, ROOM_ID);
+        redisTemplate.opsForSet().size(ROOM_KEY);
+
+        String roomId = (String) redisTemplate.opsForHash().get(NICKNAME_ROOM_MAP, NICKNAME); // getRoomIdForUser
+        if (roomId != null) {
+            redisTemplate.opsForHash().get(NICKNAME_ROOM_MAP, NICKNAME);
+            redisTemplate.opsForSet().remove("ws:room:" + roomId, NICKNAME);
+            redisTemplate.opsForSet().size("ws:room:" + roomId);
+            redisTemplate.opsForHash().delete(NICKNAME_ROOM_MAP, NICKNAME);
+        }
+        return existing;
+    }
+
+    @Benchmark
+    public Set<String> script() {
+        Set<String> existing = registry.joinRoom(ROOM_ID, NICKNAME).existingUsers();
+        registry.leaveRoom(NICKNAME);
+        return existing;
+    }
+}
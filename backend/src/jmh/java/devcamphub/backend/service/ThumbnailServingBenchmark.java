@@ -0,0 +1,111 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 라이브 모각코 썸네일 30개가 있는 캠프 페이지를 한 번 열 때의 썸네일 요청을 서버 쪽에서 처리하는 속도를 비교합니다.
+ * 점수는 초당 썸네일 요청 수이며(@OperationsPerInvocation), 30으로 나누면 초당 페이지 수입니다.
+ * - disk: 기존 방식 (캐시할 수 없는 {streamId}.jpg를 페이지를 열 때마다 파일에서 다시 읽어 보냄)
+ * - lru: ThumbnailCache에 올라간 내용을 메모리에서 보냄
+ * - notModified: 브라우저가 재검증(If-None-Match)할 때 파일 이름의 해시만 비교해 304로 답함
+ *   (immutable Cache-Control이 붙은 URL은 보통 재검증조차 오지 않으므로 가장 나쁜 경우)
+ * 캐시 미스일 때의 sendfile 전송은 Tomcat 소켓에서 일어나므로 여기서는 측정하지 않습니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=ThumbnailServingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ThumbnailServingBenchmark {
+
+    private static final int THUMBNAILS_PER_PAGE = 30;
+
+    @Param({ "disk", "lru", "notModified" })
+    public String serving;
+
+    // 카드에 쓰이는 썸네일 너비(px)
+    @Param({ "320" })
+    public int width;
+
+    private Path directory;
+    private String[] fileNames;
+    private String[] ifNoneMatch;
+    private ThumbnailCache cache;
+    private final OutputStream response = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("thumbnails");
+        cache = new ThumbnailCache(new SimpleMeterRegistry(), 64L << 20, 1L << 20);
+        fileNames = new String[THUMBNAILS_PER_PAGE];
+        ifNoneMatch = new String[THUMBNAILS_PER_PAGE];
+
+        Random random = new Random(42);
+        int height = width * 9 / 16;
+        for (int i = 0; i < THUMBNAILS_PER_PAGE; i++) {
+            // 화면 공유 썸네일처럼 압축이 잘 되지 않도록 잡음을 섞습니다.
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    image.setRGB(x, y, random.nextInt(0x1000000));
+                }
+            }
+            String hash = String.format("%016x", random.nextLong());
+            fileNames[i] = (i + 1) + "-" + width + "-" + hash + ".jpg";
+            ifNoneMatch[i] = '"' + hash + '"';
+            Path file = directory.resolve(fileNames[i]);
+            ImageIO.write(image, "jpg", file.toFile());
+            cache.put(fileNames[i], Files.readAllBytes(file));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(THUMBNAILS_PER_PAGE)
+    public void page(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < THUMBNAILS_PER_PAGE; i++) {
+            switch (serving) {
+                case "disk" -> {
+                    Path file = directory.resolve(fileNames[i]);
+                    blackhole.consume(Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime());
+                    response.write(Files.readAllBytes(file));
+                }
+                case "lru" -> response.write(cache.get(fileNames[i]));
+                case "notModified" -> blackhole.consume(
+                        ifNoneMatch[i].regionMatches(1, ThumbnailService.contentHash(fileNames[i]), 0, 16));
+                default -> throw new IllegalStateException(serving);
+            }
+        }
+    }
+}
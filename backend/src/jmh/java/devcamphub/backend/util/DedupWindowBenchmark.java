@@ -0,0 +1,68 @@
+package devcamphub.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 스레드가 동시에 clientMsgId를 기록할 때 DedupWindow의 처리량을 측정합니다.
+ * 비교 기준으로 ConcurrentHashMap 기반 Set(박싱 할당 포함)을 함께 측정합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=DedupWindowBenchmark (-prof gc로 할당량 확인 가능)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class DedupWindowBenchmark {
+
+    // 재전송 비율(%) - 0이면 모두 새 메시지
+    @Param({ "0", "10" })
+    public int duplicatePercent;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private DedupWindow window;
+    private Set<Long> concurrentSet;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        window = new DedupWindow(1 << 20, TimeUnit.SECONDS.toNanos(120));
+        concurrentSet = ConcurrentHashMap.newKeySet(1 << 20);
+    }
+
+    @State(Scope.Thread)
+    public static class Sender {
+        long lastId;
+        int counter;
+    }
+
+    private long nextId(Sender sender) {
+        if (sender.lastId != 0 && ++sender.counter % 100 < duplicatePercent) {
+            return sender.lastId; // 직전 메시지 재전송
+        }
+        sender.lastId = sequence.incrementAndGet();
+        return sender.lastId;
+    }
+
+    @Benchmark
+    public boolean dedupWindow(Sender sender) {
+        return window.add(nextId(sender));
+    }
+
+    @Benchmark
+    public boolean concurrentHashSet(Sender sender) {
+        return concurrentSet.add(nextId(sender));
+    }
+}
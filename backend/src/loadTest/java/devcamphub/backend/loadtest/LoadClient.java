@@ -0,0 +1,245 @@
+package devcamphub.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.ConnectionLostException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 가상 사용자 한 명. 캠프 채팅 채널을 구독하고 주기적으로 채팅을 보내며,
+ * 시그널링 방이 배정된 경우 방에 참여(join)한 뒤 방에서 알게 된 참여자들에게 돌아가며 ICE 시그널을 보냅니다.
+ * 지연 시간은 송신 시각(nanoTime)을 메시지에 담아, 수신 측에서 차이를 계산합니다.
+ */
+@Slf4j
+final class LoadClient extends StompSessionHandlerAdapter {
+
+    private static final String CHANNEL = "general";
+    private static final String LATENCY_PREFIX = "lt:";
+
+    private final int index;
+    private final LoadTestFixture.SeededUser user;
+    private final Long roomId; // 시그널링 방이 없으면 null
+    private final LoadTestMetrics metrics;
+    private final Map<Long, Long> pendingAcks = new ConcurrentHashMap<>();
+    private volatile StompSession session;
+    private volatile boolean running;
+    private long clientMsgSequence;
+    private volatile long joinSentNanos;
+    private final List<String> peers = new CopyOnWriteArrayList<>(); // user-list, user-joined로 알게 된 참여자
+    private int nextPeer;
+
+    LoadClient(int index, LoadTestFixture.SeededUser user, Long roomId, LoadTestMetrics metrics) {
+        this.index = index;
+        this.user = user;
+        this.roomId = roomId;
+        this.metrics = metrics;
+    }
+
+    CompletableFuture<StompSession> connect(WebSocketStompClient stompClient, String url) {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + user.token());
+        long start = System.nanoTime();
+        return stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, this)
+                .whenComplete((connected, error) -> {
+                    if (error != null) {
+                        metrics.connectFailures.increment();
+                        log.warn("Client {} failed to connect: {}", index, error.getMessage());
+                    } else {
+                        metrics.record(metrics.connectLatency, start);
+                    }
+                });
+    }
+
+    @Override
+    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        this.session = session;
+        session.subscribe("/topic/chat/" + user.campId() + "/" + CHANNEL, new JsonFrameHandler(this::onChat));
+        session.subscribe("/user/queue/ack", new JsonFrameHandler(this::onAck));
+        metrics.campSubscribers(user.campId()).incrementAndGet();
+        if (roomId != null) {
+            session.subscribe("/topic/signal/" + roomId, new JsonFrameHandler(this::onSignal));
+            session.subscribe("/user/queue/signal", new JsonFrameHandler(this::onSignal));
+            metrics.roomSubscribers(roomId).incrementAndGet();
+        }
+    }
+
+    /**
+     * 측정을 시작합니다. 채팅과 ICE 전송 작업을 각자의 주기로 예약합니다.
+     */
+    void start(ScheduledExecutorService scheduler, LoadTestOptions options, long jitterMicros) {
+        if (session == null) {
+            return;
+        }
+        running = true;
+        if (options.chatRatePerClient() > 0) {
+            long periodMicros = (long) (1_000_000 / options.chatRatePerClient());
+            scheduler.scheduleAtFixedRate(this::sendChat, jitterMicros % periodMicros, periodMicros,
+                    TimeUnit.MICROSECONDS);
+        }
+        if (roomId != null) {
+            // 구독이 처리될 시간을 둔 뒤 방에 참여합니다.
+            scheduler.schedule(this::sendJoin, 200 + jitterMicros % 1_000_000 / 1_000, TimeUnit.MILLISECONDS);
+            if (options.iceRatePerPeer() > 0) {
+                long periodMicros = (long) (1_000_000 / options.iceRatePerPeer());
+                scheduler.scheduleAtFixedRate(this::sendIce, 1_000_000 + jitterMicros % periodMicros, periodMicros,
+                        TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    private void sendChat() {
+        if (!running) {
+            return;
+        }
+        long now = System.nanoTime();
+        long clientMsgId = index * 10_000_000L + (++clientMsgSequence);
+        pendingAcks.put(clientMsgId, now);
+        try {
+            session.send("/app/chat/" + user.campId() + "/" + CHANNEL, Map.of(
+                    "clientMsgId", clientMsgId,
+                    "content", LATENCY_PREFIX + now));
+            metrics.chatSent.increment();
+            metrics.chatExpected.add(metrics.campSubscribers(user.campId()).get());
+        } catch (RuntimeException e) {
+            pendingAcks.remove(clientMsgId);
+            metrics.transportErrors.increment();
+        }
+    }
+
+    private void sendJoin() {
+        if (!running) {
+            return;
+        }
+        joinSentNanos = System.nanoTime();
+        session.send("/app/signal/join", Map.of("streamId", String.valueOf(roomId), "nickname", user.nickname()));
+        metrics.joinsSent.increment();
+    }
+
+    private void sendIce() {
+        if (!running || peers.isEmpty()) {
+            return;
+        }
+        String receiver = peers.get(nextPeer++ % peers.size());
+        try {
+            session.send("/app/signal/" + roomId, Map.of(
+                    "type", "ice",
+                    "sender", user.nickname(),
+                    "receiver", receiver,
+                    "streamId", String.valueOf(roomId),
+                    "data", Map.of("sentNanos", System.nanoTime())));
+            metrics.iceSent.increment();
+            metrics.iceExpected.increment();
+        } catch (RuntimeException e) {
+            metrics.transportErrors.increment();
+        }
+    }
+
+    private void onChat(JsonNode message) {
+        String content = message.path("content").asText("");
+        if (content.startsWith(LATENCY_PREFIX)) {
+            metrics.record(metrics.chatLatency, Long.parseLong(content.substring(LATENCY_PREFIX.length())));
+            metrics.chatDelivered.increment();
+        }
+    }
+
+    private void onAck(JsonNode ack) {
+        for (JsonNode clientMsgId : ack.path("clientMsgIds")) {
+            Long sentNanos = pendingAcks.remove(clientMsgId.asLong());
+            if (sentNanos != null) {
+                metrics.record(metrics.ackLatency, sentNanos);
+                metrics.acked.increment();
+            }
+        }
+    }
+
+    private void onSignal(JsonNode signal) {
+        String type = signal.path("type").asText();
+        if ("user-list".equals(type) && user.nickname().equals(signal.path("receiver").asText())) {
+            metrics.record(metrics.joinLatency, joinSentNanos);
+            signal.path("data").forEach(peer -> addPeer(peer.asText()));
+        } else if ("user-joined".equals(type)) {
+            addPeer(signal.path("sender").asText());
+        } else if ("ice".equals(type) && !user.nickname().equals(signal.path("sender").asText())) {
+            // 서버가 연달아 온 후보를 배열로 묶어 보낼 수 있습니다.
+            JsonNode data = signal.path("data");
+            Iterable<JsonNode> candidates = data.isArray() ? data : List.of(data);
+            for (JsonNode candidate : candidates) {
+                metrics.record(metrics.iceLatency, candidate.path("sentNanos").asLong());
+                metrics.iceDelivered.increment();
+            }
+        }
+    }
+
+    private void addPeer(String nickname) {
+        if (!nickname.isEmpty() && !nickname.equals(user.nickname()) && !peers.contains(nickname)) {
+            peers.add(nickname);
+        }
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+        // 세션 핸들러로 오는 프레임은 ERROR 프레임입니다.
+        metrics.stompErrors.increment();
+        log.debug("Client {} received ERROR frame: {}", index, headers.getFirst("message"));
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload,
+            Throwable exception) {
+        metrics.stompErrors.increment();
+        log.debug("Client {} failed to handle {} frame: {}", index, command, exception.getMessage());
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        if (running || !(exception instanceof ConnectionLostException)) {
+            metrics.transportErrors.increment();
+            log.debug("Client {} transport error: {}", index, exception.getMessage());
+        }
+    }
+
+    private record JsonFrameHandler(Consumer<JsonNode> consumer) implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            consumer.accept((JsonNode) payload);
+        }
+    }
+}
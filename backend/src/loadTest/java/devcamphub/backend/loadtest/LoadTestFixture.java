@@ -0,0 +1,85 @@
+package devcamphub.backend.loadtest;
+
+import devcamphub.backend.domain.Camp;
+import devcamphub.backend.domain.CampMember;
+import devcamphub.backend.domain.CampStatus;
+import devcamphub.backend.domain.Role;
+import devcamphub.backend.domain.User;
+import devcamphub.backend.repository.CampMemberRepository;
+import devcamphub.backend.repository.CampRepository;
+import devcamphub.backend.repository.UserRepository;
+import devcamphub.backend.util.JwtUtil;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 테스트용 사용자, 캠프, 캠프 멤버십을 만들고 JwtUtil로 액세스 토큰을 발급합니다.
+ */
+final class LoadTestFixture {
+
+    record SeededUser(String email, String nickname, Long campId, String token) {
+    }
+
+    private LoadTestFixture() {
+    }
+
+    static List<SeededUser> seed(ApplicationContext context, LoadTestOptions options) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CampRepository campRepository = context.getBean(CampRepository.class);
+        CampMemberRepository campMemberRepository = context.getBean(CampMemberRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        String password = context.getBean(PasswordEncoder.class).encode("load-test-password");
+
+        User admin = userRepository.save(User.builder()
+                .email("loadtest-admin@devcamphub.dev")
+                .password(password)
+                .nickname("lt-admin")
+                .loginId("lt-admin")
+                .role(Role.ADMIN)
+                .build());
+
+        List<Camp> camps = new ArrayList<>();
+        for (int i = 0; i < options.camps(); i++) {
+            camps.add(Camp.builder()
+                    .creator(admin)
+                    .name("부하 테스트 캠프 " + i)
+                    .description("load test")
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusDays(30))
+                    .status(CampStatus.ONGOING)
+                    .inviteCode("LT" + i)
+                    .capacity(options.clients())
+                    .institutionName("devCampHub")
+                    .build());
+        }
+        camps = campRepository.saveAll(camps);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < options.clients(); i++) {
+            users.add(User.builder()
+                    .email("loadtest-" + i + "@devcamphub.dev")
+                    .password(password)
+                    .nickname("lt-" + i)
+                    .loginId("lt-" + i)
+                    .role(Role.STUDENT)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<CampMember> members = new ArrayList<>();
+        List<SeededUser> seeded = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            Camp camp = camps.get(i % camps.size());
+            members.add(CampMember.builder().camp(camp).user(user).build());
+            seeded.add(new SeededUser(user.getEmail(), user.getNickname(), camp.getId(),
+                    jwtUtil.generateAccessToken(user)));
+        }
+        campMemberRepository.saveAll(members);
+        return seeded;
+    }
+}
@@ -0,0 +1,110 @@
+package devcamphub.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 측정값. 지연 시간은 마이크로초 단위 HdrHistogram에 기록하고 보고서에는 ms로 출력합니다.
+ * 클라이언트와 서버가 같은 JVM에서 실행되므로 송신/수신 시각은 모두 System.nanoTime() 기준입니다.
+ */
+final class LoadTestMetrics {
+
+    final Histogram connectLatency = new ConcurrentHistogram(3);
+    final Histogram chatLatency = new ConcurrentHistogram(3);
+    final Histogram ackLatency = new ConcurrentHistogram(3);
+    final Histogram joinLatency = new ConcurrentHistogram(3);
+    final Histogram iceLatency = new ConcurrentHistogram(3);
+
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder chatSent = new LongAdder();
+    final LongAdder chatExpected = new LongAdder();
+    final LongAdder chatDelivered = new LongAdder();
+    final LongAdder acked = new LongAdder();
+    final LongAdder joinsSent = new LongAdder();
+    final LongAdder iceSent = new LongAdder();
+    final LongAdder iceExpected = new LongAdder();
+    final LongAdder iceDelivered = new LongAdder();
+    final LongAdder stompErrors = new LongAdder();
+    final LongAdder transportErrors = new LongAdder();
+
+    // 현재 접속 중인 구독자 수 (기대 수신 수 계산용)
+    private final Map<Long, AtomicInteger> campSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> roomSubscribers = new ConcurrentHashMap<>();
+
+    void record(Histogram histogram, long startNanos) {
+        histogram.recordValue(Math.max(0, (System.nanoTime() - startNanos) / 1_000));
+    }
+
+    AtomicInteger campSubscribers(long campId) {
+        return campSubscribers.computeIfAbsent(campId, id -> new AtomicInteger());
+    }
+
+    AtomicInteger roomSubscribers(long roomId) {
+        return roomSubscribers.computeIfAbsent(roomId, id -> new AtomicInteger());
+    }
+
+    Map<String, Object> toReport(LoadTestOptions options, int connected, double measuredSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("measuredSeconds", measuredSeconds);
+
+        Map<String, Object> connect = new LinkedHashMap<>();
+        connect.put("attempted", options.clients());
+        connect.put("connected", connected);
+        connect.put("failed", connectFailures.sum());
+        connect.put("latencyMs", summary(connectLatency));
+        report.put("connect", connect);
+
+        Map<String, Object> chat = new LinkedHashMap<>();
+        chat.put("sent", chatSent.sum());
+        chat.put("sentPerSecond", chatSent.sum() / measuredSeconds);
+        chat.put("expectedDeliveries", chatExpected.sum());
+        chat.put("delivered", chatDelivered.sum());
+        chat.put("deliveredPerSecond", chatDelivered.sum() / measuredSeconds);
+        chat.put("lossRate", lossRate(chatExpected.sum(), chatDelivered.sum()));
+        chat.put("acked", acked.sum());
+        chat.put("latencyMs", summary(chatLatency));
+        chat.put("ackLatencyMs", summary(ackLatency));
+        report.put("chat", chat);
+
+        Map<String, Object> signaling = new LinkedHashMap<>();
+        signaling.put("joins", joinsSent.sum());
+        signaling.put("joinLatencyMs", summary(joinLatency));
+        signaling.put("iceSent", iceSent.sum());
+        signaling.put("iceExpectedDeliveries", iceExpected.sum());
+        signaling.put("iceDelivered", iceDelivered.sum());
+        signaling.put("iceLossRate", lossRate(iceExpected.sum(), iceDelivered.sum()));
+        signaling.put("iceLatencyMs", summary(iceLatency));
+        report.put("signaling", signaling);
+
+        Map<String, Object> errors = new LinkedHashMap<>();
+        errors.put("stomp", stompErrors.sum());
+        errors.put("transport", transportErrors.sum());
+        long operations = chatSent.sum() + joinsSent.sum() + iceSent.sum();
+        errors.put("rate", operations == 0 ? 0.0
+                : (double) (stompErrors.sum() + transportErrors.sum()) / operations);
+        report.put("errors", errors);
+        return report;
+    }
+
+    private static double lossRate(long expected, long delivered) {
+        return expected == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) delivered / expected);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("max", histogram.getMaxValue() / 1000.0);
+        summary.put("mean", histogram.getMean() / 1000.0);
+        return summary;
+    }
+}
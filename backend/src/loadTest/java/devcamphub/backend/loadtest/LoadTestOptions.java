@@ -0,0 +1,58 @@
+package devcamphub.backend.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. "key=value" 형식의 실행 인자로 기본값을 덮어씁니다.
+ *
+ * @param clients               동시에 접속하는 가상 사용자 수
+ * @param camps                 사용자를 나눠 넣을 캠프 수 (캠프당 general 채널 하나)
+ * @param chatRatePerClient     사용자 1명의 초당 채팅 전송 수
+ * @param signalRooms           시그널링 방 수
+ * @param signalPeersPerRoom    시그널링 방 하나의 참여자 수 (앞쪽 사용자부터 배정)
+ * @param iceRatePerPeer        참여자 1명의 초당 ICE 시그널 전송 수
+ * @param rampUpSeconds         전체 사용자가 접속을 마치는 데 걸리는 시간
+ * @param durationSeconds       측정 시간
+ * @param output                결과 JSON 파일 경로
+ */
+public record LoadTestOptions(
+        int clients,
+        int camps,
+        double chatRatePerClient,
+        int signalRooms,
+        int signalPeersPerRoom,
+        double iceRatePerPeer,
+        int rampUpSeconds,
+        int durationSeconds,
+        String output) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("인자는 key=value 형식이어야 합니다: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("clients", "200")),
+                Integer.parseInt(values.getOrDefault("camps", "10")),
+                Double.parseDouble(values.getOrDefault("chatRatePerClient", "0.5")),
+                Integer.parseInt(values.getOrDefault("signalRooms", "5")),
+                Integer.parseInt(values.getOrDefault("signalPeersPerRoom", "6")),
+                Double.parseDouble(values.getOrDefault("iceRatePerPeer", "2")),
+                Integer.parseInt(values.getOrDefault("rampUpSeconds", "10")),
+                Integer.parseInt(values.getOrDefault("durationSeconds", "30")),
+                values.getOrDefault("output", System.getProperty("loadtest.output", "load-test-result.json")));
+        if (options.clients < options.signalRooms * options.signalPeersPerRoom) {
+            throw new IllegalArgumentException("시그널링 참여자 수(signalRooms * signalPeersPerRoom)가 clients보다 많습니다.");
+        }
+        return options;
+    }
+
+    public int signalPeers() {
+        return signalRooms * signalPeersPerRoom;
+    }
+}
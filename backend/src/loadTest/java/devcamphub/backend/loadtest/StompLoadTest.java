@@ -0,0 +1,153 @@
+package devcamphub.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.DevcamphubApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP 부하 테스트 진입점 (./gradlew loadTest).
+ *
+ * 임베디드 Redis와 H2(MySQL 모드)로 애플리케이션을 같은 프로세스에서 띄우고,
+ * 가상 사용자들이 /ws-stomp에 STOMP over WebSocket으로 접속해 채팅과 시그널링을 보냅니다.
+ * 채팅 송신→수신, 송신→ACK, join→user-list, ICE 송신→수신 지연 시간의 p50/p99/p999와
+ * 처리량, 유실률, 오류율을 JSON으로 출력합니다. (기본 경로: build/load-test/result.json)
+ */
+@Slf4j
+public final class StompLoadTest {
+
+    private StompLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int redisPort = freePort();
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        ConfigurableApplicationContext application = null;
+        try {
+            application = startApplication(redisPort);
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            List<LoadTestFixture.SeededUser> users = LoadTestFixture.seed(application, options);
+            log.info("Seeded {} users in {} camps. Starting load test against port {}", users.size(),
+                    options.camps(), port);
+
+            Map<String, Object> report = run(options, users, "ws://localhost:" + port + "/ws-stomp/websocket");
+            writeReport(report, options.output());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            redisServer.stop();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 외부 MySQL/Redis 대신 H2와 임베디드 Redis를 사용하도록 설정을 덮어써 애플리케이션을 띄웁니다.
+     */
+    private static ConfigurableApplicationContext startApplication(int redisPort) {
+        return new SpringApplicationBuilder(DevcamphubApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.mail.password=unused",
+                "--logging.level.devcamphub.backend=WARN",
+                "--logging.level.org.springframework.web.socket=WARN");
+    }
+
+    private static Map<String, Object> run(LoadTestOptions options, List<LoadTestFixture.SeededUser> users,
+            String url) throws InterruptedException {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(2);
+        heartbeatScheduler.initialize();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setTaskScheduler(heartbeatScheduler);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+        // 1. 접속 (rampUpSeconds 동안 고르게)
+        List<LoadClient> clients = new ArrayList<>(users.size());
+        List<CompletableFuture<?>> connections = new ArrayList<>(users.size());
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(options.rampUpSeconds());
+        long rampStart = System.nanoTime();
+        for (int i = 0; i < users.size(); i++) {
+            Long roomId = i < options.signalPeers() ? (long) (i % options.signalRooms()) + 1 : null;
+            LoadClient client = new LoadClient(i, users.get(i), roomId, metrics);
+            clients.add(client);
+            long due = rampStart + rampUpNanos * i / users.size();
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            connections.add(client.connect(stompClient, url).exceptionally(error -> null));
+        }
+        CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new)).join();
+        int connected = (int) clients.stream().filter(LoadClient::isConnected).count();
+        log.info("{} of {} clients connected", connected, clients.size());
+
+        // 2. 측정
+        long measureStart = System.nanoTime();
+        for (LoadClient client : clients) {
+            client.start(scheduler, options, ThreadLocalRandom.current().nextLong(1_000_000_000L));
+        }
+        TimeUnit.SECONDS.sleep(options.durationSeconds());
+        clients.forEach(LoadClient::stop);
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        // 3. 전송 중인 메시지가 도착할 시간을 둔 뒤 정리
+        TimeUnit.SECONDS.sleep(2);
+        scheduler.shutdownNow();
+        clients.forEach(LoadClient::disconnect);
+        stompClient.stop();
+        heartbeatScheduler.shutdown();
+
+        return metrics.toReport(options, connected, measuredSeconds);
+    }
+
+    private static void writeReport(Map<String, Object> report, String output) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        File file = new File(output);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        log.info("Load test report written to {}", file.getAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
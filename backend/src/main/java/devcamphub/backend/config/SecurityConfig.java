@@ -3,6 +3,7 @@ package devcamphub.backend.config;
 import devcamphub.backend.config.jwt.JwtAuthenticationFilter;
 import devcamphub.backend.config.jwt.TestFilter; // TestFilter import 추가
 import devcamphub.backend.domain.Role;
+import devcamphub.backend.service.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RegexRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -71,6 +73,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/camps", "/api/camps/search", "/api/camps/*/detail")
                         .permitAll()
                         .requestMatchers("/ws-stomp", "/ws-stomp/**").permitAll()
+                        // <img>는 인증 헤더를 보내지 않으므로 썸네일은 공개합니다.
+                        // 추측할 수 없는 내용 해시가 들어간 이름만 공개하고, 해시 도입 전 이름({streamId}.jpg 등)은 인증이 필요합니다.
+                        .requestMatchers(RegexRequestMatcher.regexMatcher(HttpMethod.GET,
+                                "/thumbnails/" + ThumbnailService.HASHED_FILE_NAME)).permitAll()
                         .anyRequest().authenticated())
                 // 직접 구현한 JWT 필터를 UsernamePasswordAuthenticationFilter 앞에 추가
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
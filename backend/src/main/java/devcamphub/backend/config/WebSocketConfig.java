@@ -2,8 +2,12 @@ package devcamphub.backend.config;
 
 import devcamphub.backend.config.jwt.WebSocketAuthInterceptor;
 import devcamphub.backend.config.jwt.JwtHandshakeInterceptor;
+import devcamphub.backend.handler.OutboundBudgetManager;
+import devcamphub.backend.handler.StompRateLimitInterceptor;
+import devcamphub.backend.service.UserSnapshotCache;
 import devcamphub.backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -11,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -19,12 +24,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final OutboundBudgetManager outboundBudgetManager;
+    private final StompRateLimitInterceptor rateLimitInterceptor;
+
+    @Value("${ws.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${ws.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${ws.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-stomp")
                 .setAllowedOriginPatterns("*")
-                .addInterceptors(new JwtHandshakeInterceptor(jwtUtil, userDetailsService))
+                .addInterceptors(new JwtHandshakeInterceptor(jwtUtil, userDetailsService, userSnapshotCache))
                 .withSockJS();
     }
 
@@ -36,6 +53,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new WebSocketAuthInterceptor(jwtUtil, userDetailsService));
+        // 인증 후 사용자별 전송 한도를 적용합니다.
+        registration.interceptors(new WebSocketAuthInterceptor(jwtUtil, userDetailsService, userSnapshotCache),
+                rateLimitInterceptor);
+    }
+
+    /**
+     * 느린 클라이언트가 송신 스레드와 메모리를 오래 점유하지 않도록 세션별 전송 한도를 설정합니다.
+     * 버퍼 크기나 전송 시간 한도를 넘은 세션은 Spring이 종료하며,
+     * 그보다 앞서 OutboundBudgetManager가 유실 허용 메시지를 버리고 계속 밀리는 세션을 정리합니다.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(outboundBudgetManager);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(outboundBudgetManager);
     }
 }
@@ -0,0 +1,21 @@
+package devcamphub.backend.config;
+
+/**
+ * 컨트롤러와 서비스(노드 간 중계 등)가 함께 쓰는 STOMP destination 이름입니다.
+ */
+public final class WebSocketDestinations {
+
+    /**
+     * 세션 한 곳으로만 보내는 시그널 destination 접두사입니다.
+     * 클라이언트가 "/user/queue/signal"을 구독하면 UserDestinationMessageHandler가
+     * "/queue/signal-user{sessionId}"로 바꿔 구독하므로, 이 destination으로 보내면 해당 세션만 받습니다.
+     */
+    public static final String SESSION_SIGNAL_PREFIX = "/queue/signal-user";
+
+    private WebSocketDestinations() {
+    }
+
+    public static String sessionSignal(String sessionId) {
+        return SESSION_SIGNAL_PREFIX + sessionId;
+    }
+}
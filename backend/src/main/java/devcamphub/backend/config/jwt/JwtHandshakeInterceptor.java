@@ -1,6 +1,7 @@
 
 package devcamphub.backend.config.jwt;
 
+import devcamphub.backend.service.UserSnapshotCache;
 import devcamphub.backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +24,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
+    // 핸드셰이크 때 사용자를 조회하기 전의 스냅샷 캐시 버전 (CONNECT에서 이 사용자를 캐시할 때 사용)
+    static final String SNAPSHOT_VERSION_ATTRIBUTE = "userSnapshotVersion";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserSnapshotCache userSnapshotCache;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
@@ -69,6 +74,7 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
             try {
                 String username = jwtUtil.extractUsername(token);
                 if (username != null) {
+                    long snapshotVersion = userSnapshotCache.version();
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                     if (jwtUtil.validateToken(token, userDetails)) {
                         // 3. 웹소켓 세션 속성에 인증 정보 저장 (가장 중요한 부분)
@@ -78,6 +84,7 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
                                 userDetails, null, userDetails.getAuthorities());
                         // 3-1. 세션 속성에 인증 객체 저장
                         attributes.put("principal", (Principal) auth);
+                        attributes.put(SNAPSHOT_VERSION_ATTRIBUTE, snapshotVersion);
                         log.info(">>> [WS-HANDSHAKE] Principal set for user: {}", username);
                     } else {
                         log.warn(">>> [WS-HANDSHAKE] Token validation failed for user: {}", username);
@@ -1,5 +1,7 @@
 package devcamphub.backend.config.jwt;
 
+import devcamphub.backend.domain.User;
+import devcamphub.backend.service.UserSnapshotCache;
 import devcamphub.backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +12,7 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
@@ -21,6 +24,7 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserSnapshotCache userSnapshotCache;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -36,11 +40,13 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 try {
                     String username = jwtUtil.extractUsername(token);
                     if (username != null) {
+                        long snapshotVersion = userSnapshotCache.version();
                         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                         if (jwtUtil.validateToken(token, userDetails)) {
                             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                     userDetails, null, userDetails.getAuthorities());
                             accessor.setUser(authentication);
+                            cacheSnapshot(userDetails, snapshotVersion);
                             log.info(">>> [WS-CONNECT] Authentication SUCCESS for user: {}. Principal set on accessor.",
                                     username);
                         } else {
@@ -57,6 +63,12 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                     Object principalObj = accessor.getSessionAttributes().get("principal");
                     if (principalObj instanceof java.security.Principal) {
                         accessor.setUser((java.security.Principal) principalObj);
+                        if (principalObj instanceof Authentication handshakeAuth
+                                && handshakeAuth.getPrincipal() instanceof UserDetails userDetails
+                                && accessor.getSessionAttributes()
+                                        .get(JwtHandshakeInterceptor.SNAPSHOT_VERSION_ATTRIBUTE) instanceof Long version) {
+                            cacheSnapshot(userDetails, version);
+                        }
                         log.info(">>> [WS-CONNECT] Used Principal from handshake session attributes: {}",
                                 accessor.getUser());
                     } else if (principalObj != null) {
@@ -78,6 +90,16 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
         return message;
     }
 
+    /**
+     * CONNECT 인증 때 이미 조회한 사용자 정보를 캐시해, 이후 채팅 전송에서 users 테이블을 다시 조회하지 않도록 합니다.
+     * (조회 이후 프로필이 바뀌어 무효화되었으면 캐시하지 않습니다.)
+     */
+    private void cacheSnapshot(UserDetails userDetails, long loadedAtVersion) {
+        if (userDetails instanceof User user) {
+            userSnapshotCache.put(user, loadedAtVersion);
+        }
+    }
+
     private String extractToken(StompHeaderAccessor accessor) {
         // 헤더 이름 대소문자를 다르게 전송할 경우 처리
         List<String> authorization = accessor.getNativeHeader("Authorization");
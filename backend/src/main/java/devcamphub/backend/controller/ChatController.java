@@ -1,6 +1,8 @@
 package devcamphub.backend.controller;
 
+import devcamphub.backend.dto.ChatHistoryResponse;
 import devcamphub.backend.dto.ChatMessageDto;
+import devcamphub.backend.service.ChatAckCoalescer;
 import devcamphub.backend.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,14 +10,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
-import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,7 +23,7 @@ import java.util.Map;
 public class ChatController {
 
     private final ChatService chatService;
-    private final SimpMessagingTemplate messagingTemplate; // ACK 전송용
+    private final ChatAckCoalescer ackCoalescer; // ACK 전송용 (사용자별로 묶어서 전송)
 
     /**
      * 클라이언트에서 "/app/chat/{campId}/{channel}"로 메시지를 보내면 이 메소드가 처리합니다.
@@ -57,24 +57,29 @@ public class ChatController {
         chatService.saveAndBroadcastMessage(messageDto, campId, username);
         log.info("Message processed by ChatService for user {}.", username);
 
-        // ACK 전송
+        // ACK 전송 (연속 입력 시 짧은 시간 동안 모아 한 프레임으로 전송)
         if (messageDto.getClientMsgId() != null) {
-            messagingTemplate.convertAndSendToUser(
-                    username,
-                    "/queue/ack",
-                    Map.of("clientMsgId", messageDto.getClientMsgId(), "status", "DELIVERED"));
-            log.info("[시도] ✅ ACK sent to user {} for msgId: {}", username, messageDto.getClientMsgId());
+            ackCoalescer.ack(username, messageDto.getClientMsgId());
+            log.info("[시도] ✅ ACK queued to user {} for msgId: {}", username, messageDto.getClientMsgId());
         } else {
             log.warn("[시도] ❌ clientMsgId is NULL - ACK not sent!");
         }
     }
 
+    /**
+     * 채팅 내역을 커서 기반으로 조회합니다. (최신순)
+     * 첫 요청은 커서 없이 보내고, 이전 내역은 응답의 before 값을, 이후 내역은 after 값을 커서로 사용합니다.
+     */
     @GetMapping("/api/camps/{campId}/chat/{channel}/history")
-    public ResponseEntity<List<ChatMessageDto>> getChatHistory(
+    public ResponseEntity<ChatHistoryResponse> getChatHistory(
             @PathVariable Long campId,
-            @PathVariable String channel) {
-        log.info("Fetching chat history for campId: {}, channel: {}", campId, channel);
-        List<ChatMessageDto> chatHistory = chatService.getChatHistory(campId, channel);
+            @PathVariable String channel,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Fetching chat history for campId: {}, channel: {}, before: {}, after: {}, size: {}",
+                campId, channel, before, after, size);
+        ChatHistoryResponse chatHistory = chatService.getChatHistory(campId, channel, before, after, size);
         return ResponseEntity.ok(chatHistory);
     }
 }
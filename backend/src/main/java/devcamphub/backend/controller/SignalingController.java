@@ -1,6 +1,9 @@
 package devcamphub.backend.controller;
 
+import devcamphub.backend.config.WebSocketDestinations;
 import devcamphub.backend.dto.SignalMessage;
+import devcamphub.backend.service.IceCandidateCoalescer;
+import devcamphub.backend.service.MessageBroadcaster;
 import devcamphub.backend.service.WebSocketSessionRegistry;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -8,7 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Controller;
 
 @Slf4j
@@ -16,8 +18,9 @@ import org.springframework.stereotype.Controller;
 @RequiredArgsConstructor
 public class SignalingController {
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final MessageBroadcaster broadcaster;
     private final WebSocketSessionRegistry sessionRegistry;
+    private final IceCandidateCoalescer iceCoalescer;
 
     /**
      * 사용자가 스트리밍 방에 참여할 때 호출됩니다.
@@ -35,39 +38,67 @@ public class SignalingController {
 
         // 세션 등록은 WebSocketEventListener에서 처리하므로 여기서는 방 참여 로직만 수행합니다.
 
-        // 1. 기존 참여자 목록 조회 및 방 참여
-        Set<String> existingUsers = sessionRegistry.getUsersInRoom(streamId);
-        sessionRegistry.joinRoom(streamId, nickname);
+        // 1. 방 참여 및 기존 참여자 목록 조회 (Redis 스크립트로 한 번에 원자적으로 처리)
+        WebSocketSessionRegistry.RoomJoin join = sessionRegistry.joinRoom(streamId, nickname);
+        Set<String> existingUsers = join.existingUsers();
         log.info("Existing users in room {}: {}", streamId, existingUsers);
 
-        // 2. 새로운 참여자에게 기존 참여자 목록 전송
+        // 다른 방에서 옮겨 왔으면 그 방의 참여자들에게 퇴장을 알립니다.
+        if (join.previousRoomId() != null) {
+            SignalMessage leftMessage = new SignalMessage();
+            leftMessage.setType("user-left");
+            leftMessage.setSender(nickname);
+            broadcaster.broadcast("/topic/signal/" + join.previousRoomId(), leftMessage);
+        }
+
+        // 2. 새로운 참여자에게만 기존 참여자 목록 전송
         SignalMessage userListMessage = new SignalMessage();
         userListMessage.setType("user-list");
         userListMessage.setSender("server");
-        userListMessage.setReceiver(nickname); // 이 메시지는 새로운 참여자만 받음
+        userListMessage.setReceiver(nickname);
         userListMessage.setData(existingUsers);
-        messagingTemplate.convertAndSend("/topic/signal/" + streamId, userListMessage);
+        broadcaster.broadcast(WebSocketDestinations.sessionSignal(sessionId), userListMessage);
         log.info("Sent user-list to {}: {}", nickname, existingUsers);
 
         // 3. 기존 참여자들에게 새로운 참여자 합류 알림 (자신은 제외)
         SignalMessage joinedMessage = new SignalMessage();
         joinedMessage.setType("user-joined");
         joinedMessage.setSender(nickname); // 합류한 사람의 닉네임
-        messagingTemplate.convertAndSend("/topic/signal/" + streamId, joinedMessage);
+        broadcaster.broadcast("/topic/signal/" + streamId, joinedMessage);
         log.info("Broadcast user-joined for {} to room {}", nickname, streamId);
     }
 
     /**
      * WebRTC 시그널(offer, answer, ice)을 중계합니다.
-     * 메시지를 받아서 특정 수신자(receiver)에게 그대로 전달합니다.
+     * 방 전체에 브로드캐스트하지 않고 수신자(receiver)의 세션으로만 전달합니다.
+     * (방 전체 브로드캐스트는 참여자 수 N에 대해 시그널 프레임이 O(N²)로 늘어납니다.)
+     * 연달아 오는 ICE 후보는 IceCandidateCoalescer가 짧게 모아 한 메시지로 보냅니다.
+     * ICE 후보는 유실되어도 다른 후보로 연결되므로, 송신이 밀린 수신자에게는 버려질 수 있게 보냅니다.
      */
     @MessageMapping("/signal/{streamId}")
     public void forward(@DestinationVariable String streamId, SignalMessage message) {
         log.debug("FORWARD: type={}, sender={}, receiver={}, streamId={}",
                 message.getType(), message.getSender(), message.getReceiver(), streamId);
 
-        // 메시지를 해당 토픽으로 그대로 전달
-        messagingTemplate.convertAndSend("/topic/signal/" + streamId, message);
+        if (message.getReceiver() == null) {
+            // 수신자가 없는 메시지는 방 전체 이벤트로 보고 기존처럼 토픽으로 전달
+            broadcaster.broadcast("/topic/signal/" + streamId, message);
+            return;
+        }
+        iceCoalescer.submit(streamId, message, this::sendToReceiver);
     }
-}
 
+    private void sendToReceiver(SignalMessage message) {
+        String receiverSessionId = sessionRegistry.getSessionIdByNickname(message.getReceiver());
+        if (receiverSessionId == null) {
+            log.debug("Dropping {} signal from {}: receiver {} is not connected",
+                    message.getType(), message.getSender(), message.getReceiver());
+            return;
+        }
+        if ("ice".equals(message.getType())) {
+            broadcaster.broadcastLossy(WebSocketDestinations.sessionSignal(receiverSessionId), message);
+        } else {
+            broadcaster.broadcast(WebSocketDestinations.sessionSignal(receiverSessionId), message);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package devcamphub.backend.controller;
+
+import devcamphub.backend.dto.SlowModeRequest;
+import devcamphub.backend.dto.StreamChatMessageDto;
+import devcamphub.backend.service.StreamChatService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class StreamChatController {
+
+    private final StreamChatService streamChatService;
+
+    /**
+     * 클라이언트에서 "/app/stream-chat/{streamId}"로 메시지를 보내면 이 메소드가 처리합니다.
+     * 메시지는 짧은 주기로 모아 "/topic/stream-chat/{streamId}"에 StreamChatBatch 한 프레임으로 전달됩니다.
+     * 보낸 사람은 묶음 안의 clientMsgId로 자신의 메시지 전송 완료를 확인합니다.
+     */
+    @MessageMapping("/stream-chat/{streamId}")
+    public void sendMessage(
+            @Payload StreamChatMessageDto messageDto,
+            @DestinationVariable Long streamId,
+            Principal principal) {
+        if (principal == null) {
+            log.error("Unauthorized user tried to send a stream chat message. Principal is null.");
+            return;
+        }
+        streamChatService.sendMessage(streamId, messageDto, principal.getName());
+    }
+
+    /**
+     * 스트림 채팅 최근 내역을 조회합니다. (최신순, 캠프 생성자 또는 멤버만)
+     */
+    @GetMapping("/api/camps/{campId}/streams/{streamId}/chat/history")
+    public ResponseEntity<List<StreamChatMessageDto>> getChatHistory(
+            @PathVariable Long campId,
+            @PathVariable Long streamId,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(streamChatService.getRecentMessages(campId, streamId, size,
+                userDetails.getUsername()));
+    }
+
+    /**
+     * 슬로우 모드를 설정합니다. (스트림 소유자 또는 캠프에 참여한 관리자, 0초는 해제)
+     */
+    @PutMapping("/api/camps/{campId}/streams/{streamId}/chat/slow-mode")
+    public ResponseEntity<Void> setSlowMode(
+            @PathVariable Long campId,
+            @PathVariable Long streamId,
+            @Valid @RequestBody SlowModeRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        streamChatService.setSlowMode(campId, streamId, request.seconds(), userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,16 +1,23 @@
 package devcamphub.backend.controller;
 
+import devcamphub.backend.dto.ActiveStreamsSnapshot;
 import devcamphub.backend.dto.StreamCreateRequest;
 import devcamphub.backend.dto.StreamResponseDto;
 import devcamphub.backend.dto.ThumbnailUploadRequest;
+import devcamphub.backend.dto.ViewerSample;
 import devcamphub.backend.service.StreamService;
+import devcamphub.backend.service.ThumbnailService;
+import devcamphub.backend.service.ViewerCountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -20,6 +27,8 @@ import java.util.List;
 public class StreamController {
 
     private final StreamService streamService;
+    private final ViewerCountService viewerCountService;
+    private final ThumbnailService thumbnailService;
 
     @PostMapping
     public ResponseEntity<StreamResponseDto> createStream(
@@ -38,13 +47,55 @@ public class StreamController {
         return ResponseEntity.ok(activeStreams);
     }
 
-    @PostMapping("/{streamId}/thumbnail")
+    /**
+     * 활성 스트림 목록과 버전을 조회합니다.
+     * 클라이언트는 이 스냅샷을 한 번 받은 뒤 "/topic/streams/{campId}"의 변경(ActiveStreamDelta)을 구독해 목록을 유지합니다.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ActiveStreamsSnapshot> getActiveStreamsSnapshot(@PathVariable Long campId) {
+        return ResponseEntity.ok(streamService.getActiveStreamsSnapshot(campId));
+    }
+
+    /**
+     * 스트림의 시청자 수 시계열을 조회합니다. (최근 minutes분, 시간순, 캠프 참여자만)
+     */
+    @GetMapping("/{streamId}/viewers")
+    public ResponseEntity<List<ViewerSample>> getViewerHistory(
+            @PathVariable Long campId,
+            @PathVariable Long streamId,
+            @RequestParam(defaultValue = "60") int minutes,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        streamService.checkCampAccess(campId, streamId, userDetails.getUsername());
+        return ResponseEntity.ok(viewerCountService.getHistory(streamId, minutes));
+    }
+
+    /**
+     * 썸네일 이미지를 바이너리 본문으로 업로드합니다.
+     * 본문은 임시 파일로 바로 옮겨지고 크기별 변환은 비동기로 처리되므로 202를 반환하며,
+     * 변환이 끝나면 활성 스트림 목록 변경(thumbnailUrl)으로 알립니다. 처리 대기열이 가득 차면 503을 반환합니다.
+     */
+    @PutMapping(value = "/{streamId}/thumbnail", consumes = {
+            MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
     public ResponseEntity<Void> uploadThumbnail(
             @PathVariable Long streamId,
-            @RequestBody ThumbnailUploadRequest request) {
-        // TODO: 요청을 보낸 사용자가 해당 스트림의 소유자인지 확인하는 권한 검사 로직 추가 필요
-        streamService.updateThumbnail(streamId, request.getThumbnail());
-        return ResponseEntity.ok().build();
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return accepted(thumbnailService.upload(streamId, userDetails.getUsername(), body));
+    }
+
+    // 데이터 URL(JSON) 형식의 기존 업로드. 새 클라이언트는 바이너리 업로드(PUT)를 사용합니다.
+    // 기존 클라이언트와의 호환을 위해 처리 대기열에 넣었으면 예전처럼 200을 반환합니다.
+    @PostMapping("/{streamId}/thumbnail")
+    public ResponseEntity<Void> uploadThumbnailBase64(
+            @PathVariable Long streamId,
+            @RequestBody ThumbnailUploadRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        boolean queued = thumbnailService.uploadBase64(streamId, userDetails.getUsername(), request.getThumbnail());
+        return queued ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    private static ResponseEntity<Void> accepted(boolean queued) {
+        return queued ? ResponseEntity.accepted().build() : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
 
     @DeleteMapping("/{streamId}")
@@ -1,10 +1,14 @@
 package devcamphub.backend.controller;
 
 import devcamphub.backend.dto.StreamEventRequest;
+import devcamphub.backend.dto.StreamHeartbeatRequest;
 import devcamphub.backend.service.StreamSessionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,6 +16,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.security.Principal;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/streams/events")
 @RequiredArgsConstructor
@@ -32,4 +39,18 @@ public class StreamEventController {
 
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * 방송자가 이미 열려 있는 STOMP 연결로 "/app/stream-heartbeat"에 보내는 HEARTBEAT입니다.
+     * HTTP 요청마다 거치는 JWT 인증/사용자 조회 없이 TTL 갱신 대상에만 기록하며,
+     * 실제 갱신은 노드 단위로 모아 한 번의 Redis 파이프라인으로 처리됩니다.
+     */
+    @MessageMapping("/stream-heartbeat")
+    public void handleHeartbeat(@Payload StreamHeartbeatRequest request, Principal principal) {
+        if (principal == null || request.streamSessionId() == null || request.streamSessionId().isBlank()) {
+            log.debug("Ignoring stream heartbeat without principal or session ID.");
+            return;
+        }
+        streamSessionService.heartbeatStream(request.streamSessionId());
+    }
 }
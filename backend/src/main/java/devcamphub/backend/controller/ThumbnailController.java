@@ -0,0 +1,155 @@
+package devcamphub.backend.controller;
+
+import devcamphub.backend.service.ThumbnailCache;
+import devcamphub.backend.service.ThumbnailService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * 스트림 썸네일 파일을 제공합니다.
+ *
+ * 내용 해시가 들어간 파일(ThumbnailService)은 내용이 바뀌지 않으므로 해시를 강한 ETag로 쓰고
+ * 1년짜리 immutable Cache-Control을 붙여, 브라우저가 같은 URL을 다시 요청하지 않게 합니다.
+ * 해시 도입 전 이름의 파일은 덮어써질 수 있으므로 크기/수정 시각으로 만든 ETag와 no-cache(매번 재검증)로 제공합니다.
+ *
+ * 내용은 ThumbnailCache(LRU)에 있으면 메모리에서 보내고, 없으면 Tomcat sendfile로 파일을 커널에서 바로 소켓으로 보냅니다.
+ * sendfile을 쓸 수 없을 때만 파일을 읽어 보내면서 다음 요청부터 메모리에서 보내도록 캐시에 올립니다.
+ * (sendfile은 응답 후에 전송되므로, 그때 같은 파일을 다시 읽어 캐시에 올리면 디스크 읽기가 두 번이 됩니다.)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ThumbnailController {
+
+    // Tomcat이 요청 속성으로 제공하는 sendfile 지원 여부와, 보낼 파일을 지정하는 속성 이름
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // 경로 조작(../ 등)을 막기 위해 업로드 서비스가 만드는 이름 형식만 허용합니다.
+    private static final Pattern FILE_NAME = Pattern.compile("\\d+(-\\d+)?(-[0-9a-f]{16})?\\.jpg");
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+            .immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final ThumbnailCache thumbnailCache;
+
+    @GetMapping("/thumbnails/{fileName}")
+    public void getThumbnail(@PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        Path file = ThumbnailService.THUMBNAIL_DIR.resolve(fileName);
+
+        String hash = ThumbnailService.contentHash(fileName);
+        if (hash != null) {
+            // 파일을 열어 보기 전에 이름만으로 재검증 요청에 답합니다.
+            if (webRequest.checkNotModified('"' + hash + '"')) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+                return;
+            }
+            byte[] cached = thumbnailCache.get(fileName);
+            if (cached != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+                write(response, cached);
+                return;
+            }
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (hash == null) {
+            String etag = '"' + Long.toHexString(attributes.size()) + "-"
+                    + Long.toHexString(attributes.lastModifiedTime().toMillis()) + '"';
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+            if (!webRequest.checkNotModified(etag)) {
+                // 덮어써질 수 있는 파일은 메모리에 캐시하지 않습니다.
+                if (!sendfile(request, response, file, attributes.size())) {
+                    transfer(response, file, attributes.size());
+                }
+            }
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        if (sendfile(request, response, file, attributes.size())) {
+            return;
+        }
+        if (thumbnailCache.admits(attributes.size())) {
+            byte[] content = Files.readAllBytes(file);
+            write(response, content);
+            thumbnailCache.put(fileName, content);
+            return;
+        }
+        transfer(response, file, attributes.size());
+    }
+
+    private static void write(HttpServletResponse response, byte[] content) throws IOException {
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    /**
+     * Tomcat이 sendfile을 지원하면 요청 속성으로 파일만 지정하고(응답 후 커널에서 소켓으로 바로 전송) true를 반환합니다.
+     */
+    private static boolean sendfile(HttpServletRequest request, HttpServletResponse response, Path file, long size) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            return false;
+        }
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(size);
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, 0L);
+        request.setAttribute(SENDFILE_END_ATTR, size);
+        return true;
+    }
+
+    /**
+     * sendfile을 쓸 수 없을 때 FileChannel.transferTo로 응답 스트림에 씁니다.
+     */
+    private static void transfer(HttpServletResponse response, Path file, long size) throws IOException {
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(size);
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+}
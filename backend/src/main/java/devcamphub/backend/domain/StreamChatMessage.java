@@ -5,7 +5,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -13,10 +13,10 @@ import java.time.LocalDateTime;
 @Table(name = "stream_chat_messages")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class StreamChatMessage {
+public class StreamChatMessage implements Persistable<Long> {
 
+    // ID는 ChatMessageIdAllocator가 시간 순서대로 미리 발급합니다. (IDENTITY는 INSERT 배치가 불가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "message_id")
     private Long id;
 
@@ -32,14 +32,32 @@ public class StreamChatMessage {
     @Column(nullable = false)
     private String content;
 
-    @CreationTimestamp
+    // 브로드캐스트 시각과 저장 시각을 맞추기 위해 생성 시점에 직접 설정합니다.
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // ID를 직접 할당하므로, save() 시 불필요한 merge(SELECT)가 일어나지 않도록 신규 여부를 추적합니다.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
     @Builder
-    public StreamChatMessage(Stream stream, User author, String content) {
+    public StreamChatMessage(Long id, Stream stream, User author, String content) {
+        this.id = id;
         this.stream = stream;
         this.author = author;
         this.content = content;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
     }
 }
@@ -0,0 +1,17 @@
+package devcamphub.backend.dto;
+
+/**
+ * 활성 스트림 목록의 변경 한 건. ("/topic/streams/{campId}")
+ * version은 캠프별로 1씩 증가하며, 클라이언트는 받은 버전이 (가진 버전 + 1)이 아니면 스냅샷을 다시 받습니다.
+ * REMOVE이면 stream은 null입니다.
+ */
+public record ActiveStreamDelta(
+        long version,
+        Op op,
+        Long streamId,
+        StreamResponseDto stream
+) {
+    public enum Op {
+        ADD, UPDATE, REMOVE
+    }
+}
@@ -0,0 +1,13 @@
+package devcamphub.backend.dto;
+
+import java.util.List;
+
+/**
+ * 캠프의 활성 스트림 목록과 그 시점의 버전.
+ * 클라이언트는 이후 "/topic/streams/{campId}"로 오는 ActiveStreamDelta 중 이 버전보다 큰 것만 반영합니다.
+ */
+public record ActiveStreamsSnapshot(
+        long version,
+        List<StreamResponseDto> streams
+) {
+}
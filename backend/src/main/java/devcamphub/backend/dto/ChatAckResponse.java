@@ -0,0 +1,13 @@
+package devcamphub.backend.dto;
+
+import java.util.List;
+
+/**
+ * 채팅 전송 확인(ACK). 짧은 시간 안에 처리된 여러 메시지의 clientMsgId를 한 프레임으로 묶어 보냅니다.
+ */
+public record ChatAckResponse(List<Long> clientMsgIds, String status) {
+
+    public static ChatAckResponse delivered(List<Long> clientMsgIds) {
+        return new ChatAckResponse(clientMsgIds, "DELIVERED");
+    }
+}
@@ -0,0 +1,19 @@
+package devcamphub.backend.dto;
+
+import java.util.List;
+
+/**
+ * 채팅 내역 페이지 응답 DTO 입니다.
+ * messages는 최신순(newest-first)으로 정렬되며, 클라이언트는 커서를 이용해 무한 스크롤을 구현합니다.
+ *
+ * @param messages 최신순으로 정렬된 메시지 목록
+ * @param before   더 오래된 메시지를 조회할 때 사용할 커서 (현재 페이지의 가장 오래된 메시지 ID)
+ * @param after    더 최신 메시지를 조회할 때 사용할 커서 (현재 페이지의 가장 최신 메시지 ID)
+ * @param hasMore  요청한 방향으로 더 조회할 메시지가 있는지 여부
+ */
+public record ChatHistoryResponse(
+        List<ChatMessageDto> messages,
+        Long before,
+        Long after,
+        boolean hasMore) {
+}
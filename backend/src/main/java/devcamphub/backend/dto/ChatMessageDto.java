@@ -1,18 +1,44 @@
 package devcamphub.backend.dto;
 
+import devcamphub.backend.domain.ChannelChatMessage;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessageDto {
+    private Long messageId; // 서버에서 저장된 메시지 ID (채팅 내역 커서로 사용)
     private Long clientMsgId; // 클라이언트 생성 ID
     private String channel; // 메시지가 속한 채널 (e.g., "notice", "qna")
     private String sender; // 보낸 사람 닉네임
     private String content; // 메시지 내용
     private String timestamp; // 메시지 보낸 시간
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static ChatMessageDto from(ChannelChatMessage message) {
+        return new ChatMessageDto(
+                message.getId(),
+                message.getClientMsgId(),
+                message.getChannel(),
+                message.getAuthor().getNickname(), // User 엔티티에서 닉네임 가져오기 (EntityGraph로 함께 조회)
+                message.getContent(),
+                formatTimestamp(message.getCreatedAt()));
+    }
+
+    public static String formatTimestamp(LocalDateTime localDateTime) {
+        // 필요에 따라 시간 포맷을 변경할 수 있습니다.
+        return localDateTime.format(TIMESTAMP_FORMAT);
+    }
+
+    public ChatMessageDto copy() {
+        return new ChatMessageDto(messageId, clientMsgId, channel, sender, content, timestamp);
+    }
 }
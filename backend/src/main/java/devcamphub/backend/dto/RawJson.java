@@ -0,0 +1,237 @@
+package devcamphub.backend.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 서버가 내용을 해석하지 않고 그대로 전달하는 JSON 값입니다. (SDP, ICE 후보 등 시그널 payload)
+ *
+ * 수신 시에는 Map/List 트리를 만들지 않고 토큰을 UTF-8 바이트로 그대로 복사해 두고,
+ * 송신 시에는 다시 직렬화하지 않고 그 바이트를 출력에 그대로 씁니다.
+ */
+public final class RawJson implements JsonSerializable {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final byte[] utf8;
+
+    private RawJson(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * 이미 올바른 JSON 값인 UTF-8 바이트를 감쌉니다. (검증하지 않음)
+     */
+    public static RawJson of(byte[] utf8) {
+        return new RawJson(utf8);
+    }
+
+    public static RawJson of(String json) {
+        return new RawJson(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int length() {
+        return utf8.length;
+    }
+
+    public boolean isArray() {
+        int start = skipWhitespace(0);
+        return start < utf8.length && utf8[start] == '[';
+    }
+
+    /**
+     * 여러 값을 하나의 JSON 배열로 합칩니다. 배열인 값은 그 원소들을 펼쳐서 넣습니다.
+     * (["a"], "b", ["c","d"] → ["a","b","c","d"])
+     */
+    public static RawJson joinArray(List<RawJson> values) {
+        ByteArrayBuilder builder = new ByteArrayBuilder();
+        builder.append('[');
+        boolean first = true;
+        for (RawJson value : values) {
+            int start = value.skipWhitespace(0);
+            int end = value.trimEnd(value.utf8.length);
+            if (start < end && value.utf8[start] == '[') {
+                // 배열의 바깥 대괄호를 떼고 원소들만 이어 붙입니다.
+                start = value.skipWhitespace(start + 1);
+                end = value.trimEnd(end - 1);
+            }
+            if (start >= end) {
+                continue; // 빈 배열
+            }
+            if (!first) {
+                builder.append(',');
+            }
+            builder.write(value.utf8, start, end - start);
+            first = false;
+        }
+        builder.append(']');
+        return new RawJson(builder.toByteArray());
+    }
+
+    private int skipWhitespace(int index) {
+        while (index < utf8.length && isWhitespace(utf8[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private int trimEnd(int end) {
+        while (end > 0 && isWhitespace(utf8[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(new Utf8Value());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RawJson other && Arrays.equals(utf8, other.utf8);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(utf8);
+    }
+
+    @Override
+    public String toString() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 어떤 JSON 값이든 트리로 만들지 않고 RawJson으로 읽습니다.
+     * 사용: {@code @JsonDeserialize(using = RawJson.Deserializer.class)}
+     */
+    public static class Deserializer extends JsonDeserializer<RawJson> {
+
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ByteArrayBuilder builder = new ByteArrayBuilder();
+            try (JsonGenerator generator = FACTORY.createGenerator(builder)) {
+                generator.copyCurrentStructure(p);
+            }
+            return new RawJson(builder.toByteArray());
+        }
+    }
+
+    /**
+     * 출력 버퍼에 바이트를 그대로 복사하기 위한 SerializableString 구현입니다.
+     * UTF-8 출력(writeValueAsBytes 등)은 appendUnquotedUTF8로 복사하고, 문자 출력은 getValue()로 대신합니다.
+     * 따옴표가 붙는 메서드는 raw 값에서 쓰이지 않으므로 문자열 기반 구현에 맡깁니다.
+     */
+    private final class Utf8Value implements SerializableString {
+
+        private SerializedString quoted;
+
+        @Override
+        public String getValue() {
+            return RawJson.this.toString();
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + utf8.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+            return utf8.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return -1;
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (buffer.remaining() < utf8.length) {
+                return -1;
+            }
+            buffer.put(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return quoted().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return quoted().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return quoted().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return quoted().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return quoted().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return quoted().putQuotedUTF8(buffer);
+        }
+
+        private SerializedString quoted() {
+            if (quoted == null) {
+                quoted = new SerializedString(getValue());
+            }
+            return quoted;
+        }
+    }
+}
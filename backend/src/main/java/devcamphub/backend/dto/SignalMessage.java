@@ -1,5 +1,6 @@
 package devcamphub.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
 
 @Data
@@ -7,6 +8,8 @@ public class SignalMessage {
     private String type;
     private String sender;
     private String receiver;
+    // SDP/ICE 등 서버가 해석하지 않는 payload는 트리로 만들지 않고 RawJson 그대로 받아 전달
+    @JsonDeserialize(using = RawJson.Deserializer.class)
     private Object data;
     private String streamId; // 추가
     private String nickname; // 추가
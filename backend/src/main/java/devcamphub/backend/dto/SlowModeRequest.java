@@ -0,0 +1,10 @@
+package devcamphub.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 스트림 채팅 슬로우 모드 설정 요청. 0이면 해제합니다.
+ */
+public record SlowModeRequest(@Min(0) @Max(600) int seconds) {
+}
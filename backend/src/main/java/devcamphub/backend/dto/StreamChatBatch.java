@@ -0,0 +1,9 @@
+package devcamphub.backend.dto;
+
+import java.util.List;
+
+/**
+ * 스트림 채팅 묶음. 짧은 주기(기본 100ms) 동안 들어온 메시지를 한 프레임으로 브로드캐스트합니다.
+ */
+public record StreamChatBatch(Long streamId, List<StreamChatMessageDto> messages) {
+}
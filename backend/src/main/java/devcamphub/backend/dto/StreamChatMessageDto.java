@@ -0,0 +1,28 @@
+package devcamphub.backend.dto;
+
+import devcamphub.backend.domain.StreamChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamChatMessageDto {
+    private Long messageId; // 서버에서 발급한 메시지 ID
+    private Long clientMsgId; // 클라이언트 생성 ID (자신이 보낸 메시지 확인용)
+    private String sender; // 보낸 사람 닉네임
+    private String content; // 메시지 내용
+    private String timestamp; // 메시지 보낸 시간
+
+    public static StreamChatMessageDto from(StreamChatMessage message) {
+        return new StreamChatMessageDto(
+                message.getId(),
+                null,
+                message.getAuthor().getNickname(),
+                message.getContent(),
+                ChatMessageDto.formatTimestamp(message.getCreatedAt()));
+    }
+}
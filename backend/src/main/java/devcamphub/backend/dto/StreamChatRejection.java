@@ -0,0 +1,7 @@
+package devcamphub.backend.dto;
+
+/**
+ * 스트림 채팅 전송 거절 알림 (예: 슬로우 모드로 아직 보낼 수 없음)
+ */
+public record StreamChatRejection(Long clientMsgId, String reason, long retryAfterMs) {
+}
@@ -12,6 +12,8 @@ public record StreamEventRequest(
 
         // START 이벤트 시에만 필요한 정보
         Long campId,
-        String streamTitle
+        String streamTitle,
+        // START 시 이미 만든 스트림(POST /api/camps/{campId}/streams)에 세션만 연결할 때 그 스트림 ID
+        Long streamId
 ) {
 }
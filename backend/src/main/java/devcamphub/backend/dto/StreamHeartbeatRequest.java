@@ -0,0 +1,9 @@
+package devcamphub.backend.dto;
+
+/**
+ * STOMP "/app/stream-heartbeat"로 보내는 스트림 세션 HEARTBEAT
+ */
+public record StreamHeartbeatRequest(
+        String streamSessionId
+) {
+}
@@ -10,7 +10,9 @@ public record StreamResponseDto(
         String ownerNickname,
         StreamType type,
         Track track,
-        String thumbnailUrl
+        String thumbnailUrl,
+        long viewerCount, // 현재 시청자 수
+        long uniqueViewerCount // 누적 시청자 수 (HyperLogLog 근사값)
 ) {
     public static StreamResponseDto from(Stream stream) {
         String thumbnailUrl = null;
@@ -23,7 +25,14 @@ public record StreamResponseDto(
                 stream.getOwner().getNickname(),
                 stream.getType(),
                 stream.getTrack(),
-                thumbnailUrl
+                thumbnailUrl,
+                0,
+                0
         );
     }
+
+    public StreamResponseDto withViewers(long viewerCount, long uniqueViewerCount) {
+        return new StreamResponseDto(streamId, title, ownerNickname, type, track, thumbnailUrl,
+                viewerCount, uniqueViewerCount);
+    }
 }
@@ -0,0 +1,22 @@
+package devcamphub.backend.dto;
+
+import devcamphub.backend.domain.Role;
+import devcamphub.backend.domain.User;
+
+/**
+ * WebSocket 경로에서 사용하는 사용자 정보의 불변 스냅샷입니다.
+ * 채팅 전송마다 users 테이블을 조회하지 않도록 CONNECT 시점에 만들어 캐시합니다.
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String nickname,
+        Role role) {
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getEmail(),
+                user.getNickname(),
+                user.getRole());
+    }
+}
@@ -0,0 +1,11 @@
+package devcamphub.backend.dto;
+
+/**
+ * 스트림 시청자 수 시계열의 한 점
+ */
+public record ViewerSample(
+        long timestamp, // epoch ms
+        long viewers, // 현재 시청자 수
+        long uniqueViewers // 누적 시청자 수 (HyperLogLog 근사값)
+) {
+}
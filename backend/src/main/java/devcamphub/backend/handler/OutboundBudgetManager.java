@@ -0,0 +1,217 @@
+package devcamphub.backend.handler;
+
+import devcamphub.backend.service.MessageBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 송신 대기 메시지 수(outbound budget)를 관리합니다.
+ *
+ * clientOutboundChannel에서 세션으로 넘어간 메시지 수와 실제 소켓으로 쓰여진 메시지 수의 차이를
+ * 세션의 "대기 중인 메시지 수"로 봅니다. 대기 수가 예산(pending-budget)을 넘으면
+ * 유실되어도 괜찮은 메시지(ICE 후보 등, 보낼 때 MessageBroadcaster.broadcastLossy로 표시)는 버리고
+ * 채팅 등 나머지는 그대로 보냅니다.
+ * 예산을 넘은 상태가 evict-after-ms 이상 계속되는 세션은 연결을 끊습니다. (느린 클라이언트 정리)
+ * 바이트 단위 상한과 전송 시간 상한은 WebSocketConfig의 transport 설정이 별도로 보장합니다.
+ */
+@Slf4j
+@Component
+public class OutboundBudgetManager implements WebSocketHandlerDecoratorFactory, ExecutorChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SessionBudget> sessions = new ConcurrentHashMap<>();
+    private final int pendingBudget;
+    private final long evictAfterNanos;
+
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public OutboundBudgetManager(MeterRegistry meterRegistry,
+            @Value("${ws.outbound.pending-budget:200}") int pendingBudget,
+            @Value("${ws.outbound.evict-after-ms:5000}") long evictAfterMs) {
+        this.meterRegistry = meterRegistry;
+        this.pendingBudget = pendingBudget;
+        this.evictAfterNanos = evictAfterMs * 1_000_000L;
+
+        Gauge.builder("ws.outbound.pending", sessions, map -> map.values().stream()
+                        .mapToLong(budget -> budget.pending.get()).sum())
+                .description("모든 세션의 송신 대기 메시지 수 합계")
+                .register(meterRegistry);
+        Gauge.builder("ws.outbound.sessions.over_budget", sessions, map -> map.values().stream()
+                        .filter(budget -> budget.overBudgetSince != 0).count())
+                .description("송신 예산을 넘은 세션 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ws.outbound.dropped")
+                .description("예산 초과로 버려진 유실 허용 메시지 수")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("ws.outbound.evicted")
+                .description("예산 초과가 계속되어 연결이 끊긴 세션 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionBudget budget = new SessionBudget(session);
+                sessions.put(session.getId(), budget);
+                super.afterConnectionEstablished(new BudgetedSession(session, budget));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionBudget budget = sessions.remove(session.getId());
+                if (budget != null && budget.gauge != null) {
+                    meterRegistry.remove(budget.gauge);
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * clientOutboundChannel 실행 스레드에서 세션으로 보내기 직전에 호출됩니다.
+     * null을 반환하면 메시지는 세션으로 전달되지 않습니다.
+     */
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionBudget budget = sessionId != null ? sessions.get(sessionId) : null;
+        if (budget == null) {
+            return message;
+        }
+        long pending = budget.pending.get();
+        if (pending >= pendingBudget) {
+            budget.markOverBudget();
+            if (isLossy(message)) {
+                budget.dropped.incrementAndGet();
+                droppedCounter.increment();
+                return null;
+            }
+        }
+        budget.pending.incrementAndGet();
+        return message;
+    }
+
+    private static boolean isLossy(Message<?> message) {
+        return SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && Boolean.TRUE.equals(message.getHeaders().get(MessageBroadcaster.LOSSY_HEADER));
+    }
+
+    /**
+     * 예산을 넘은 상태가 오래 지속된 세션을 끊습니다.
+     */
+    @Scheduled(fixedDelayString = "${ws.outbound.sweep-interval-ms:1000}")
+    public void evictSlowConsumers() {
+        long now = System.nanoTime();
+        for (SessionBudget budget : sessions.values()) {
+            long since = budget.overBudgetSince;
+            if (since == 0) {
+                continue;
+            }
+            if (budget.gauge == null) {
+                registerSessionGauge(budget);
+            }
+            if (now - since > evictAfterNanos) {
+                evict(budget);
+            }
+        }
+    }
+
+    private void registerSessionGauge(SessionBudget budget) {
+        Principal principal = budget.session.getPrincipal();
+        budget.gauge = Gauge.builder("ws.session.outbound.pending", budget.pending, AtomicLong::get)
+                .description("예산을 넘은 적이 있는 세션의 송신 대기 메시지 수")
+                .tag("session", budget.session.getId())
+                .tag("user", principal != null ? principal.getName() : "anonymous")
+                .register(meterRegistry);
+    }
+
+    private void evict(SessionBudget budget) {
+        log.warn("Evicting slow WebSocket session {}: {} messages pending, {} dropped",
+                budget.session.getId(), budget.pending.get(), budget.dropped.get());
+        evictedCounter.increment();
+        try {
+            budget.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.warn("Failed to close slow WebSocket session {}: {}", budget.session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 세션 하나의 송신 대기 상태
+     */
+    private final class SessionBudget {
+
+        private final WebSocketSession session;
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile long overBudgetSince; // 0이면 예산 이내
+        private volatile Gauge gauge;
+
+        private SessionBudget(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private void markOverBudget() {
+            if (overBudgetSince == 0) {
+                overBudgetSince = System.nanoTime();
+            }
+        }
+
+        private void onSent() {
+            // 하트비트나 ERROR 프레임처럼 채널을 거치지 않은 프레임은 0 아래로 내려가지 않도록 합니다.
+            long remaining = pending.updateAndGet(value -> value > 0 ? value - 1 : 0);
+            if (remaining < pendingBudget) {
+                overBudgetSince = 0;
+            }
+        }
+    }
+
+    /**
+     * 실제 소켓 쓰기가 끝난 프레임 수를 세는 세션 데코레이터입니다.
+     * Spring의 ConcurrentWebSocketSessionDecorator 안쪽에 위치하므로, 이 메서드가 반환되면 프레임이 전송된 것입니다.
+     */
+    private static final class BudgetedSession extends WebSocketSessionDecorator {
+
+        private final SessionBudget budget;
+
+        private BudgetedSession(WebSocketSession session, SessionBudget budget) {
+            super(session);
+            this.budget = budget;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+            if (message.getPayloadLength() > 1) { // STOMP 하트비트("\n")는 제외
+                budget.onSent();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package devcamphub.backend.handler;
+
+import devcamphub.backend.domain.StreamType;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * STOMP SEND를 사용자별, destination 종류별 토큰 버킷으로 제한합니다.
+ *
+ * 버킷은 GCRA(Generic Cell Rate Algorithm) 방식으로, 버킷 하나가 "다음 허용 시각" long 값 하나입니다.
+ * 사용자마다 규칙 수만큼의 AtomicLongArray를 두고 CAS로 갱신하므로 잠금이 없고,
+ * 이미 본 사용자/스트림에 대해서는 요청당 객체 할당이 없습니다.
+ * 시그널링 한도는 스트림 타입(LIVE 강의, MOGAKCO)에 따라 다르게 적용합니다.
+ * 한도를 넘은 메시지는 설정에 따라 조용히 버리거나(drop) STOMP ERROR 프레임으로 거절합니다(error).
+ */
+@Slf4j
+@Component
+public class StompRateLimitInterceptor implements ChannelInterceptor {
+
+    private static final String CHAT_PREFIX = "/app/chat/";
+    private static final String STREAM_CHAT_PREFIX = "/app/stream-chat/";
+    private static final String SIGNAL_PREFIX = "/app/signal/";
+    private static final int MAX_CACHED_DESTINATIONS = 10_000;
+
+    private final StreamRepository streamRepository;
+    private final boolean enabled;
+    private final boolean rejectWithError;
+    private final long startNanos = System.nanoTime();
+    private final long idleEvictNanos = TimeUnit.MINUTES.toNanos(5);
+
+    private final Rule[] rules = new Rule[Rule.Kind.values().length];
+    private final Map<String, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Rule.Kind> signalKinds = new ConcurrentHashMap<>();
+
+    public StompRateLimitInterceptor(StreamRepository streamRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ws.rate-limit.enabled:true}") boolean enabled,
+            @Value("${ws.rate-limit.action:drop}") String action,
+            @Value("${ws.rate-limit.chat.permits-per-second:5}") double chatRate,
+            @Value("${ws.rate-limit.chat.burst:10}") int chatBurst,
+            @Value("${ws.rate-limit.signal.live.permits-per-second:50}") double liveRate,
+            @Value("${ws.rate-limit.signal.live.burst:200}") int liveBurst,
+            @Value("${ws.rate-limit.signal.mogakco.permits-per-second:30}") double mogakcoRate,
+            @Value("${ws.rate-limit.signal.mogakco.burst:100}") int mogakcoBurst) {
+        this.streamRepository = streamRepository;
+        this.enabled = enabled;
+        this.rejectWithError = "error".equalsIgnoreCase(action);
+        rules[Rule.Kind.CHAT.ordinal()] = new Rule(Rule.Kind.CHAT, chatRate, chatBurst, meterRegistry);
+        rules[Rule.Kind.SIGNAL_LIVE.ordinal()] = new Rule(Rule.Kind.SIGNAL_LIVE, liveRate, liveBurst, meterRegistry);
+        rules[Rule.Kind.SIGNAL_MOGAKCO.ordinal()] =
+                new Rule(Rule.Kind.SIGNAL_MOGAKCO, mogakcoRate, mogakcoBurst, meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (destination == null || user == null) {
+            return message; // 인증되지 않은 전송은 컨트롤러에서 거절됩니다.
+        }
+
+        Rule.Kind kind;
+        if (destination.startsWith(CHAT_PREFIX) || destination.startsWith(STREAM_CHAT_PREFIX)) {
+            kind = Rule.Kind.CHAT;
+        } else if (destination.startsWith(SIGNAL_PREFIX)) {
+            kind = signalKind(destination);
+        } else {
+            return message;
+        }
+
+        Rule rule = rules[kind.ordinal()];
+        AtomicLongArray userBuckets = buckets.get(user.getName());
+        if (userBuckets == null) {
+            userBuckets = buckets.computeIfAbsent(user.getName(), name -> new AtomicLongArray(rules.length));
+        }
+        if (rule.tryAcquire(userBuckets, kind.ordinal(), System.nanoTime() - startNanos)) {
+            return message;
+        }
+
+        rule.rejected.increment();
+        log.debug("Rate limit exceeded: user={}, destination={}", user.getName(), destination);
+        if (rejectWithError) {
+            throw new MessageDeliveryException(message, "메시지 전송 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return null;
+    }
+
+    /**
+     * /app/signal/{streamId}의 스트림 타입에 맞는 규칙을 찾습니다. destination 문자열 기준으로 캐시합니다.
+     * (스트림 ID를 알 수 없는 /app/signal/join 등은 더 엄격한 MOGAKCO 한도를 사용)
+     */
+    private Rule.Kind signalKind(String destination) {
+        Rule.Kind kind = signalKinds.get(destination);
+        if (kind != null) {
+            return kind;
+        }
+        kind = Rule.Kind.SIGNAL_MOGAKCO;
+        try {
+            Long streamId = Long.valueOf(destination.substring(SIGNAL_PREFIX.length()));
+            StreamType type = streamRepository.findTypeById(streamId).orElse(StreamType.MOGAKCO);
+            kind = type == StreamType.LIVE ? Rule.Kind.SIGNAL_LIVE : Rule.Kind.SIGNAL_MOGAKCO;
+        } catch (NumberFormatException e) {
+            // 스트림 ID가 아닌 destination
+        }
+        if (signalKinds.size() >= MAX_CACHED_DESTINATIONS) {
+            signalKinds.clear();
+        }
+        signalKinds.put(destination, kind);
+        return kind;
+    }
+
+    /**
+     * 한동안 전송이 없어 모든 버킷이 가득 찬 사용자를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${ws.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleUsers() {
+        long now = System.nanoTime() - startNanos;
+        buckets.values().removeIf(userBuckets -> {
+            for (int i = 0; i < userBuckets.length(); i++) {
+                if (now - userBuckets.get(i) < idleEvictNanos) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 규칙 하나(초당 허용 수, 버스트 크기)와 거절 카운터
+     */
+    static final class Rule {
+
+        enum Kind { CHAT, SIGNAL_LIVE, SIGNAL_MOGAKCO }
+
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+        private final Counter rejected;
+
+        Rule(Kind kind, double permitsPerSecond, int burst, MeterRegistry meterRegistry) {
+            if (permitsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("전송 한도 설정이 올바르지 않습니다: " + kind);
+            }
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.burstToleranceNanos = intervalNanos * (burst - 1);
+            this.rejected = Counter.builder("ws.rate_limit.rejected")
+                    .description("전송 한도를 넘어 거절된 STOMP SEND 수")
+                    .tag("rule", kind.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * GCRA: 다음 허용 시각(tat)이 현재보다 버스트 허용치 이상 앞서 있으면 거절하고,
+         * 아니면 tat를 한 간격만큼 미룹니다.
+         */
+        boolean tryAcquire(AtomicLongArray buckets, int index, long now) {
+            while (true) {
+                long tat = buckets.get(index);
+                long base = Math.max(tat, now);
+                if (base - now > burstToleranceNanos) {
+                    return false;
+                }
+                if (buckets.compareAndSet(index, tat, base + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,9 @@
 package devcamphub.backend.handler;
 
-import devcamphub.backend.domain.StreamStatus;
-import devcamphub.backend.dto.SignalMessage;
-import devcamphub.backend.repository.StreamRepository;
-import devcamphub.backend.service.WebSocketSessionRegistry;
+import devcamphub.backend.service.DisconnectProcessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
@@ -16,9 +12,7 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 @RequiredArgsConstructor
 public class WebSocketDisconnectListener {
 
-    private final WebSocketSessionRegistry sessionRegistry;
-    private final StreamRepository streamRepository;
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final DisconnectProcessor disconnectProcessor;
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
@@ -28,45 +22,11 @@ public class WebSocketDisconnectListener {
             return;
         }
 
-        // Redis에서 세션 ID를 통해 닉네임 조회
-        String nickname = sessionRegistry.getNicknameBySessionId(sessionId);
-
-        if (nickname != null) {
-            log.info("WebSocket session disconnected: sessionId={}, nickname={}", sessionId, nickname);
-
-            // Redis에서 방 정보 조회 및 퇴장 처리
-            String roomId = sessionRegistry.getRoomIdForUser(nickname);
-            if (roomId != null) {
-                sessionRegistry.leaveRoom(nickname);
-                log.info("Nickname {} left room {}.", nickname, roomId);
-
-                // 다른 사용자들에게 user-left 메시지 전송
-                SignalMessage leftMessage = new SignalMessage();
-                leftMessage.setType("user-left");
-                leftMessage.setSender(nickname);
-                messagingTemplate.convertAndSend("/topic/signal/" + roomId, leftMessage);
-            }
-        }
-
-        // 세션 등록 해제 (닉네임 존재 여부와 상관없이 시도)
-        sessionRegistry.unregisterSession(sessionId);
-        log.info("Unregistered session {} from Redis.", sessionId);
-
-
         // Principal을 통해 이메일 조회 (DB 스트림 종료 처리를 위함)
-        if (event.getUser() != null && event.getUser().getName() != null) {
-            String userEmail = event.getUser().getName();
-            log.info("Principal email {} found for session {}. Checking for active streams.", userEmail, sessionId);
+        String userEmail = event.getUser() != null ? event.getUser().getName() : null;
 
-            // 해당 사용자가 소유한 활성 스트림이 있는지 확인
-            streamRepository.findFirstByOwner_EmailAndStatusOrderByStartedAtDesc(userEmail, StreamStatus.ACTIVE)
-                    .ifPresent(stream -> {
-                        log.warn("User {} disconnected without checking out. Automatically ending stream id: {}", userEmail, stream.getId());
-                        // 스트림 종료 처리
-                        stream.endStream();
-                        streamRepository.save(stream);
-                        log.info("Stream {} for user {} successfully ended and saved.", stream.getId(), userEmail);
-                    });
-        }
+        // 방 퇴장, 세션 해제, 스트림 종료는 DisconnectProcessor가 모아서 비동기로 처리
+        disconnectProcessor.submit(sessionId, userEmail);
+        log.debug("Queued disconnect of session {} (user: {})", sessionId, userEmail);
     }
 }
@@ -1,6 +1,6 @@
 package devcamphub.backend.handler;
 
-import devcamphub.backend.repository.UserRepository;
+import devcamphub.backend.service.UserSnapshotCache;
 import devcamphub.backend.service.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +15,7 @@ import org.springframework.web.socket.messaging.SessionConnectedEvent;
 public class WebSocketEventListener {
 
     private final WebSocketSessionRegistry sessionRegistry;
-    private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
@@ -30,11 +30,13 @@ public class WebSocketEventListener {
         String userEmail = event.getUser().getName();
         log.info("WebSocket session connected: sessionId={}, userEmail={}", sessionId, userEmail);
 
-        // 이메일을 사용하여 DB에서 사용자 정보를 찾고, 닉네임을 가져옵니다.
-        userRepository.findByEmail(userEmail).ifPresent(user -> {
-            String nickname = user.getNickname();
+        // CONNECT 인증 시 캐시된 사용자 스냅샷에서 닉네임을 가져옵니다. (캐시에 없을 때만 DB 조회)
+        try {
+            String nickname = userSnapshotCache.getOrLoad(userEmail).nickname();
             sessionRegistry.registerSession(sessionId, nickname);
             log.info("Session registered with nickname: {} for email: {}", nickname, userEmail);
-        });
+        } catch (IllegalArgumentException e) {
+            log.warn("Could not register session {}: {}", sessionId, e.getMessage());
+        }
     }
 }
@@ -6,6 +6,8 @@ import devcamphub.backend.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -19,4 +21,9 @@ public interface CampRepository extends JpaRepository<Camp, Long> {
 
     // 초대 코드가 존재하는지 확인 (캠프 생성 시 중복 방지용)
     boolean existsByInviteCode(String inviteCode);
+
+    // 사용자가 캠프의 생성자이거나 멤버인지 확인
+    @Query("select count(c) > 0 from Camp c where c.id = :campId and (c.creator.email = :email"
+            + " or exists (select m from CampMember m where m.camp = c and m.user.email = :email))")
+    boolean isParticipant(@Param("campId") Long campId, @Param("email") String email);
 }
@@ -3,20 +3,41 @@ package devcamphub.backend.repository;
 import devcamphub.backend.domain.ChannelChatMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ChannelChatMessageRepository extends JpaRepository<ChannelChatMessage, Long> {
 
     /**
-     * 특정 캠프의 특정 채널에 해당하는 메시지를 최신순으로 조회합니다.
+     * 특정 캠프의 특정 채널에 해당하는 메시지를 최신순(ID 내림차순)으로 조회합니다.
+     * 커서 페이지와 같은 ID 순서를 써야 첫 페이지와 이전 페이지 사이에 메시지가 빠지거나 겹치지 않습니다.
      * Page가 아닌 Slice를 사용하면 전체 개수(total count) 쿼리를 생략하여 성능을 향상 가능
      * (무한 스크롤 방식의 채팅 내역 조회에 적합)
      */
-    Slice<ChannelChatMessage> findByCampIdAndChannelOrderByCreatedAtDesc(Long campId, String channel,
+    @EntityGraph(attributePaths = "author")
+    Slice<ChannelChatMessage> findByCampIdAndChannelOrderByIdDesc(Long campId, String channel,
             Pageable pageable);
 
+    /**
+     * 커서(before) 이전의 메시지를 최신순으로 조회합니다. (keyset 페이지네이션, 이전 내역 불러오기)
+     * OFFSET을 사용하지 않으므로 채널에 메시지가 많아도 요청당 비용이 일정합니다.
+     */
+    @EntityGraph(attributePaths = "author")
+    Slice<ChannelChatMessage> findByCampIdAndChannelAndIdLessThanOrderByIdDesc(Long campId, String channel,
+            Long id, Pageable pageable);
+
+    /**
+     * 커서(after) 이후의 메시지를 오래된 순으로 조회합니다. (재연결 시 누락된 메시지 따라잡기)
+     */
+    @EntityGraph(attributePaths = "author")
+    Slice<ChannelChatMessage> findByCampIdAndChannelAndIdGreaterThanOrderByIdAsc(Long campId, String channel,
+            Long id, Pageable pageable);
+
     /**
      * 특정 캠프의 특정 채널에 해당하는 메시지를 오래된 순으로 조회합니다.
      */
@@ -26,4 +47,10 @@ public interface ChannelChatMessageRepository extends JpaRepository<ChannelChatM
      * 클라이언트 메시지 ID로 중복 확인 (Idempotent 처리)
      */
     boolean existsByClientMsgId(Long clientMsgId);
+
+    /**
+     * 특정 시각 이후 메시지가 있었던 (campId, channel) 목록을 조회합니다. (최근 메시지 캐시 워밍업 시 사용)
+     */
+    @Query("select distinct m.camp.id, m.channel from ChannelChatMessage m where m.createdAt > :since")
+    List<Object[]> findActiveChannelsSince(@Param("since") LocalDateTime since);
 }
@@ -3,13 +3,16 @@ package devcamphub.backend.repository;
 import devcamphub.backend.domain.StreamChatMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface StreamChatMessageRepository extends JpaRepository<StreamChatMessage, Long> {
 
     /**
      * 특정 스트림(방송)에 해당하는 메시지를 최신순으로 조회합니다.
+     * 발신자 닉네임이 필요하므로 작성자를 함께 조회합니다. (N+1 방지)
      */
+    @EntityGraph(attributePaths = "author")
     Slice<StreamChatMessage> findByStreamIdOrderByCreatedAtDesc(Long streamId, Pageable pageable);
 
 }
@@ -4,7 +4,12 @@ import devcamphub.backend.domain.Stream;
 import devcamphub.backend.domain.StreamStatus;
 import devcamphub.backend.domain.StreamType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +25,40 @@ public interface StreamRepository extends JpaRepository<Stream, Long> {
     // 특정 사용자의 가장 최근 활성 스트림 조회 (자동 종료 처리 시 사용)
     Optional<Stream> findFirstByOwner_EmailAndStatusOrderByStartedAtDesc(String email, StreamStatus status);
 
+    // 여러 사용자의 특정 상태 스트림 ID 조회 (연결 끊김 일괄 처리 시 사용)
+    @Query("select s.id from Stream s where s.status = :status and s.owner.email in :emails")
+    List<Long> findIdsByOwnerEmailInAndStatus(@Param("emails") Collection<String> emails,
+            @Param("status") StreamStatus status);
+
+    // 지정한 스트림 중 아직 활성인 것만 한 번에 종료 (연결 끊김, 만료된 스트림 세션 정리 시 사용)
+    @Modifying
+    @Query("update Stream s set s.status = :ended, s.endedAt = :endedAt where s.status = :active and s.id in :ids")
+    int endActiveStreams(@Param("ids") Collection<Long> ids,
+            @Param("endedAt") LocalDateTime endedAt,
+            @Param("active") StreamStatus active,
+            @Param("ended") StreamStatus ended);
+
+    // 특정 상태인 모든 스트림의 {스트림 ID, 캠프 ID} 조회 (활성 스트림 목록을 DB와 대조할 때 사용)
+    @Query("select s.id, s.camp.id from Stream s where s.status = :status")
+    List<Object[]> findIdAndCampIdByStatus(@Param("status") StreamStatus status);
+
+    // 지정한 스트림 중 특정 상태가 아닌 것의 ID 조회 (활성 스트림 목록을 채운 직후 그사이 종료된 스트림을 찾을 때 사용)
+    @Query("select s.id from Stream s where s.status <> :status and s.id in :ids")
+    List<Long> findIdsByIdInAndStatusNot(@Param("ids") Collection<Long> ids, @Param("status") StreamStatus status);
+
+    // 스트림 타입만 조회 (시그널링 전송 한도 결정 시 사용)
+    @Query("select s.type from Stream s where s.id = :id")
+    Optional<StreamType> findTypeById(@Param("id") Long id);
+
+    // 스트림 소유자 이메일만 조회 (썸네일 업로드 권한 확인 시 사용)
+    @Query("select s.owner.email from Stream s where s.id = :id")
+    Optional<String> findOwnerEmailById(@Param("id") Long id);
+
+    // 특정 상태인 스트림의 캠프 ID 조회 (스트림 채팅방을 열 때 사용, 캠프가 없는 스트림은 조회되지 않음)
+    @Query("select s.camp.id from Stream s where s.id = :id and s.status = :status")
+    Optional<Long> findCampIdByIdAndStatus(@Param("id") Long id, @Param("status") StreamStatus status);
+
+    // 스트림이 해당 캠프에 속하는지 확인 (캠프 경로로 스트림 정보를 조회할 때 사용)
+    boolean existsByIdAndCampId(Long id, Long campId);
+
 }
@@ -0,0 +1,509 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.domain.StreamStatus;
+import devcamphub.backend.dto.ActiveStreamDelta;
+import devcamphub.backend.dto.ActiveStreamsSnapshot;
+import devcamphub.backend.dto.StreamResponseDto;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캠프별 활성 스트림 목록(directory)입니다. 목록 조회가 DB를 거치지 않도록 Redis에 두고 노드 메모리에 캐시합니다.
+ *
+ * Redis에는 캠프마다 스트림 ID → StreamResponseDto JSON Hash와 버전 카운터를 둡니다.
+ * 스트림 시작/종료/썸네일 변경은 Lua 스크립트로 Hash와 버전을 함께 바꾸고, 같은 스크립트 안에서
+ * 변경 내용을 Redis Pub/Sub 채널(streams:active:changes)로 알립니다. 각 노드는 이를 받아
+ * 메모리의 목록에 반영하고 자기 노드의 STOMP 구독자에게 "/topic/streams/{campId}"로 ActiveStreamDelta를 보냅니다.
+ * 받은 변경의 버전이 가진 버전의 다음 값이 아니면(유실) 해당 캠프를 메모리에서 지우고 다음 조회 때 다시 읽습니다.
+ *
+ * 캠프의 목록이 Redis에 아직 없으면 DB의 활성 스트림으로 한 번 채웁니다. (배포 직후 등)
+ * 변경은 DB 트랜잭션이 커밋된 뒤에 반영하며, Redis 오류는 요청을 실패시키지 않고 로그만 남깁니다.
+ * 그렇게 빠진 변경은 reconcile-interval-ms마다 한 노드가 DB의 활성 스트림과 Redis 목록을 대조해 바로잡습니다.
+ */
+@Slf4j
+@Component
+public class ActiveStreamDirectory implements MessageListener {
+
+    private static final String KEY_PREFIX = "streams:active:";
+    private static final String CAMP_INDEX_KEY = "streams:active:camp-of";
+    private static final String CHANGE_CHANNEL = "streams:active:changes";
+    private static final String RECONCILE_LOCK_KEY = "streams:active:reconcile-lock";
+    private static final String TOPIC_PREFIX = "/topic/streams/";
+
+    /**
+     * 스트림 추가 또는 변경.
+     * KEYS[1]=캠프 Hash, KEYS[2]=캠프 버전, KEYS[3]=스트림 → 캠프 Hash
+     * ARGV[1]=스트림 ID, ARGV[2]=JSON, ARGV[3]=캠프 ID, ARGV[4]=변경 채널, ARGV[5]=이미 있는 경우에만 변경하면 "1"
+     */
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of("""
+            local exists = redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1
+            if ARGV[5] == '1' and not exists then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[3])
+            local version = redis.call('INCR', KEYS[2])
+            local op = exists and 'UPDATE' or 'ADD'
+            redis.call('PUBLISH', ARGV[4], ARGV[3] .. '|' .. version .. '|' .. op .. '|' .. ARGV[1] .. '|' .. ARGV[2])
+            return version
+            """, Long.class);
+
+    /**
+     * 스트림 제거. 미리 조회한 캠프가 그대로인 스트림만 해당 캠프 목록에서 지우고 버전을 올려 변경을 알립니다.
+     * KEYS[1]=스트림 → 캠프 Hash, KEYS[i]/KEYS[i + 1]=ARGV[i] 스트림이 속한 캠프 Hash/버전 (i = 2, 4, ...)
+     * ARGV[1]=변경 채널, ARGV[i]=스트림 ID, ARGV[i + 1]=캠프 ID
+     */
+    private static final RedisScript<Long> REMOVE_SCRIPT = RedisScript.of("""
+            local removed = 0
+            for i = 2, #ARGV, 2 do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[1], ARGV[i])
+                    redis.call('HDEL', KEYS[i], ARGV[i])
+                    local version = redis.call('INCR', KEYS[i + 1])
+                    redis.call('PUBLISH', ARGV[1], ARGV[i + 1] .. '|' .. version .. '|REMOVE|' .. ARGV[i] .. '|')
+                    removed = removed + 1
+                end
+            end
+            return removed
+            """, Long.class);
+
+    /**
+     * 버전과 목록을 함께 읽습니다. 목록이 아직 없으면 빈 배열, 있으면 {버전, 스트림 ID, JSON, ...}
+     * KEYS[1]=캠프 Hash, KEYS[2]=캠프 버전
+     */
+    private static final RedisScript<List> LOAD_SCRIPT = RedisScript.of("""
+            local version = redis.call('GET', KEYS[2])
+            if not version then
+                return {}
+            end
+            local result = redis.call('HGETALL', KEYS[1])
+            table.insert(result, 1, version)
+            return result
+            """, List.class);
+
+    /**
+     * 목록이 없을 때만 DB에서 읽은 활성 스트림으로 채웁니다.
+     * KEYS[1]=캠프 Hash, KEYS[2]=캠프 버전, KEYS[3]=스트림 → 캠프 Hash / ARGV[1]=캠프 ID, ARGV[2..]=스트림 ID, JSON, ...
+     */
+    private static final RedisScript<Long> SEED_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return 0
+            end
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                redis.call('HSET', KEYS[3], ARGV[i], ARGV[1])
+            end
+            redis.call('SET', KEYS[2], 1)
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final StreamRepository streamRepository;
+    private final MessageBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlNanos;
+    private final Duration reconcileInterval;
+
+    private final Map<Long, CampStreams> camps = new ConcurrentHashMap<>();
+    private final Set<Long> seededCamps = ConcurrentHashMap.newKeySet();
+    // 변경을 받을 때마다 증가합니다. Redis에서 읽는 도중 변경이 끼어들면 읽은 목록을 캐시하지 않습니다.
+    private final AtomicLong changes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private RedisMessageListenerContainer container;
+
+    public ActiveStreamDirectory(RedisTemplate<String, String> redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            StreamRepository streamRepository,
+            MessageBroadcaster broadcaster,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stream.directory.ttl-seconds:60}") long ttlSeconds,
+            @Value("${stream.directory.reconcile-interval-ms:60000}") long reconcileIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.streamRepository = streamRepository;
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.reconcileInterval = Duration.ofMillis(reconcileIntervalMs);
+        this.hits = Counter.builder("stream.directory.requests")
+                .description("활성 스트림 목록 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("stream.directory.requests")
+                .description("활성 스트림 목록 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 버전 순서대로 반영하도록 구독 스레드에서 바로 처리합니다.
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 캠프의 활성 스트림 목록과 버전을 반환합니다. (노드 메모리 → Redis → 최초 1회만 DB)
+     */
+    public ActiveStreamsSnapshot getSnapshot(Long campId) {
+        CampStreams cached = camps.get(campId);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return cached.toSnapshot();
+        }
+        misses.increment();
+        long seen = changes.get();
+        CampStreams loaded = load(campId);
+        if (changes.get() == seen) {
+            camps.put(campId, loaded);
+        }
+        return loaded.toSnapshot();
+    }
+
+    public List<StreamResponseDto> getActiveStreams(Long campId) {
+        return getSnapshot(campId).streams();
+    }
+
+    /**
+     * 시작된 스트림을 목록에 추가합니다. (트랜잭션 안이면 커밋 후)
+     */
+    public void streamStarted(Long campId, StreamResponseDto stream) {
+        afterCommit(() -> put(campId, stream, false));
+    }
+
+    /**
+     * 목록에 있는 스트림의 정보(썸네일 등)를 바꿉니다. 이미 종료된 스트림은 무시합니다.
+     * 시청자 수는 ViewerCountService가 따로 갱신하므로 목록에 있던 값을 유지합니다.
+     */
+    public void streamUpdated(Long campId, StreamResponseDto stream) {
+        afterCommit(() -> {
+            StreamResponseDto current = find(campId, stream.streamId());
+            put(campId, current != null
+                    ? stream.withViewers(current.viewerCount(), current.uniqueViewerCount())
+                    : stream, true);
+        });
+    }
+
+    /**
+     * 스트림의 시청자 수를 바꿉니다. 값이 그대로이거나 목록에 없는 스트림이면 아무것도 하지 않습니다.
+     */
+    public void viewersChanged(Long campId, Long streamId, long viewerCount, long uniqueViewerCount) {
+        StreamResponseDto current = find(campId, streamId);
+        if (current == null
+                || (current.viewerCount() == viewerCount && current.uniqueViewerCount() == uniqueViewerCount)) {
+            return;
+        }
+        put(campId, current.withViewers(viewerCount, uniqueViewerCount), true);
+    }
+
+    /**
+     * 모든 캠프의 활성 스트림 ID → 캠프 ID (Redis 1회 조회)
+     */
+    public Map<Long, Long> getActiveStreamCamps() {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(CAMP_INDEX_KEY);
+        Map<Long, Long> result = new LinkedHashMap<>(entries.size());
+        entries.forEach((streamId, campId) -> result.put(Long.valueOf((String) streamId), Long.valueOf((String) campId)));
+        return result;
+    }
+
+    private StreamResponseDto find(Long campId, Long streamId) {
+        for (StreamResponseDto stream : getSnapshot(campId).streams()) {
+            if (stream.streamId().equals(streamId)) {
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 종료된 스트림들을 목록에서 제거합니다. 목록에 없는 스트림은 무시합니다.
+     */
+    public void streamsEnded(Collection<Long> streamIds) {
+        if (streamIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> remove(streamIds));
+    }
+
+    /**
+     * DB의 활성 스트림과 Redis 목록을 대조해, 반영되지 못한 시작/종료를 바로잡습니다.
+     * 여러 노드 중 주기마다 잠금을 얻은 한 노드만 실행합니다.
+     * Redis를 먼저 읽으므로 대조 도중 시작/종료된 스트림이 어긋나더라도 다음 주기에 다시 맞춰집니다.
+     */
+    @Scheduled(fixedDelayString = "${stream.directory.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(RECONCILE_LOCK_KEY, "1", reconcileInterval))) {
+                return;
+            }
+            Map<Long, Long> listed = getActiveStreamCamps();
+            Map<Long, Long> active = new LinkedHashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> streamRepository
+                    .findIdAndCampIdByStatus(StreamStatus.ACTIVE)
+                    .forEach(row -> active.put((Long) row[0], (Long) row[1])));
+
+            List<Long> ended = listed.keySet().stream().filter(id -> !active.containsKey(id)).toList();
+            List<Long> missing = active.keySet().stream().filter(id -> !listed.containsKey(id)).toList();
+            if (!ended.isEmpty()) {
+                remove(ended);
+            }
+            if (!missing.isEmpty()) {
+                List<StreamResponseDto> streams = readOnlyTransaction.execute(status -> streamRepository
+                        .findAllById(missing).stream().map(StreamResponseDto::from).toList());
+                streams.forEach(stream -> put(active.get(stream.streamId()), stream, false));
+            }
+            if (!ended.isEmpty() || !missing.isEmpty()) {
+                log.warn("Reconciled active stream directory with DB: {} ended streams removed, {} missing streams added",
+                        ended.size(), missing.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile active stream directory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스트림들을 목록에서 제거합니다. 스크립트가 건드리는 캠프 키를 KEYS로 넘기기 위해 캠프를 먼저 조회합니다.
+     * 조회 후 스트림의 캠프가 바뀌었으면(다시 채워진 경우 등) 스크립트가 건너뜁니다.
+     */
+    private void remove(Collection<Long> streamIds) {
+        List<Object> fields = new ArrayList<>(streamIds.size());
+        streamIds.forEach(id -> fields.add(id.toString()));
+        List<Object> campIds = redisTemplate.opsForHash().multiGet(CAMP_INDEX_KEY, fields);
+
+        List<String> keys = new ArrayList<>();
+        keys.add(CAMP_INDEX_KEY);
+        List<String> args = new ArrayList<>();
+        args.add(CHANGE_CHANNEL);
+        for (int i = 0; i < fields.size(); i++) {
+            Object campId = campIds.get(i);
+            if (campId == null) {
+                continue;
+            }
+            keys.add(campKey(Long.valueOf((String) campId)));
+            keys.add(versionKey(Long.valueOf((String) campId)));
+            args.add((String) fields.get(i));
+            args.add((String) campId);
+        }
+        if (args.size() > 1) {
+            redisTemplate.execute(REMOVE_SCRIPT, keys, args.toArray());
+        }
+    }
+
+    private void put(Long campId, StreamResponseDto stream, boolean onlyIfPresent) {
+        ensureSeeded(campId);
+        redisTemplate.execute(PUT_SCRIPT,
+                List.of(campKey(campId), versionKey(campId), CAMP_INDEX_KEY),
+                stream.streamId().toString(), toJson(stream), campId.toString(), CHANGE_CHANNEL,
+                onlyIfPresent ? "1" : "0");
+    }
+
+    @SuppressWarnings("unchecked")
+    private CampStreams load(Long campId) {
+        List<String> result = redisTemplate.execute(LOAD_SCRIPT, List.of(campKey(campId), versionKey(campId)));
+        if (result == null || result.isEmpty()) {
+            seed(campId);
+            result = redisTemplate.execute(LOAD_SCRIPT, List.of(campKey(campId), versionKey(campId)));
+        }
+        Map<Long, StreamResponseDto> streams = new LinkedHashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            streams.put(Long.valueOf(result.get(i)), fromJson(result.get(i + 1)));
+        }
+        return new CampStreams(Long.parseLong(result.get(0)), Collections.unmodifiableMap(streams), System.nanoTime());
+    }
+
+    private void ensureSeeded(Long campId) {
+        if (seededCamps.contains(campId)) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(versionKey(campId)))) {
+            seed(campId);
+        }
+        seededCamps.add(campId);
+    }
+
+    /**
+     * DB의 활성 스트림으로 캠프 목록을 채웁니다.
+     * DB를 읽은 뒤 채우기 전에 종료된 스트림은 REMOVE가 (아직 목록에 없어) 건너뛰므로,
+     * 채운 뒤 다시 확인해 그사이 종료된 스트림을 지웁니다. 이후의 종료는 목록에 있으므로 REMOVE가 처리합니다.
+     */
+    private void seed(Long campId) {
+        List<String> args = readOnlyTransaction.execute(status -> {
+            List<String> values = new ArrayList<>();
+            values.add(campId.toString());
+            streamRepository.findByCampIdAndStatus(campId, StreamStatus.ACTIVE).forEach(stream -> {
+                values.add(stream.getId().toString());
+                values.add(toJson(StreamResponseDto.from(stream)));
+            });
+            return values;
+        });
+        Long seeded = redisTemplate.execute(SEED_SCRIPT,
+                List.of(campKey(campId), versionKey(campId), CAMP_INDEX_KEY), args.toArray());
+        if (!Long.valueOf(1).equals(seeded)) {
+            return;
+        }
+        log.info("Seeded active stream directory of camp {} with {} streams from DB", campId, (args.size() - 1) / 2);
+        List<Long> seededIds = new ArrayList<>((args.size() - 1) / 2);
+        for (int i = 1; i < args.size(); i += 2) {
+            seededIds.add(Long.valueOf(args.get(i)));
+        }
+        if (!seededIds.isEmpty()) {
+            List<Long> ended = readOnlyTransaction.execute(status ->
+                    streamRepository.findIdsByIdInAndStatusNot(seededIds, StreamStatus.ACTIVE));
+            if (!ended.isEmpty()) {
+                remove(ended);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // "{캠프 ID}|{버전}|{ADD|UPDATE|REMOVE}|{스트림 ID}|{JSON}" (JSON은 '|'를 포함할 수 있으므로 마지막에 둠)
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 5);
+        if (parts.length < 5) {
+            return;
+        }
+        try {
+            Long campId = Long.valueOf(parts[0]);
+            long version = Long.parseLong(parts[1]);
+            ActiveStreamDelta.Op op = ActiveStreamDelta.Op.valueOf(parts[2]);
+            Long streamId = Long.valueOf(parts[3]);
+            StreamResponseDto stream = op == ActiveStreamDelta.Op.REMOVE ? null : fromJson(parts[4]);
+
+            changes.incrementAndGet();
+            camps.computeIfPresent(campId, (id, current) -> current.apply(version, streamId, stream));
+            broadcaster.broadcast(TOPIC_PREFIX + campId, new ActiveStreamDelta(version, op, streamId, stream));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply active stream change: {}", e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // 반영하지 못한 변경은 주기적인 DB 대조(reconcile)가 바로잡으므로 요청은 실패시키지 않습니다.
+                log.error("Failed to update active stream directory: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private String toJson(StreamResponseDto stream) {
+        try {
+            return objectMapper.writeValueAsString(stream);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("스트림 정보를 직렬화할 수 없습니다: " + stream.streamId(), e);
+        }
+    }
+
+    private StreamResponseDto fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, StreamResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("스트림 정보를 읽을 수 없습니다: " + json, e);
+        }
+    }
+
+    private static String campKey(Long campId) {
+        return KEY_PREFIX + campId;
+    }
+
+    private static String versionKey(Long campId) {
+        return KEY_PREFIX + campId + ":version";
+    }
+
+    /**
+     * 노드 메모리에 둔 캠프 하나의 목록 (불변, 변경 시 새 객체로 교체)
+     */
+    private record CampStreams(long version, Map<Long, StreamResponseDto> streams, long loadedAt) {
+
+        /**
+         * 변경 하나를 반영한 목록을 반환합니다. 중간 버전이 빠졌으면 null을 반환해 캐시에서 지웁니다.
+         */
+        CampStreams apply(long newVersion, Long streamId, StreamResponseDto stream) {
+            if (newVersion <= version) {
+                return this;
+            }
+            if (newVersion != version + 1) {
+                return null;
+            }
+            Map<Long, StreamResponseDto> next = new LinkedHashMap<>(streams);
+            if (stream == null) {
+                next.remove(streamId);
+            } else {
+                next.put(streamId, stream);
+            }
+            return new CampStreams(newVersion, Collections.unmodifiableMap(next), loadedAt);
+        }
+
+        ActiveStreamsSnapshot toSnapshot() {
+            List<StreamResponseDto> sorted = new ArrayList<>(streams.values());
+            sorted.sort(Comparator.comparing(StreamResponseDto::streamId));
+            return new ActiveStreamsSnapshot(version, sorted);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package devcamphub.backend.service;
+
+/**
+ * 여러 서버 노드에 걸쳐 브로드캐스트를 중계하는 확장 지점입니다.
+ * 등록된 구현이 없으면 MessageBroadcaster는 로컬 브로커로만 전송합니다. (단일 노드)
+ */
+public interface BroadcastRelay {
+
+    /**
+     * 이 destination을 노드 간에 중계해야 하는지 여부
+     */
+    boolean supports(String destination);
+
+    /**
+     * 직렬화된 페이로드를 모든 노드(자기 자신 포함)에 전달합니다.
+     * 각 노드는 받은 메시지를 자신의 로컬 브로커로 구독자에게 보냅니다.
+     * lossy이면 각 노드에서도 MessageBroadcaster.LOSSY_HEADER를 붙여 보냅니다.
+     */
+    void publish(String destination, byte[] payload, boolean lossy);
+}
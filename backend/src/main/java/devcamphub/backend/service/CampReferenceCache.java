@@ -0,0 +1,145 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.Camp;
+import devcamphub.backend.repository.CampRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 존재가 확인된 캠프 ID를 기억해두고, 채팅 저장에 필요한 Camp는 지연 로딩 프록시(getReferenceById)로 돌려줍니다.
+ * 캠프당 최초 한 번만 SELECT로 존재 여부를 확인하고, 이후에는 외래 키 참조만 만들므로 DB를 조회하지 않습니다.
+ * 캠프 삭제 시에는 커밋 이후 Redis Pub/Sub(camp:reference:evict)으로 모든 노드에서 무효화됩니다.
+ * (UserSnapshotCache와 같은 방식으로, 확인 이후 무효화가 있었으면 확인 결과를 기억하지 않습니다.)
+ */
+@Slf4j
+@Component
+public class CampReferenceCache implements MessageListener {
+
+    static final String EVICT_CHANNEL = "camp:reference:evict";
+
+    private final CampRepository campRepository;
+    private final EntityManager entityManager;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final Set<Long> knownCampIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private final int maxSize;
+    private RedisMessageListenerContainer container;
+
+    public CampReferenceCache(CampRepository campRepository, EntityManager entityManager,
+            RedisTemplate<String, String> redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            @Value("${ws.camp-reference-cache.max-size:10000}") int maxSize) {
+        this.campRepository = campRepository;
+        this.entityManager = entityManager;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    public Camp getReference(Long campId) {
+        if (!knownCampIds.contains(campId)) {
+            long checkedAtVersion = version.get();
+            if (!campRepository.existsById(campId)) {
+                throw new IllegalArgumentException("캠프를 찾을 수 없습니다: " + campId);
+            }
+            remember(campId, checkedAtVersion);
+        }
+        // 트랜잭션 밖에서 공유 EntityManager로 프록시만 만들면 커넥션도 사용하지 않습니다.
+        return entityManager.getReference(Camp.class, campId);
+    }
+
+    private void remember(Long campId, long checkedAtVersion) {
+        if (version.get() != checkedAtVersion) {
+            return;
+        }
+        if (knownCampIds.size() >= maxSize) {
+            Iterator<Long> iterator = knownCampIds.iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        knownCampIds.add(campId);
+        // 넣는 사이 무효화가 끼어들었으면 되돌립니다. (무효화는 버전을 먼저 올리고 지움)
+        if (version.get() != checkedAtVersion) {
+            knownCampIds.remove(campId);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 모든 노드에서 캠프 참조를 무효화합니다.
+     * (커밋 전에 지우면 동시에 들어온 요청이 아직 남아 있는 캠프를 다시 기억할 수 있습니다.)
+     */
+    public void evictAfterCommit(Long campId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(campId);
+                }
+            });
+        } else {
+            evictEverywhere(campId);
+        }
+    }
+
+    private void evictEverywhere(Long campId) {
+        evict(campId);
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(campId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish camp reference eviction for {}: {}", campId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evict(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed camp reference eviction: {}", e.getMessage());
+        }
+    }
+
+    private void evict(Long campId) {
+        version.incrementAndGet();
+        knownCampIds.remove(campId);
+    }
+}
@@ -27,6 +27,7 @@ public class CampService {
     private final CampRepository campRepository;
     private final UserRepository userRepository;
     private final CampMemberRepository campMemberRepository;
+    private final CampReferenceCache campReferenceCache;
 
     @Transactional
     public CampResponse createCamp(CampCreateRequest request, String creatorEmail) {
@@ -170,6 +171,7 @@ public class CampService {
 
         // 4. 캠프 삭제
         campRepository.delete(camp);
+        campReferenceCache.evictAfterCommit(campId);
     }
 
     @Transactional
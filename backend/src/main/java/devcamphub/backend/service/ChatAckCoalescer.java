@@ -0,0 +1,112 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.dto.ChatAckResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 전송 ACK를 사용자별로 짧은 시간(window) 동안 모아 한 프레임으로 보냅니다.
+ * 직전 window 안에 보낸 ACK가 없는(한가한) 사용자의 ACK는 기다리지 않고 바로 보내고,
+ * 연달아 입력하는 사용자의 ACK만 window 끝에 clientMsgId 목록으로 묶어 보냅니다.
+ * 따라서 사용자당 ACK 프레임은 window마다 최대 두 개입니다.
+ */
+@Component
+public class ChatAckCoalescer {
+
+    private static final String ACK_DESTINATION = "/queue/ack";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final long windowNanos;
+    private final Map<String, PendingAcks> users = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public ChatAckCoalescer(SimpMessageSendingOperations messagingTemplate,
+            @Value("${chat.ack.coalesce-window-ms:20}") long windowMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-ack-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 처리된 메시지의 ACK를 보냅니다. (사용자가 한가하면 즉시, 아니면 window 끝에 묶어서)
+     */
+    public void ack(String username, long clientMsgId) {
+        if (windowNanos <= 0) {
+            send(username, List.of(clientMsgId));
+            return;
+        }
+        PendingAcks pending = users.computeIfAbsent(username, name -> new PendingAcks());
+        synchronized (pending) {
+            long now = System.nanoTime();
+            long sinceLastSent = now - pending.lastSentNanos;
+            if (!pending.scheduled && sinceLastSent >= windowNanos) {
+                pending.lastSentNanos = now;
+            } else {
+                pending.clientMsgIds.add(clientMsgId);
+                if (!pending.scheduled) {
+                    pending.scheduled = true;
+                    scheduler.schedule(() -> flush(username, pending),
+                            Math.max(0, windowNanos - sinceLastSent), TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+        }
+        send(username, List.of(clientMsgId));
+    }
+
+    private void flush(String username, PendingAcks pending) {
+        List<Long> clientMsgIds;
+        synchronized (pending) {
+            clientMsgIds = new ArrayList<>(pending.clientMsgIds);
+            pending.clientMsgIds.clear();
+            pending.scheduled = false;
+            pending.lastSentNanos = System.nanoTime();
+        }
+        if (!clientMsgIds.isEmpty()) {
+            send(username, clientMsgIds);
+        }
+    }
+
+    private void send(String username, List<Long> clientMsgIds) {
+        messagingTemplate.convertAndSendToUser(username, ACK_DESTINATION, ChatAckResponse.delivered(clientMsgIds));
+    }
+
+    /**
+     * 한동안 ACK가 없던 사용자의 상태를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.ack.sweep-interval-ms:60000}")
+    public void evictIdleUsers() {
+        long now = System.nanoTime();
+        users.values().removeIf(pending -> {
+            synchronized (pending) {
+                return !pending.scheduled && now - pending.lastSentNanos > TimeUnit.MINUTES.toNanos(1);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static final class PendingAcks {
+        private final List<Long> clientMsgIds = new ArrayList<>();
+        private boolean scheduled;
+        private long lastSentNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+    }
+}
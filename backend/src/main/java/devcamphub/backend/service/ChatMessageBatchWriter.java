@@ -0,0 +1,233 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.ChannelChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.repository.ChannelChatMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채널 채팅 메시지를 write-behind 방식으로 저장합니다.
+ * 메시지는 먼저 브로드캐스트된 뒤 제한된 크기의 큐에 쌓이고,
+ * 전용 스레드가 배치 크기 또는 시간 임계값에 도달할 때마다 하나의 트랜잭션(JDBC 배치 INSERT)으로 저장합니다.
+ *
+ * 이미 전송(ACK)된 메시지이므로 저장 실패로 버리지 않습니다. 실패한 메시지는 PersistRetryQueue가 간격을 늘려 가며
+ * max-attempts번까지 다시 저장하고, 그래도 실패하면 Redis 목록(chat:write-behind:dead-letter)에 JSON으로 남깁니다.
+ * 이미 저장된 메시지(같은 ID 또는 clientMsgId)의 중복 INSERT 실패만 버립니다.
+ */
+@Slf4j
+@Component
+public class ChatMessageBatchWriter {
+
+    static final String DEAD_LETTER_KEY = "chat:write-behind:dead-letter";
+
+    private final ChannelChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ChannelChatMessage> queue;
+    // 저장에 실패해 다시 시도할 메시지 (flusher 스레드와 caller-runs 스레드가 함께 씀)
+    private final PersistRetryQueue<ChannelChatMessage> retries;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final Timer flushTimer;
+    private final Counter callerRunsCounter;
+    private final Counter duplicateCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ChatMessageBatchWriter(ChannelChatMessageRepository chatMessageRepository,
+            PlatformTransactionManager transactionManager,
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.write-behind.capacity:10000}") int capacity,
+            @Value("${chat.write-behind.batch-size:100}") int batchSize,
+            @Value("${chat.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${chat.write-behind.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${chat.write-behind.max-attempts:5}") int maxAttempts,
+            @Value("${chat.write-behind.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.retries = new PersistRetryQueue<>("chat.write_behind", DEAD_LETTER_KEY,
+                this::saveOne, ChannelChatMessage::getId, ChatMessageBatchWriter::deadLetterRecord,
+                redisTemplate, objectMapper, meterRegistry, maxAttempts, retryBackoffMs);
+
+        Gauge.builder("chat.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 채널 채팅 메시지 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.write_behind.flush.latency")
+                .description("배치 저장 1회에 걸린 시간")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("chat.write_behind.caller_runs")
+                .description("큐가 가득 차 요청 스레드에서 직접 저장한 메시지 수")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("chat.write_behind.duplicate")
+                .description("이미 저장되어 있어 건너뛴 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = new Thread(this::runLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣습니다.
+     * 큐가 가득 차 offerTimeoutMs 안에 자리가 나지 않으면, 요청 스레드에서 직접 저장하여
+     * 발신 속도를 DB 처리 속도에 맞춥니다. (back-pressure, caller-runs)
+     */
+    public void enqueue(ChannelChatMessage message) {
+        try {
+            if (running && queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerRunsCounter.increment();
+        flush(List.of(message));
+    }
+
+    private void runLoop() {
+        List<ChannelChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                retries.retryDue(false);
+                ChannelChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 배치가 가득 차거나 flushIntervalMs가 지날 때까지 모읍니다.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ChannelChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청 → 남은 메시지는 루프 조건에 따라 마저 저장합니다.
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in chat write-behind loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ChannelChatMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> chatMessageRepository.saveAll(batch));
+        } catch (RuntimeException e) {
+            // 배치 중 한 건(예: client_msg_id 중복)이 실패하면 전체가 롤백되므로 한 건씩 다시 저장합니다.
+            log.warn("Batch insert of {} chat messages failed, retrying one by one: {}", batch.size(), e.getMessage());
+            retries.saveEach(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 한 건을 저장하고, 실패했으면 그 예외를 반환합니다. 이미 저장된 메시지의 중복 실패는 성공으로 봅니다.
+     */
+    private RuntimeException saveOne(ChannelChatMessage message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> chatMessageRepository.save(message));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            if (alreadyStored(message)) {
+                duplicateCounter.increment();
+                log.debug("Skipping already stored chat message id={} clientMsgId={}",
+                        message.getId(), message.getClientMsgId());
+                return null;
+            }
+            return e;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private boolean alreadyStored(ChannelChatMessage message) {
+        try {
+            return chatMessageRepository.existsById(message.getId())
+                    || (message.getClientMsgId() != null
+                            && chatMessageRepository.existsByClientMsgId(message.getClientMsgId()));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * dead-letter 목록에 남길 메시지 내용
+     */
+    private static Map<String, Object> deadLetterRecord(ChannelChatMessage message) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("messageId", message.getId());
+        record.put("clientMsgId", message.getClientMsgId());
+        record.put("campId", message.getCamp().getId());
+        record.put("authorId", message.getAuthor().getId());
+        record.put("channel", message.getChannel());
+        record.put("content", message.getContent());
+        record.put("createdAt", message.getCreatedAt().toString());
+        return record;
+    }
+
+    /**
+     * 종료 시 큐에 남은 메시지를 모두 저장한 뒤 스레드를 정리합니다.
+     * 재시도를 기다리던 메시지는 마지막으로 한 번 더 시도하고, 실패하면 dead-letter 목록에 남깁니다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+            if (flusher.isAlive()) {
+                log.error("Chat write-behind did not finish in time. {} messages were not persisted.", queue.size());
+                return;
+            }
+        }
+        retries.retryDue(true);
+    }
+}
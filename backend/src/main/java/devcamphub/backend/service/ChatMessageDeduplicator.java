@@ -0,0 +1,20 @@
+package devcamphub.backend.service;
+
+/**
+ * 재전송된 STOMP 채팅 메시지를 clientMsgId로 걸러냅니다.
+ * 매 메시지마다 DB를 조회하지 않도록 일정 시간(window) 동안만 기억하며,
+ * client_msg_id 유니크 제약 조건은 최종 방어선으로 그대로 유지됩니다.
+ */
+public interface ChatMessageDeduplicator {
+
+    /**
+     * @return 처음 보는 clientMsgId이면 true, window 안에서 이미 처리된 clientMsgId이면 false
+     */
+    boolean markIfFirst(long clientMsgId);
+
+    /**
+     * markIfFirst로 기록한 clientMsgId를 지웁니다.
+     * 메시지를 받아들이지 못했을 때(저장/전송 실패, 슬로우 모드 거절 등) 호출해야 클라이언트의 재전송이 중복으로 버려지지 않습니다.
+     */
+    void unmark(long clientMsgId);
+}
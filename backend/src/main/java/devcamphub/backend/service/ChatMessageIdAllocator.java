@@ -0,0 +1,62 @@
+package devcamphub.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채널 채팅 메시지 ID를 DB 없이 시간 순서대로 발급합니다.
+ * ID 구조: (2025-01-01 이후 경과 ms) << 12 | 노드 번호(7bit) << 5 | 같은 ms 안의 순번(5bit)
+ *
+ * 여러 노드가 동시에 발급해도 ID 순서가 곧 시간 순서이므로, ID 기반 커서 페이지네이션과
+ * 최근 메시지 캐시가 노드 수와 관계없이 같은 순서를 보장합니다.
+ * 값은 약 60년 동안 2^53 미만이라 브라우저(JavaScript number)에서도 손실 없이 다룰 수 있습니다.
+ * 노드 번호는 NodeIdentity가 Redis에서 임대한 번호라 살아 있는 노드끼리 겹치지 않습니다. (최대 128대)
+ * 임대를 잃으면 겹친 번호로 ID를 만들지 않도록 발급에 실패(IllegalStateException)합니다.
+ */
+@Slf4j
+@Component
+public class ChatMessageIdAllocator {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 7;
+    private static final int SEQUENCE_BITS = 5;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final NodeIdentity nodeIdentity;
+    private final AtomicLong last = new AtomicLong();
+
+    public ChatMessageIdAllocator(NodeIdentity nodeIdentity) {
+        this.nodeIdentity = nodeIdentity;
+        log.info("Chat message id allocator started with node number {}", nodeIdentity.number());
+    }
+
+    /**
+     * lock-free로 다음 ID를 발급합니다. 시계가 뒤로 가도 이전 ID보다 작은 값은 나오지 않습니다.
+     */
+    public long nextId() {
+        long nodeBits = (long) nodeIdentity.number() << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            long previousMillis = previous >>> (NODE_BITS + SEQUENCE_BITS);
+            long previousSequence = previous & MAX_SEQUENCE;
+
+            long millis = Math.max(System.currentTimeMillis() - EPOCH_MILLIS, previousMillis);
+            long sequence = 0;
+            if (millis == previousMillis) {
+                sequence = previousSequence + 1;
+                if (sequence > MAX_SEQUENCE) {
+                    // 같은 ms에 32개를 넘으면 다음 ms 값을 미리 사용합니다.
+                    millis++;
+                    sequence = 0;
+                }
+            }
+            long next = (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+}
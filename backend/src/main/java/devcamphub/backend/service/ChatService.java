@@ -3,83 +3,171 @@ package devcamphub.backend.service;
 import devcamphub.backend.domain.Camp;
 import devcamphub.backend.domain.ChannelChatMessage;
 import devcamphub.backend.domain.User;
+import devcamphub.backend.dto.ChatHistoryResponse;
 import devcamphub.backend.dto.ChatMessageDto;
-import devcamphub.backend.repository.CampRepository;
+import devcamphub.backend.dto.UserSnapshot;
 import devcamphub.backend.repository.ChannelChatMessageRepository;
-import devcamphub.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final MessageBroadcaster broadcaster;
     private final ChannelChatMessageRepository chatMessageRepository;
-    private final UserRepository userRepository;
-    private final CampRepository campRepository;
+    private final EntityManager entityManager;
+    private final UserSnapshotCache userSnapshotCache;
+    private final CampReferenceCache campReferenceCache;
+    private final ChatMessageIdAllocator idAllocator;
+    private final ChatMessageBatchWriter batchWriter;
+    private final RecentChatMessageCache recentMessageCache;
+    private final ChatMessageDeduplicator deduplicator;
 
-    @Transactional
+    @Value("${chat.history.max-page-size:100}")
+    private int maxHistoryPageSize;
+
+    @Value("${chat.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
+
+    /**
+     * 채팅 메시지를 저장하고 브로드캐스트합니다.
+     * 사용자와 캠프는 캐시된 스냅샷/참조를 사용하므로, INSERT 전에 SELECT가 발생하지 않습니다.
+     * (트랜잭션은 저장소 호출 단위로만 사용하여 전송 경로에서 커넥션을 잡지 않습니다.)
+     */
     public void saveAndBroadcastMessage(ChatMessageDto messageDto, Long campId, String userEmail) {
-        // 중복 메시지 체크 (Idempotent)
+        // 중복 메시지 체크 (Idempotent) - 먼저 DB 조회 없이 중복 검사 창으로 확인
         if (messageDto.getClientMsgId() != null &&
-                chatMessageRepository.existsByClientMsgId(messageDto.getClientMsgId())) {
+                !deduplicator.markIfFirst(messageDto.getClientMsgId())) {
             // 이미 처리된 메시지 → 조용히 무시
             return;
         }
+        if (alreadyStored(messageDto.getClientMsgId())) {
+            // 중복 검사 창을 벗어난 재전송 → 다시 브로드캐스트하지 않고 무시
+            return;
+        }
+        try {
+            persistAndBroadcast(messageDto, campId, userEmail);
+        } catch (RuntimeException e) {
+            // 받아들이지 못한 메시지이므로 클라이언트의 재전송을 다시 받을 수 있게 합니다.
+            if (messageDto.getClientMsgId() != null) {
+                deduplicator.unmark(messageDto.getClientMsgId());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * write-behind 모드에서는 브로드캐스트한 뒤에야 저장되므로, 중복 검사 창을 벗어난(만료되었거나 창이 포화된) 재전송은
+     * 배치 저장 시점에야 걸러지고 그 사이 이미 전송·캐시되어 버립니다. 이를 막기 위해 브로드캐스트 전에 저장소를 확인합니다.
+     * (동기 저장 모드에서는 saveAndFlush의 유니크 제약 조건이 브로드캐스트 전에 막아 줍니다.)
+     * 확인에 실패하면 전송을 막지 않고 배치 저장 시점의 중복 검사에 맡깁니다.
+     */
+    private boolean alreadyStored(Long clientMsgId) {
+        if (!writeBehindEnabled || clientMsgId == null) {
+            return false;
+        }
+        try {
+            return chatMessageRepository.existsByClientMsgId(clientMsgId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to check stored chat message clientMsgId={}: {}", clientMsgId, e.getMessage());
+            return false;
+        }
+    }
 
-        // 1. 메시지를 보낸 사용자(User)와 메시지가 속한 캠프(Camp)를 DB에서 조회합니다.
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail));
-        Camp camp = campRepository.findById(campId)
-                .orElseThrow(() -> new IllegalArgumentException("캠프를 찾을 수 없습니다: " + campId));
+    private void persistAndBroadcast(ChatMessageDto messageDto, Long campId, String userEmail) {
+        // 1. CONNECT 시 캐시된 사용자 스냅샷과 캠프 참조(프록시)를 가져옵니다.
+        UserSnapshot user = userSnapshotCache.getOrLoad(userEmail);
+        Camp camp = campReferenceCache.getReference(campId);
 
-        // 2. DTO를 영속성을 위한 엔티티 객체로 변환합니다.
+        // 2. DTO를 영속성을 위한 엔티티 객체로 변환합니다. (ID는 시간 순서 ID로 미리 발급)
         ChannelChatMessage chatMessage = ChannelChatMessage.builder()
+                .id(idAllocator.nextId())
                 .camp(camp)
-                .author(user)
+                .author(entityManager.getReference(User.class, user.id())) // 외래 키만 필요하므로 프록시 사용
                 .channel(messageDto.getChannel())
                 .content(messageDto.getContent())
                 .clientMsgId(messageDto.getClientMsgId()) // clientMsgId 저장
                 .build();
 
-        // 3. 메시지를 데이터베이스에 저장합니다.
-        ChannelChatMessage savedMessage = chatMessageRepository.save(chatMessage);
+        // 3. write-behind 모드가 아니면 브로드캐스트 전에 메시지를 데이터베이스에 저장합니다.
+        if (!writeBehindEnabled) {
+            chatMessageRepository.saveAndFlush(chatMessage);
+        }
 
         // 4. 클라이언트에게 전달할 DTO에 서버 시간 등 최종 정보를 담습니다.
-        messageDto.setSender(user.getNickname()); // 발신자 닉네임 설정
-        messageDto.setTimestamp(formatTimestamp(savedMessage.getCreatedAt())); // DB에 저장된 시간으로 설정
+        messageDto.setMessageId(chatMessage.getId()); // 채팅 내역 커서와 맞추기 위한 메시지 ID
+        messageDto.setSender(user.nickname()); // 발신자 닉네임 설정
+        messageDto.setTimestamp(ChatMessageDto.formatTimestamp(chatMessage.getCreatedAt())); // 저장될 시간으로 설정
 
         // 5. 해당 채널을 구독하고 있는 클라이언트들에게 메시지를 전송(broadcast)합니다.
         String destination = "/topic/chat/" + campId + "/" + messageDto.getChannel();
-        messagingTemplate.convertAndSend(destination, messageDto);
+        broadcaster.broadcast(destination, messageDto);
+
+        // 여기부터는 이미 전송된 메시지이므로 실패해도 재전송을 다시 받지 않습니다. (저장은 batchWriter가 재시도)
+        try {
+            recentMessageCache.append(campId, messageDto);
+        } catch (RuntimeException e) {
+            log.warn("Failed to append chat message {} to recent cache: {}", messageDto.getMessageId(), e.getMessage());
+        }
+
+        // 6. write-behind 모드에서는 브로드캐스트 후 저장 큐에 넣어 배치로 저장합니다.
+        if (writeBehindEnabled) {
+            batchWriter.enqueue(chatMessage);
+        }
     }
 
-    public List<ChatMessageDto> getChatHistory(Long campId, String channel) {
-        // 캠프와 채널에 해당하는 메시지를 조회합니다.
-        List<ChannelChatMessage> messages = chatMessageRepository.findByCampIdAndChannelOrderByCreatedAtAsc(campId,
-                channel);
-
-        // 조회된 메시지를 ChatMessageDto 리스트로 변환합니다.
-        return messages.stream().map(message -> {
-            ChatMessageDto dto = new ChatMessageDto();
-            dto.setChannel(message.getChannel());
-            dto.setSender(message.getAuthor().getNickname()); // User 엔티티에서 닉네임 가져오기
-            dto.setContent(message.getContent());
-            dto.setTimestamp(formatTimestamp(message.getCreatedAt()));
-            return dto;
-        }).collect(Collectors.toList());
+    /**
+     * 채팅 내역을 커서 기반(keyset)으로 페이지 조회합니다.
+     * before와 after가 모두 없으면 가장 최신 페이지를, before가 있으면 그 이전 페이지를,
+     * after가 있으면 그 이후 페이지를 반환합니다. 결과는 항상 최신순으로 정렬됩니다.
+     * 최근 메시지 캐시로 응답할 수 있으면 DB를 조회하지 않습니다.
+     * (캐시 적중 시 커넥션을 잡지 않도록 트랜잭션은 저장소 호출 단위로만 사용합니다.)
+     */
+    public ChatHistoryResponse getChatHistory(Long campId, String channel, Long before, Long after, int size) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("before와 after 커서는 동시에 사용할 수 없습니다.");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxHistoryPageSize));
+
+        RecentChatMessageCache.CachedPage cached = recentMessageCache.read(campId, channel, before, after, pageSize);
+        if (cached != null) {
+            return toHistoryResponse(cached.messages(), before, after, cached.hasMore());
+        }
+
+        Pageable pageable = PageRequest.of(0, pageSize);
+        Slice<ChannelChatMessage> slice;
+        List<ChatMessageDto> messages;
+        if (after != null) {
+            slice = chatMessageRepository.findByCampIdAndChannelAndIdGreaterThanOrderByIdAsc(campId, channel, after,
+                    pageable);
+            messages = new ArrayList<>(slice.map(ChatMessageDto::from).getContent());
+            Collections.reverse(messages); // 오래된 순 → 최신순
+        } else {
+            slice = before != null
+                    ? chatMessageRepository.findByCampIdAndChannelAndIdLessThanOrderByIdDesc(campId, channel, before,
+                            pageable)
+                    : chatMessageRepository.findByCampIdAndChannelOrderByIdDesc(campId, channel, pageable);
+            messages = slice.map(ChatMessageDto::from).getContent();
+        }
+        return toHistoryResponse(messages, before, after, slice.hasNext());
     }
 
-    private String formatTimestamp(LocalDateTime localDateTime) {
-        // 필요에 따라 시간 포맷을 변경할 수 있습니다.
-        return localDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    private ChatHistoryResponse toHistoryResponse(List<ChatMessageDto> messages, Long before, Long after,
+            boolean hasMore) {
+        Long oldestId = messages.isEmpty() ? before : messages.get(messages.size() - 1).getMessageId();
+        Long newestId = messages.isEmpty() ? after : messages.get(0).getMessageId();
+        return new ChatHistoryResponse(messages, oldestId, newestId, hasMore);
     }
 }
@@ -0,0 +1,262 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.StreamStatus;
+import devcamphub.backend.dto.SignalMessage;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 연결 끊김을 비동기로 모아서 처리합니다.
+ * SessionDisconnectEvent 스레드는 제한된 크기의 큐에 넣기만 하고, 전용 스레드가 배치 크기 또는 시간 임계값마다
+ * 1. Redis 정리(방 퇴장 + 세션 해제)를 한 번의 파이프라인으로,
+ * 2. 퇴장한 방마다 user-left를 브로드캐스트하고,
+ * 3. 연결이 끊긴 사용자들의 활성 스트림을 하나의 UPDATE 문으로 종료합니다.
+ *    사용자는 여러 연결(방송, 목록 구독 등)을 가질 수 있으므로, HEARTBEAT 세션이 있는 스트림은 연결 하나가 끊겼다고
+ *    종료하지 않고 StreamSessionReaper가 HEARTBEAT 만료로 종료하게 둡니다. (세션 없이 시작된 스트림만 여기서 종료)
+ * 노드 재시작처럼 연결 끊김이 한꺼번에 몰려도 이벤트 스레드가 Redis/DB 왕복에 묶이지 않습니다.
+ */
+@Slf4j
+@Component
+public class DisconnectProcessor {
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final StreamRepository streamRepository;
+    private final ActiveStreamDirectory activeStreamDirectory;
+    private final MessageBroadcaster broadcaster;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Disconnect> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+    private final Counter callerRunsCounter;
+    private final Counter streamsEndedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public DisconnectProcessor(WebSocketSessionRegistry sessionRegistry,
+            RedisTemplate<String, String> redisTemplate,
+            StreamRepository streamRepository,
+            ActiveStreamDirectory activeStreamDirectory,
+            MessageBroadcaster broadcaster,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${ws.disconnect.capacity:20000}") int capacity,
+            @Value("${ws.disconnect.batch-size:500}") int batchSize,
+            @Value("${ws.disconnect.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${ws.disconnect.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.sessionRegistry = sessionRegistry;
+        this.redisTemplate = redisTemplate;
+        this.streamRepository = streamRepository;
+        this.activeStreamDirectory = activeStreamDirectory;
+        this.broadcaster = broadcaster;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        Gauge.builder("ws.disconnect.queue.depth", queue, BlockingQueue::size)
+                .description("처리 대기 중인 연결 끊김 수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("ws.disconnect.lag")
+                .description("연결 끊김 이벤트부터 정리 완료까지 걸린 시간")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ws.disconnect.batch.latency")
+                .description("연결 끊김 배치 처리 1회에 걸린 시간")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("ws.disconnect.caller_runs")
+                .description("큐가 가득 차 이벤트 스레드에서 직접 처리한 연결 끊김 수")
+                .register(meterRegistry);
+        this.streamsEndedCounter = Counter.builder("ws.disconnect.streams_ended")
+                .description("연결 끊김으로 자동 종료된 스트림 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "ws-disconnect");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 연결 끊김을 처리 큐에 넣습니다.
+     * 큐가 가득 차 offerTimeoutMs 안에 자리가 나지 않으면 호출 스레드에서 직접 처리합니다. (back-pressure, caller-runs)
+     *
+     * @param userEmail 인증된 사용자 이메일 (없으면 null)
+     */
+    public void submit(String sessionId, String userEmail) {
+        Disconnect disconnect = new Disconnect(sessionId, userEmail, System.nanoTime());
+        try {
+            if (running && queue.offer(disconnect, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerRunsCounter.increment();
+        process(List.of(disconnect));
+    }
+
+    private void runLoop() {
+        List<Disconnect> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Disconnect first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 배치가 가득 차거나 flushIntervalMs가 지날 때까지 모읍니다.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Disconnect next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청 → 남은 연결 끊김은 루프 조건에 따라 마저 처리합니다.
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in WebSocket disconnect loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Disconnect> batch) {
+        long start = System.nanoTime();
+        try {
+            cleanUpSessions(batch);
+            endStreams(batch);
+        } finally {
+            long now = System.nanoTime();
+            batchTimer.record(now - start, TimeUnit.NANOSECONDS);
+            for (Disconnect disconnect : batch) {
+                lagTimer.record(now - disconnect.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void cleanUpSessions(List<Disconnect> batch) {
+        List<String> sessionIds = batch.stream().map(Disconnect::sessionId).toList();
+        List<WebSocketSessionRegistry.Departure> departures;
+        try {
+            departures = sessionRegistry.disconnectSessions(sessionIds);
+        } catch (RuntimeException e) {
+            // 남은 방 참여자는 세션 TTL 만료 후 PresenceReaper 또는 다음 참여 시 정리됩니다.
+            log.error("Failed to clean up {} disconnected sessions in Redis: {}", sessionIds.size(), e.getMessage());
+            return;
+        }
+        for (WebSocketSessionRegistry.Departure departure : departures) {
+            if (departure.roomId() == null) {
+                continue;
+            }
+            // 다른 사용자들에게 user-left 메시지 전송
+            SignalMessage leftMessage = new SignalMessage();
+            leftMessage.setType("user-left");
+            leftMessage.setSender(departure.nickname());
+            broadcaster.broadcast("/topic/signal/" + departure.roomId(), leftMessage);
+        }
+        log.debug("Cleaned up {} disconnected sessions ({} with nickname)", sessionIds.size(), departures.size());
+    }
+
+    private void endStreams(List<Disconnect> batch) {
+        Set<String> emails = new LinkedHashSet<>();
+        for (Disconnect disconnect : batch) {
+            if (disconnect.userEmail() != null) {
+                emails.add(disconnect.userEmail());
+            }
+        }
+        if (emails.isEmpty()) {
+            return;
+        }
+        try {
+            Set<Long> heartbeatStreams = heartbeatStreams();
+            // 체크아웃 없이 연결이 끊긴 사용자들의 활성 스트림 중 HEARTBEAT 세션이 없는 것을 한 번에 종료합니다.
+            List<Long> streamIds = transactionTemplate.execute(status -> {
+                List<Long> ids = new ArrayList<>(
+                        streamRepository.findIdsByOwnerEmailInAndStatus(emails, StreamStatus.ACTIVE));
+                ids.removeIf(heartbeatStreams::contains);
+                if (!ids.isEmpty()) {
+                    streamRepository.endActiveStreams(ids, LocalDateTime.now(), StreamStatus.ACTIVE, StreamStatus.ENDED);
+                }
+                return ids;
+            });
+            int ended = streamIds != null ? streamIds.size() : 0;
+            if (ended > 0) {
+                activeStreamDirectory.streamsEnded(streamIds);
+                streamsEndedCounter.increment(ended);
+                log.warn("Automatically ended {} streams of {} disconnected users", ended, emails.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to end streams of {} disconnected users: {}", emails.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * HEARTBEAT 세션이 연결된 스트림 ID (세션 → 스트림 ID Hash 1회 조회)
+     */
+    private Set<Long> heartbeatStreams() {
+        Set<Long> streamIds = new HashSet<>();
+        for (Object streamId : redisTemplate.opsForHash().values(StreamSessionService.STREAM_IDS_KEY)) {
+            streamIds.add(Long.valueOf((String) streamId));
+        }
+        return streamIds;
+    }
+
+    /**
+     * 종료 시 큐에 남은 연결 끊김을 모두 처리한 뒤 스레드를 정리합니다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+            if (worker.isAlive()) {
+                log.error("WebSocket disconnect processing did not finish in time. {} disconnects were dropped.",
+                        queue.size());
+            }
+        }
+    }
+
+    private record Disconnect(String sessionId, String userEmail, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,158 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.dto.RawJson;
+import devcamphub.backend.dto.SignalMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ICE 후보 시그널을 (streamId, sender, receiver) 쌍별로 짧은 시간(window) 동안 모아 한 메시지로 전달합니다.
+ * ChatAckCoalescer와 같은 방식으로, 직전 window 안에 보낸 것이 없는 쌍의 첫 후보는 바로 보내고
+ * 이어서 들어오는 후보만 window 끝에 data 배열로 묶어 보냅니다.
+ * 같은 쌍의 offer/answer가 오면 모아 둔 후보를 먼저 보낸 뒤 offer/answer를 전달하여 순서를 지킵니다.
+ * 클라이언트가 후보를 배열로 묶어 보낸 경우에도 같은 버퍼에 합칩니다.
+ * 후보(RawJson)는 해석하지 않고 바이트 그대로 하나의 JSON 배열로 이어 붙입니다.
+ * 후보가 없는 ICE 시그널(data 없음)은 묶지 않고, 모아 둔 후보를 먼저 보낸 뒤 그대로 전달합니다.
+ */
+@Component
+public class IceCandidateCoalescer {
+
+    private static final String ICE = "ice";
+
+    private final long windowNanos;
+    private final Map<PairKey, PendingCandidates> pairs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public IceCandidateCoalescer(@Value("${signal.ice.coalesce-window-ms:10}") long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ice-coalesce-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 시그널을 전달합니다. ICE 후보는 모아서, offer/answer는 모아 둔 후보를 먼저 보낸 뒤, 나머지는 바로 sink로 보냅니다.
+     */
+    public void submit(String streamId, SignalMessage message, Consumer<SignalMessage> sink) {
+        if (windowNanos <= 0 || message.getReceiver() == null || message.getSender() == null) {
+            sink.accept(message);
+            return;
+        }
+        String type = message.getType();
+        if (ICE.equals(type)) {
+            coalesce(streamId, message, sink);
+        } else if ("offer".equals(type) || "answer".equals(type)) {
+            PendingCandidates pending = pairs.get(new PairKey(streamId, message.getSender(), message.getReceiver()));
+            if (pending == null) {
+                sink.accept(message);
+                return;
+            }
+            synchronized (pending) {
+                flushLocked(pending);
+                sink.accept(message);
+            }
+        } else {
+            sink.accept(message);
+        }
+    }
+
+    private void coalesce(String streamId, SignalMessage message, Consumer<SignalMessage> sink) {
+        PairKey key = new PairKey(streamId, message.getSender(), message.getReceiver());
+        PendingCandidates pending = pairs.computeIfAbsent(key, PendingCandidates::new);
+        synchronized (pending) {
+            pending.sink = sink;
+            long now = System.nanoTime();
+            long sinceLastSent = now - pending.lastSentNanos;
+            if (!pending.scheduled && pending.candidates.isEmpty() && sinceLastSent >= windowNanos) {
+                // 한가한 쌍: 기다리지 않고 바로 보냅니다.
+                pending.lastSentNanos = now;
+                sink.accept(message);
+                return;
+            }
+            if (!(message.getData() instanceof RawJson candidate)) {
+                flushLocked(pending);
+                sink.accept(message);
+                return;
+            }
+            pending.candidates.add(candidate);
+            if (!pending.scheduled) {
+                pending.scheduled = true;
+                scheduler.schedule(() -> flush(pending), Math.max(0, windowNanos - sinceLastSent),
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flush(PendingCandidates pending) {
+        synchronized (pending) {
+            pending.scheduled = false;
+            flushLocked(pending);
+        }
+    }
+
+    private void flushLocked(PendingCandidates pending) {
+        if (pending.candidates.isEmpty()) {
+            return;
+        }
+        SignalMessage batch = new SignalMessage();
+        batch.setType(ICE);
+        batch.setSender(pending.key.sender());
+        batch.setReceiver(pending.key.receiver());
+        batch.setStreamId(pending.key.streamId());
+        batch.setData(merge(pending.candidates));
+        pending.candidates.clear();
+        pending.lastSentNanos = System.nanoTime();
+        pending.sink.accept(batch);
+    }
+
+    private static RawJson merge(List<RawJson> candidates) {
+        return candidates.size() == 1 ? candidates.get(0) : RawJson.joinArray(candidates);
+    }
+
+    /**
+     * 한동안 후보가 없던 쌍의 상태를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${signal.ice.sweep-interval-ms:60000}")
+    public void evictIdlePairs() {
+        long now = System.nanoTime();
+        pairs.values().removeIf(pending -> {
+            synchronized (pending) {
+                return !pending.scheduled && pending.candidates.isEmpty()
+                        && now - pending.lastSentNanos > TimeUnit.MINUTES.toNanos(1);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private record PairKey(String streamId, String sender, String receiver) {
+    }
+
+    private static final class PendingCandidates {
+        private final PairKey key;
+        private final List<RawJson> candidates = new ArrayList<>();
+        private Consumer<SignalMessage> sink;
+        private boolean scheduled;
+        private long lastSentNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+        private PendingCandidates(PairKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.util.DedupWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 메모리의 lock-free 중복 검사 창(DedupWindow)을 사용하는 기본 구현입니다.
+ * 재전송은 보통 같은 연결(같은 노드)로 들어오므로 단일 노드 배포에서는 이것으로 충분합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.dedup.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryChatMessageDeduplicator implements ChatMessageDeduplicator {
+
+    private final DedupWindow window;
+
+    public InMemoryChatMessageDeduplicator(
+            @Value("${chat.dedup.capacity:65536}") int capacity,
+            @Value("${chat.dedup.window-seconds:120}") long windowSeconds) {
+        this.window = new DedupWindow(capacity, TimeUnit.SECONDS.toNanos(windowSeconds));
+    }
+
+    @Override
+    public boolean markIfFirst(long clientMsgId) {
+        return window.add(clientMsgId);
+    }
+
+    @Override
+    public void unmark(long clientMsgId) {
+        window.remove(clientMsgId);
+    }
+}
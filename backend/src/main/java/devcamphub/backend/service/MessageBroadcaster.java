@@ -0,0 +1,133 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 브로드캐스트 메시지(ChatMessageDto, SignalMessage 등)를 한 번만 JSON 바이트로 직렬화해 브로커로 보냅니다.
+ * 메시지 컨버터를 거치지 않고 완성된 불변 byte[] 페이로드를 넘기므로,
+ * 브로커가 구독자마다 만드는 메시지는 모두 같은 페이로드 배열을 공유합니다.
+ * 브로드캐스트 1회당 호출 스레드에서 할당된 바이트 수를 ws.broadcast.allocated.bytes로 기록합니다.
+ * 노드 간 중계(BroadcastRelay)가 등록되어 있으면 중계 대상 destination은 중계를 거쳐 전달됩니다.
+ * broadcastLossy로 보낸 메시지에는 LOSSY_HEADER가 붙어, 송신이 밀린 세션에서는 버려질 수 있습니다. (OutboundBudgetManager)
+ */
+@Slf4j
+@Component
+public class MessageBroadcaster {
+
+    /**
+     * 유실되어도 괜찮은 메시지(ICE 후보 등)에 붙는 브로커 내부 헤더입니다. STOMP 프레임으로는 전송되지 않습니다.
+     */
+    public static final String LOSSY_HEADER = "devcamphub.lossy";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final BroadcastRelay relay;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final DistributionSummary allocatedBytes;
+
+    public MessageBroadcaster(SimpMessageSendingOperations messagingTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            ObjectProvider<BroadcastRelay> relay,
+            @Value("${ws.broadcast.track-allocation:true}") boolean trackAllocation) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.relay = relay.getIfAvailable();
+        this.threadMXBean = trackAllocation ? allocationMXBean() : null;
+        this.allocatedBytes = DistributionSummary.builder("ws.broadcast.allocated.bytes")
+                .description("브로드캐스트 1회(직렬화 + 브로커 팬아웃)에 할당된 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * payload를 한 번 직렬화해 destination의 모든 구독자에게 보냅니다.
+     */
+    public void broadcast(String destination, Object payload) {
+        broadcast(destination, payload, false);
+    }
+
+    /**
+     * broadcast와 같지만, 송신이 밀린 구독자에게는 보내지 않고 버려도 되는 메시지로 표시합니다.
+     */
+    public void broadcastLossy(String destination, Object payload) {
+        broadcast(destination, payload, true);
+    }
+
+    private void broadcast(String destination, Object payload, boolean lossy) {
+        long before = threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : 0L;
+
+        if (relay != null && relay.supports(destination)) {
+            relay.publish(destination, serialize(payload), lossy);
+        } else {
+            messagingTemplate.send(destination, toMessage(destination, serialize(payload), lossy));
+        }
+
+        if (threadMXBean != null) {
+            allocatedBytes.record(threadMXBean.getCurrentThreadAllocatedBytes() - before);
+        }
+    }
+
+    /**
+     * 직렬화된 페이로드로 브로커에 보낼 메시지를 만듭니다. 페이로드 배열은 모든 구독자 메시지가 공유합니다.
+     */
+    public Message<byte[]> encode(String destination, Object payload) {
+        return toMessage(destination, serialize(payload));
+    }
+
+    private byte[] serialize(Object payload) {
+        try {
+            return writers.computeIfAbsent(payload.getClass(), objectMapper::writerFor).writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("브로드캐스트 메시지를 직렬화할 수 없습니다: " + payload.getClass(), e);
+        }
+    }
+
+    /**
+     * 이미 직렬화된 JSON 페이로드로 브로커 메시지를 만듭니다. (노드 간 중계로 받은 메시지 전달에도 사용)
+     */
+    public static Message<byte[]> toMessage(String destination, byte[] body) {
+        return toMessage(destination, body, false);
+    }
+
+    public static Message<byte[]> toMessage(String destination, byte[] body, boolean lossy) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (lossy) {
+            // 브로커가 구독자별 메시지를 만들 때 헤더를 복사하므로 세션으로 가는 메시지에도 남습니다.
+            accessor.setHeader(LOSSY_HEADER, Boolean.TRUE);
+        }
+        accessor.setLeaveMutable(true); // SimpMessagingTemplate이 헤더를 복사하지 않고 그대로 사용하도록
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        log.warn("Thread allocation measurement is not supported on this JVM. Broadcast allocation is not reported.");
+        return null;
+    }
+}
@@ -23,6 +23,7 @@ public class MyPageService {
     private final UserRepository userRepository;
     private final CampMemberRepository campMemberRepository;
     private final AttendanceRepository attendanceRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
     public MyProfileResponse getMyProfile(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
@@ -42,7 +43,12 @@ public class MyPageService {
             }
         }
 
+        boolean nicknameChanged = request.nickname() != null && !request.nickname().equals(user.getNickname());
         user.updateProfile(request);
+        if (nicknameChanged) {
+            // WebSocket 경로에 캐시된 닉네임 무효화 (커밋 이후)
+            userSnapshotCache.evictAfterCommit(userEmail);
+        }
         return MyProfileResponse.from(userRepository.save(user));
     }
 
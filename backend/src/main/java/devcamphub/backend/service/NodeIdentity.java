@@ -0,0 +1,161 @@
+package devcamphub.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이 프로세스(노드)의 식별자를 관리합니다. 노드 ID가 필요한 곳은 모두 이 빈을 주입받아 같은 값을 씁니다.
+ *
+ * - id(): 기동할 때마다 새로 만드는 문자열 ID. 세션 레지스트리, 브로드캐스트 릴레이, 캐시 무효화 메시지의 발신 노드 구분에 씁니다.
+ * - number(): 0 ~ 127 범위의 노드 번호(ChatMessageIdAllocator.NODE_BITS). 메시지 ID 발급(ChatMessageIdAllocator)처럼 짧은 번호가 필요한 곳에 씁니다.
+ *
+ * 노드 번호는 Redis의 node:{번호} 키를 SET NX로 선점한 임대(lease)이며, lease-seconds 동안 유효하고
+ * renew-interval-ms마다 연장합니다. 살아 있는 노드끼리는 번호가 겹치지 않고, 죽은 노드의 번호는 임대가 끝나면 재사용됩니다.
+ * 빈 번호가 없으면 기동에 실패합니다.
+ */
+@Slf4j
+@Component
+public class NodeIdentity {
+
+    static final String LEASE_PREFIX = "node:";
+
+    /**
+     * 임대를 가진 노드만 만료 시간을 연장합니다. 다른 노드가 가져갔으면 0을 반환합니다.
+     * KEYS[1]=임대 키, ARGV[1]=이 노드 ID, ARGV[2]=임대 시간(ms)
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 임대를 가진 노드만 키를 지웁니다.
+     * KEYS[1]=임대 키, ARGV[1]=이 노드 ID
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String id = UUID.randomUUID().toString().substring(0, 8);
+    private final int slots;
+    private final Duration leaseTime;
+    private volatile int number;
+    // 임대가 확실히 유효한 마지막 시각(System.nanoTime 기준). 요청을 보내기 전 시각에서 계산하므로 실제 만료보다 빠릅니다.
+    private volatile long leasedUntilNanos;
+
+    public NodeIdentity(RedisTemplate<String, String> redisTemplate,
+            @Value("${chat.persistence.node-id:-1}") int configuredNumber,
+            @Value("${node.lease-seconds:30}") long leaseSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.slots = 1 << ChatMessageIdAllocator.NODE_BITS;
+        this.leaseTime = Duration.ofSeconds(leaseSeconds);
+        if (configuredNumber >= slots) {
+            throw new IllegalArgumentException("노드 번호는 0 이상 " + (slots - 1) + " 이하여야 합니다: " + configuredNumber);
+        }
+        if (configuredNumber >= 0 ? !tryLease(configuredNumber) : !leaseAny()) {
+            throw new IllegalStateException(configuredNumber >= 0
+                    ? "노드 번호 " + configuredNumber + "을(를) 다른 노드가 사용 중입니다."
+                    : "사용할 수 있는 노드 번호가 없습니다. (최대 " + slots + "대)");
+        }
+        log.info("Node {} leased node number {}", id, number);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * 임대 중인 노드 번호를 반환합니다. 임대가 끝났거나(연장 실패) 다른 노드에 넘어갔으면
+     * 번호가 겹칠 수 있으므로 예외를 던집니다.
+     */
+    public int number() {
+        if (!leased()) {
+            throw new IllegalStateException("노드 번호 임대가 만료되었습니다.");
+        }
+        return number;
+    }
+
+    private boolean leased() {
+        return leasedUntilNanos - System.nanoTime() > 0;
+    }
+
+    private String leaseKey(int slot) {
+        return LEASE_PREFIX + slot;
+    }
+
+    private boolean tryLease(int slot) {
+        long requestedAt = System.nanoTime();
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(slot), id, leaseTime))) {
+            number = slot;
+            leasedUntilNanos = requestedAt + leaseTime.toNanos();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 임의의 위치부터 빈 번호를 찾아 임대합니다. (여러 노드가 동시에 떠도 같은 번호부터 경쟁하지 않도록)
+     */
+    private boolean leaseAny() {
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (tryLease((start + i) % slots)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 임대를 연장합니다. (Redis 장애나 긴 GC로) 임대가 끝나 다른 노드가 번호를 가져갔으면 빈 번호를 새로 임대하고,
+     * 그것도 없으면 다시 얻을 때까지 number()가 예외를 던지게 해 겹치는 번호로 ID가 발급되지 않게 합니다.
+     */
+    @Scheduled(fixedDelayString = "${node.renew-interval-ms:10000}")
+    public void renew() {
+        try {
+            long requestedAt = System.nanoTime();
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey(number)),
+                    id, String.valueOf(leaseTime.toMillis()));
+            if (renewed != null && renewed == 1) {
+                leasedUntilNanos = requestedAt + leaseTime.toNanos();
+                return;
+            }
+            log.warn("Node {} lost the lease on node number {}", id, number);
+            leasedUntilNanos = requestedAt;
+            if (tryLease(number) || leaseAny()) {
+                log.info("Node {} leased node number {}", id, number);
+            } else {
+                log.error("Node {} could not lease a node number; message ids cannot be issued", id);
+            }
+        } catch (RuntimeException e) {
+            // 연장하지 못해도 임대 시간이 남아 있는 동안은 번호를 계속 씁니다. 다음 주기에 다시 시도합니다.
+            log.warn("Failed to renew the node number lease of node {}", id, e);
+        }
+    }
+
+    @PreDestroy
+    void release() {
+        leasedUntilNanos = System.nanoTime();
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(number)), id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release node number {}", number, e);
+        }
+    }
+}
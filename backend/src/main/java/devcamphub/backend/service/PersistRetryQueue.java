@@ -0,0 +1,159 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * write-behind 저장에 실패한 메시지의 재시도 대기열입니다. (ChatMessageBatchWriter, StreamChatService)
+ *
+ * 이미 전송(ACK)된 메시지이므로 저장 실패로 버리지 않습니다. 실패한 메시지는 간격을 늘려 가며 max-attempts번까지
+ * 다시 저장하고, 그래도 실패하면 Redis 목록(deadLetterKey)에 JSON으로 남겨 나중에 복구할 수 있게 합니다.
+ * 재시도는 저장 스레드가 retryDue를 주기적으로 불러 실행합니다.
+ *
+ * @param <T> 저장할 엔티티
+ */
+@Slf4j
+final class PersistRetryQueue<T> {
+
+    // 재시도 간격의 상한
+    private static final long MAX_RETRY_BACKOFF_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final String deadLetterKey;
+    // 한 건을 저장하고, 실패했으면 그 예외를 반환합니다. (이미 저장된 메시지의 중복 실패는 성공으로 봄)
+    private final Function<T, RuntimeException> saver;
+    private final Function<T, Long> idOf;
+    // dead-letter 목록에 남길 메시지 내용
+    private final Function<T, Map<String, Object>> recordOf;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Queue<FailedWrite<T>> retries = new ConcurrentLinkedQueue<>();
+
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+
+    PersistRetryQueue(String metricPrefix,
+            String deadLetterKey,
+            Function<T, RuntimeException> saver,
+            Function<T, Long> idOf,
+            Function<T, Map<String, Object>> recordOf,
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            int maxAttempts,
+            long retryBackoffMs) {
+        this.deadLetterKey = deadLetterKey;
+        this.saver = saver;
+        this.idOf = idOf;
+        this.recordOf = recordOf;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        this.retriedCounter = Counter.builder(metricPrefix + ".retried")
+                .description("저장에 실패해 다시 시도한 횟수")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder(metricPrefix + ".dead_lettered")
+                .description("재시도 끝에 저장하지 못해 dead-letter 목록에 남긴 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".retry.depth", retries, Queue::size)
+                .description("저장 재시도를 기다리는 메시지 수")
+                .register(meterRegistry);
+    }
+
+    boolean isEmpty() {
+        return retries.isEmpty();
+    }
+
+    /**
+     * 한 건씩 저장하고, 실패한 메시지는 재시도 대기열에 넣습니다.
+     */
+    void saveEach(List<T> messages) {
+        for (T message : messages) {
+            RuntimeException failure = saver.apply(message);
+            if (failure != null) {
+                schedule(message, 1, failure);
+            }
+        }
+    }
+
+    private void schedule(T message, int attempts, RuntimeException failure) {
+        if (attempts >= maxAttempts) {
+            deadLetter(message, failure);
+            return;
+        }
+        long backoffMs = Math.min(retryBackoffMs << Math.min(attempts - 1, 16), MAX_RETRY_BACKOFF_MS);
+        retries.add(new FailedWrite<>(message, attempts, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs)));
+        log.warn("Failed to persist message id={} (attempt {}/{}), retrying in {}ms: {}",
+                idOf.apply(message), attempts, maxAttempts, backoffMs, failure.getMessage());
+    }
+
+    /**
+     * 재시도 시각이 된 메시지를 다시 저장합니다. force이면(종료 시) 시각과 관계없이 마지막으로 한 번 시도합니다.
+     * 여러 스레드가 함께 불러도 한 메시지는 한 스레드만 꺼냅니다.
+     */
+    void retryDue(boolean force) {
+        if (retries.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<FailedWrite<T>> due = new ArrayList<>();
+        for (FailedWrite<T> write : retries) {
+            if ((force || write.retryAtNanos() - now <= 0) && retries.remove(write)) {
+                due.add(write);
+            }
+        }
+        for (FailedWrite<T> write : due) {
+            retriedCounter.increment();
+            RuntimeException failure = saver.apply(write.message());
+            if (failure != null) {
+                if (force) {
+                    deadLetter(write.message(), failure);
+                } else {
+                    schedule(write.message(), write.attempts() + 1, failure);
+                }
+            }
+        }
+    }
+
+    /**
+     * 끝내 저장하지 못한 메시지를 Redis dead-letter 목록에 남깁니다.
+     * Redis에도 남기지 못하면 복구할 수 있도록 메시지 전체를 에러 로그에 남깁니다.
+     */
+    private void deadLetter(T message, RuntimeException failure) {
+        deadLetteredCounter.increment();
+        Map<String, Object> record = recordOf.apply(message);
+        record.put("error", String.valueOf(failure.getMessage()));
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            json = record.toString();
+        }
+        try {
+            redisTemplate.opsForList().rightPush(deadLetterKey, json);
+            log.error("Message id={} could not be persisted after {} attempts, moved to {}",
+                    idOf.apply(message), maxAttempts, deadLetterKey);
+        } catch (RuntimeException e) {
+            log.error("Message could not be persisted nor dead-lettered: {}", json, e);
+        }
+    }
+
+    private record FailedWrite<T>(T message, int attempts, long retryAtNanos) {
+    }
+}
@@ -0,0 +1,76 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.dto.SignalMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * SessionDisconnectEvent 없이 죽은 노드의 방 참여자를 정리합니다.
+ * 노드의 생존 표시가 만료되면, 그 노드를 통해 방에 들어간 참여자를 방에서 제거하고
+ * 남은 참여자들에게 user-left를 보냅니다. 같은 노드를 여러 노드가 동시에 정리하지 않도록 Redis 잠금을 사용합니다.
+ */
+@Slf4j
+@Component
+public class PresenceReaper {
+
+    private static final String LOCK_PREFIX = "ws:reaper:lock:";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(1);
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MessageBroadcaster broadcaster;
+    private final Counter reapedNodes;
+    private final Counter reapedMembers;
+
+    public PresenceReaper(WebSocketSessionRegistry sessionRegistry,
+            RedisTemplate<String, String> redisTemplate,
+            MessageBroadcaster broadcaster,
+            MeterRegistry meterRegistry) {
+        this.sessionRegistry = sessionRegistry;
+        this.redisTemplate = redisTemplate;
+        this.broadcaster = broadcaster;
+        this.reapedNodes = Counter.builder("ws.presence.reaped.nodes")
+                .description("생존 표시가 만료되어 정리된 노드 수")
+                .register(meterRegistry);
+        this.reapedMembers = Counter.builder("ws.presence.reaped.members")
+                .description("죽은 노드 정리로 방에서 제거된 참여자 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ws.presence.reap-interval-ms:15000}")
+    public void reapDeadNodes() {
+        try {
+            for (String deadNode : sessionRegistry.findDeadNodes()) {
+                String lockKey = LOCK_PREFIX + deadNode;
+                if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(lockKey, sessionRegistry.getNodeId(), LOCK_TTL))) {
+                    continue; // 다른 노드가 정리 중
+                }
+                reap(deadNode);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reap dead WebSocket nodes: {}", e.getMessage());
+        }
+    }
+
+    private void reap(String deadNode) {
+        List<WebSocketSessionRegistry.ReapedMember> reaped = sessionRegistry.reapNode(deadNode);
+        reapedNodes.increment();
+        reapedMembers.increment(reaped.size());
+        log.warn("Reaped dead WebSocket node {}: {} room members removed", deadNode, reaped.size());
+
+        for (WebSocketSessionRegistry.ReapedMember member : reaped) {
+            SignalMessage leftMessage = new SignalMessage();
+            leftMessage.setType("user-left");
+            leftMessage.setSender(member.nickname());
+            broadcaster.broadcast("/topic/signal/" + member.roomId(), leftMessage);
+        }
+    }
+}
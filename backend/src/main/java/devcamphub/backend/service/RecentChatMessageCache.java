@@ -0,0 +1,399 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.domain.ChannelChatMessage;
+import devcamphub.backend.dto.ChatMessageDto;
+import devcamphub.backend.repository.ChannelChatMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * (campId, channel)별 최근 채팅 메시지를 고정 크기 링 버퍼에 보관합니다.
+ * 브로드캐스트 시 채워지고, 채팅 내역 조회는 가능한 경우 DB 대신 이 버퍼에서 응답합니다.
+ * 버퍼로 응답할 수 없는 오래된 페이지만 저장소(Repository)로 넘어갑니다.
+ */
+@Slf4j
+@Component
+public class RecentChatMessageCache {
+
+    private static final String CHAT_TOPIC_PREFIX = "/topic/chat/";
+
+    private final ChannelChatMessageRepository chatMessageRepository;
+    private final ObjectMapper objectMapper;
+    // 접근 순서로 정렬되어 가장 오래 쓰이지 않은 채널이 맨 앞에 오며, max-channels를 넘으면 맨 앞부터 제거됩니다.
+    // (모든 접근은 rings를 잠그고 합니다. 잠금 안에서는 조회/삽입만 하므로 짧게 끝남)
+    private final LinkedHashMap<String, ChannelRing> rings;
+    private final boolean enabled;
+    private final int capacity;
+    private final int maxChannels;
+    private final long idleTtlNanos;
+    private final long warmupLookbackHours;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RecentChatMessageCache(ChannelChatMessageRepository chatMessageRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.recent-cache.enabled:true}") boolean enabled,
+            @Value("${chat.recent-cache.capacity:300}") int capacity,
+            @Value("${chat.recent-cache.max-channels:5000}") int maxChannels,
+            @Value("${chat.recent-cache.idle-ttl-minutes:30}") long idleTtlMinutes,
+            @Value("${chat.recent-cache.warmup-lookback-hours:24}") long warmupLookbackHours) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.maxChannels = maxChannels;
+        this.idleTtlNanos = TimeUnit.MINUTES.toNanos(idleTtlMinutes);
+        this.warmupLookbackHours = warmupLookbackHours;
+        this.rings = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ChannelRing> eldest) {
+                return size() > maxChannels;
+            }
+        };
+
+        Gauge.builder("chat.recent_cache.channels", this, RecentChatMessageCache::channelCount)
+                .description("메모리에 보관 중인 채널 링 버퍼 수")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("chat.recent_cache.hits").register(meterRegistry);
+        this.missCounter = Counter.builder("chat.recent_cache.misses").register(meterRegistry);
+    }
+
+    /**
+     * 브로드캐스트된 메시지를 해당 채널 버퍼에 추가합니다.
+     * write-behind로 아직 저장되지 않은 메시지도 빠지지 않도록, 버퍼가 없으면 새로 만들고
+     * DB 내용은 첫 조회 시점에 합칩니다.
+     */
+    public void append(Long campId, ChatMessageDto message) {
+        if (!enabled) {
+            return;
+        }
+        ring(key(campId, message.getChannel()), true).append(message.copy());
+    }
+
+    /**
+     * 다른 노드에서 중계된 채팅 브로드캐스트(/topic/chat/{campId}/{channel})를 버퍼에 추가합니다.
+     * 이미 버퍼가 있는 채널만 갱신하며, 없는 채널은 첫 조회 시 DB에서 채웁니다.
+     */
+    public void appendRelayed(String destination, byte[] payload) {
+        if (!enabled || !destination.startsWith(CHAT_TOPIC_PREFIX)) {
+            return;
+        }
+        int separator = destination.indexOf('/', CHAT_TOPIC_PREFIX.length());
+        if (separator < 0) {
+            return;
+        }
+        ChannelRing ring = ring(destination.substring(CHAT_TOPIC_PREFIX.length(), separator)
+                + ":" + destination.substring(separator + 1), false);
+        if (ring == null) {
+            return;
+        }
+        try {
+            ring.append(objectMapper.readValue(payload, ChatMessageDto.class));
+        } catch (IOException e) {
+            log.warn("Ignoring relayed chat message for {}: {}", destination, e.getMessage());
+        }
+    }
+
+    /**
+     * 버퍼에서 채팅 내역 페이지를 조회합니다. (최신순)
+     * 버퍼가 요청한 범위를 모두 담고 있지 않으면 null을 반환하며, 호출 측은 DB로 조회해야 합니다.
+     */
+    public CachedPage read(Long campId, String channel, Long before, Long after, int size) {
+        if (!enabled) {
+            return null;
+        }
+        ChannelRing ring = ring(key(campId, channel), true);
+        ring.awaitWarm(() -> load(campId, channel));
+
+        CachedPage page = ring.read(before, after, size);
+        if (page != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return page;
+    }
+
+    private Slice<ChannelChatMessage> load(Long campId, String channel) {
+        return chatMessageRepository.findByCampIdAndChannelOrderByIdDesc(campId, channel,
+                PageRequest.of(0, capacity));
+    }
+
+    /**
+     * 재시작 직후 최근 대화가 있던 채널의 버퍼를 미리 채워, 수업 시작 시 몰리는 조회가 DB로 가지 않도록 합니다.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpRecentChannels() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusHours(warmupLookbackHours);
+        List<Object[]> channels = chatMessageRepository.findActiveChannelsSince(since);
+        int warmed = 0;
+        for (Object[] row : channels) {
+            if (warmed >= maxChannels) {
+                break;
+            }
+            Long campId = (Long) row[0];
+            String channel = (String) row[1];
+            ring(key(campId, channel), true)
+                    .awaitWarm(() -> load(campId, channel));
+            warmed++;
+        }
+        log.info("Recent chat cache warmed up for {} channels active since {}", warmed, since);
+    }
+
+    /**
+     * 일정 시간 조회되지 않은 채널 버퍼를 제거합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.recent-cache.sweep-interval-ms:60000}")
+    public void evictIdleChannels() {
+        long now = System.nanoTime();
+        synchronized (rings) {
+            // 접근 순서대로 정렬되어 있으므로 아직 쓰이는 채널을 만나면 멈춥니다.
+            for (Iterator<ChannelRing> iterator = rings.values().iterator(); iterator.hasNext(); ) {
+                if (now - iterator.next().lastAccessNanos <= idleTtlNanos) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 채널 버퍼를 찾고 최근 사용으로 표시합니다. create이면 없을 때 새로 만듭니다.
+     */
+    private ChannelRing ring(String key, boolean create) {
+        synchronized (rings) {
+            ChannelRing ring = rings.get(key);
+            if (ring == null && create) {
+                ring = new ChannelRing(capacity);
+                rings.put(key, ring);
+            }
+            return ring;
+        }
+    }
+
+    private int channelCount() {
+        synchronized (rings) {
+            return rings.size();
+        }
+    }
+
+    private String key(Long campId, String channel) {
+        return campId + ":" + channel;
+    }
+
+    public record CachedPage(List<ChatMessageDto> messages, boolean hasMore) {
+    }
+
+    /**
+     * 한 채널의 최근 메시지를 메시지 ID 오름차순으로 담는 링 버퍼입니다.
+     * 버퍼는 항상 "가장 오래된 항목 이후의 모든 메시지"를 연속으로 담고 있으며,
+     * coversStart가 true이면 채널의 첫 메시지부터 모두 담고 있다는 뜻입니다.
+     */
+    static final class ChannelRing {
+
+        private final ChatMessageDto[] buffer;
+        private int head; // 다음에 쓸 위치
+        private int size;
+        private boolean coversStart;
+        private CompletableFuture<Void> warming;
+        volatile long lastAccessNanos = System.nanoTime();
+
+        ChannelRing(int capacity) {
+            this.buffer = new ChatMessageDto[capacity];
+        }
+
+        /**
+         * 버퍼를 DB에서 한 번만 채웁니다. 같은 채널에 동시에 몰린 요청은 하나의 조회 결과를 기다립니다.
+         */
+        void awaitWarm(Supplier<Slice<ChannelChatMessage>> loader) {
+            lastAccessNanos = System.nanoTime();
+            CompletableFuture<Void> future;
+            boolean owner = false;
+            synchronized (this) {
+                if (warming == null || warming.isCompletedExceptionally()) {
+                    warming = new CompletableFuture<>();
+                    owner = true;
+                }
+                future = warming;
+            }
+            if (owner) {
+                try {
+                    Slice<ChannelChatMessage> latest = loader.get();
+                    merge(latest.map(ChatMessageDto::from).getContent(), latest.hasNext());
+                    future.complete(null);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            future.join();
+        }
+
+        synchronized void append(ChatMessageDto message) {
+            lastAccessNanos = System.nanoTime();
+            if (size > 0 && message.getMessageId() <= get(size - 1).getMessageId()) {
+                // 이미 담긴 메시지(워밍업 중 DB 결과와 겹친 경우)이거나, 다른 노드의 메시지가 늦게 도착한 경우
+                insertOutOfOrder(message);
+                return;
+            }
+            if (size == buffer.length) {
+                coversStart = false; // 가장 오래된 메시지가 밀려남
+            } else {
+                size++;
+            }
+            buffer[head] = message;
+            head = (head + 1) % buffer.length;
+        }
+
+        /**
+         * ID 순서보다 늦게 커밋된 메시지(동시에 보낸 메시지, 다른 노드에서 늦게 중계된 메시지)를 제자리에 끼워 넣습니다.
+         * 같은 ID가 이미 있으면 무시합니다. 자리는 이진 탐색으로 찾고 그 뒤(버퍼가 가득 찼으면 그 앞)만 한 칸씩 옮깁니다.
+         */
+        private void insertOutOfOrder(ChatMessageDto message) {
+            long id = message.getMessageId();
+            int low = 0;
+            int high = size; // id 이상인 첫 위치
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (get(mid).getMessageId() < id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < size && get(low).getMessageId() == id) {
+                return;
+            }
+            if (size == buffer.length) {
+                coversStart = false;
+                if (low == 0) {
+                    return; // 버퍼 범위보다 오래된 메시지 (DB 조회로 제공)
+                }
+                // 가장 오래된 메시지를 밀어내고 그 사이를 한 칸씩 앞으로 당깁니다.
+                for (int i = 0; i < low - 1; i++) {
+                    set(i, get(i + 1));
+                }
+                set(low - 1, message);
+                return;
+            }
+            size++;
+            head = (head + 1) % buffer.length;
+            for (int i = size - 1; i > low; i--) {
+                set(i, get(i - 1));
+            }
+            set(low, message);
+        }
+
+        /**
+         * DB에서 읽은 최신 메시지(최신순)와 워밍업 중 브로드캐스트로 들어온 메시지를 ID 기준으로 합칩니다.
+         */
+        private synchronized void merge(List<ChatMessageDto> newestFirst, boolean hasOlder) {
+            List<ChatMessageDto> merged = new ArrayList<>(newestFirst);
+            Collections.reverse(merged);
+            // 워밍업 중 들어온 메시지 중 DB 결과에 없는 것(아직 저장되지 않았거나 ID 순서보다 늦게 커밋된 메시지)을 합칩니다.
+            // DB에 더 오래된 메시지가 있으면 DB 결과보다 오래된 메시지는 빼야 버퍼가 연속 구간으로 유지됩니다.
+            long oldestId = hasOlder && !merged.isEmpty() ? merged.get(0).getMessageId() : Long.MIN_VALUE;
+            Set<Long> loadedIds = new HashSet<>();
+            for (ChatMessageDto loaded : merged) {
+                loadedIds.add(loaded.getMessageId());
+            }
+            boolean added = false;
+            for (int i = 0; i < size; i++) {
+                ChatMessageDto appended = get(i);
+                if (appended.getMessageId() >= oldestId && loadedIds.add(appended.getMessageId())) {
+                    merged.add(appended);
+                    added = true;
+                }
+            }
+            if (added) {
+                merged.sort(Comparator.comparingLong(ChatMessageDto::getMessageId));
+            }
+            int from = Math.max(0, merged.size() - buffer.length);
+            head = 0;
+            size = 0;
+            for (int i = from; i < merged.size(); i++) {
+                buffer[head] = merged.get(i);
+                head = (head + 1) % buffer.length;
+                size++;
+            }
+            coversStart = !hasOlder && from == 0;
+        }
+
+        synchronized CachedPage read(Long before, Long after, int pageSize) {
+            lastAccessNanos = System.nanoTime();
+            if (after != null) {
+                if (!coversStart && (size == 0 || after < get(0).getMessageId())) {
+                    return null; // 버퍼 앞쪽에 빠진 구간이 있음
+                }
+                List<ChatMessageDto> page = new ArrayList<>(pageSize);
+                int matched = 0;
+                for (int i = 0; i < size; i++) {
+                    ChatMessageDto message = get(i);
+                    if (message.getMessageId() > after && matched++ < pageSize) {
+                        page.add(message);
+                    }
+                }
+                Collections.reverse(page);
+                return new CachedPage(page, matched > pageSize);
+            }
+
+            int end = size; // 조건을 만족하는 마지막 인덱스(exclusive)
+            if (before != null) {
+                while (end > 0 && get(end - 1).getMessageId() >= before) {
+                    end--;
+                }
+            }
+            if (end < pageSize && !coversStart) {
+                return null; // 버퍼만으로는 한 페이지를 채울 수 없음
+            }
+            int start = Math.max(0, end - pageSize);
+            List<ChatMessageDto> page = new ArrayList<>(end - start);
+            for (int i = end - 1; i >= start; i--) {
+                page.add(get(i));
+            }
+            return new CachedPage(page, start > 0 || !coversStart);
+        }
+
+        private ChatMessageDto get(int index) {
+            int oldest = (head - size + buffer.length) % buffer.length;
+            return buffer[(oldest + index) % buffer.length];
+        }
+
+        private void set(int index, ChatMessageDto message) {
+            int oldest = (head - size + buffer.length) % buffer.length;
+            buffer[(oldest + index) % buffer.length] = message;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.config.WebSocketDestinations;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Pub/Sub으로 /topic/chat/**, /topic/stream-chat/**, /topic/signal/** 브로드캐스트와
+ * 세션 지정 시그널(/queue/signal-user{sessionId})을 모든 노드에 중계합니다. (ws.relay.mode=redis)
+ * 세션 지정 시그널은 그 세션이 연결된 노드의 브로커만 구독자를 가지고 있으므로 해당 노드에서만 전달됩니다.
+ *
+ * Redis 채널 이름은 "ws:relay:{발신 노드}:{destination}"이고 본문은 직렬화된 페이로드 그대로이므로
+ * 추가 직렬화(envelope)가 없습니다. 유실 허용 메시지는 destination 앞에 "lossy:"를 붙여 구분합니다. (destination은 항상 /로 시작) 발신 노드도 자신의 메시지를 Redis에서 받아 전달하므로,
+ * 같은 destination의 메시지는 모든 노드에서 Redis가 받은 순서 그대로 구독자에게 전달됩니다.
+ * 수신한 메시지는 destination 해시로 고른 단일 스레드 실행기에서 전달하여,
+ * destination별 순서는 유지하면서 서로 다른 destination은 병렬로 처리합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ws.relay.mode", havingValue = "redis")
+public class RedisBroadcastRelay implements BroadcastRelay, MessageListener {
+
+    private static final String CHANNEL_PREFIX = "ws:relay:";
+    private static final String LOSSY_MARKER = "lossy:";
+    private static final String[] RELAYED_PREFIXES = { "/topic/chat/", "/topic/stream-chat/", "/topic/signal/",
+            WebSocketDestinations.SESSION_SIGNAL_PREFIX };
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final RecentChatMessageCache recentMessageCache;
+    private final String nodeId;
+    private final ExecutorService[] dispatchers;
+    private RedisMessageListenerContainer container;
+
+    public RedisBroadcastRelay(RedisTemplate<String, String> redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            SimpMessageSendingOperations messagingTemplate,
+            RecentChatMessageCache recentMessageCache,
+            NodeIdentity nodeIdentity,
+            @Value("${ws.relay.dispatch-threads:4}") int dispatchThreads) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeIdentity.id();
+        this.connectionFactory = connectionFactory;
+        this.messagingTemplate = messagingTemplate;
+        this.recentMessageCache = recentMessageCache;
+        this.dispatchers = new ExecutorService[dispatchThreads];
+        for (int i = 0; i < dispatchThreads; i++) {
+            String name = "ws-relay-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PostConstruct
+    void subscribe() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 수신 순서를 잃지 않도록 구독 스레드에서 바로 onMessage를 호출합니다. (onMessage는 실행기에 넘기기만 함)
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(this, new PatternTopic(CHANNEL_PREFIX + "*"));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("Redis broadcast relay started on node {}", nodeId);
+    }
+
+    @Override
+    public boolean supports(String destination) {
+        for (String prefix : RELAYED_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void publish(String destination, byte[] payload, boolean lossy) {
+        byte[] channel = (CHANNEL_PREFIX + nodeId + ":" + (lossy ? LOSSY_MARKER : "") + destination)
+                .getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        } catch (RuntimeException e) {
+            // Redis 장애 시에도 이 노드의 구독자에게는 전달합니다.
+            log.warn("Failed to relay broadcast to {}. Delivering locally only: {}", destination, e.getMessage());
+            deliver(destination, payload, true, lossy);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        int separator = channel.indexOf(':', CHANNEL_PREFIX.length());
+        if (separator < 0) {
+            return;
+        }
+        boolean local = channel.regionMatches(CHANNEL_PREFIX.length(), nodeId, 0, nodeId.length())
+                && separator == CHANNEL_PREFIX.length() + nodeId.length();
+        boolean lossy = channel.startsWith(LOSSY_MARKER, separator + 1);
+        String destination = channel.substring(separator + 1 + (lossy ? LOSSY_MARKER.length() : 0));
+        byte[] payload = message.getBody();
+
+        int index = (destination.hashCode() & Integer.MAX_VALUE) % dispatchers.length;
+        dispatchers[index].execute(() -> deliver(destination, payload, local, lossy));
+    }
+
+    private void deliver(String destination, byte[] payload, boolean local, boolean lossy) {
+        try {
+            messagingTemplate.send(destination, MessageBroadcaster.toMessage(destination, payload, lossy));
+            if (!local) {
+                // 다른 노드에서 보낸 채팅은 이 노드의 최근 메시지 캐시에도 넣습니다.
+                recentMessageCache.appendRelayed(destination, payload);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver relayed broadcast to {}", destination, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdown();
+        }
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package devcamphub.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 여러 노드가 중복 검사 창을 공유해야 할 때 사용하는 Redis 구현입니다.
+ * SET NX EX 한 번으로 기록과 확인을 동시에 처리합니다. (메시지당 Redis 1회 왕복)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.dedup.mode", havingValue = "redis")
+public class RedisChatMessageDeduplicator implements ChatMessageDeduplicator {
+
+    private static final String DEDUP_PREFIX = "chat:dedup:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.dedup.window-seconds:120}")
+    private long windowSeconds;
+
+    @Override
+    public boolean markIfFirst(long clientMsgId) {
+        Boolean first = redisTemplate.opsForValue()
+                .setIfAbsent(DEDUP_PREFIX + clientMsgId, "1", Duration.ofSeconds(windowSeconds));
+        // Redis 응답이 없으면(파이프라인/트랜잭션 등) 통과시키고 DB 유니크 제약 조건에 맡깁니다.
+        return !Boolean.FALSE.equals(first);
+    }
+
+    @Override
+    public void unmark(long clientMsgId) {
+        redisTemplate.delete(DEDUP_PREFIX + clientMsgId);
+    }
+}
@@ -0,0 +1,206 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * WebSocketSessionRegistry의 노드 로컬 캐시(near cache)입니다.
+ *
+ * 방 → 참여자, 닉네임 → 방, 닉네임 → 세션은 다른 노드도 바꿀 수 있으므로 Redis에서 읽어 캐시하고,
+ * 어느 노드든 값을 바꾸면 Redis Pub/Sub 채널(ws:registry:invalidate)로 "{노드}|{방 ID}|{닉네임}"을 알려
+ * 다른 노드의 해당 항목을 지웁니다. 이 노드의 변경은 쓰기 시점에 바로 캐시에 반영합니다.
+ * (세션 → 닉네임은 세션이 연결된 노드만 쓰므로 WebSocketSessionRegistry가 이 노드의 세션만 따로 기억합니다.)
+ *
+ * 무효화 메시지가 유실되는 경우(Redis 재연결 등)에 대비해 항목은 ttl-seconds가 지나면 다시 읽습니다.
+ * 캐시별 항목 수는 max-entries로 제한하며, 넘으면 임의의 항목 하나를 제거합니다.
+ */
+@Slf4j
+@Component
+public class RoomRegistryNearCache implements MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "ws:registry:invalidate";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final String nodeId;
+    // 무효화가 일어날 때마다 증가합니다. 읽기 도중 무효화가 끼어들면 읽은 값을 캐시하지 않습니다.
+    private final AtomicLong invalidations = new AtomicLong();
+    private RedisMessageListenerContainer container;
+
+    final Cache<Set<String>> roomMembers;
+    final Cache<String> nicknameRooms;
+    final Cache<String> nicknameSessions;
+
+    public RoomRegistryNearCache(RedisConnectionFactory connectionFactory,
+            NodeIdentity nodeIdentity,
+            MeterRegistry meterRegistry,
+            @Value("${ws.registry.near-cache.enabled:true}") boolean enabled,
+            @Value("${ws.registry.near-cache.max-entries:10000}") int maxEntries,
+            @Value("${ws.registry.near-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.connectionFactory = connectionFactory;
+        this.nodeId = nodeIdentity.id();
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.roomMembers = new Cache<>("room-members");
+        this.nicknameRooms = new Cache<>("nickname-room");
+        this.nicknameSessions = new Cache<>("nickname-session");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("Registry near cache listening for invalidations on node {}", nodeId);
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 다른 노드에 보낼 무효화 메시지를 만듭니다. roomId와 nickname은 바뀐 쪽만 넣고 나머지는 빈 문자열로 둡니다.
+     */
+    String invalidation(String roomId, String nickname) {
+        return nodeId + "|" + (roomId != null ? roomId : "") + "|" + (nickname != null ? nickname : "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf('|');
+        int second = body.indexOf('|', first + 1);
+        if (first < 0 || second < 0 || body.startsWith(nodeId + "|")) {
+            return; // 형식이 잘못되었거나 이 노드가 보낸 메시지 (이미 반영됨)
+        }
+        invalidate(body.substring(first + 1, second), body.substring(second + 1));
+    }
+
+    /**
+     * 방 또는 닉네임의 캐시 항목을 지웁니다. (빈 문자열은 무시)
+     */
+    void invalidate(String roomId, String nickname) {
+        invalidations.incrementAndGet();
+        if (roomId != null && !roomId.isEmpty()) {
+            roomMembers.remove(roomId);
+        }
+        if (nickname != null && !nickname.isEmpty()) {
+            nicknameRooms.remove(nickname);
+            nicknameSessions.remove(nickname);
+        }
+    }
+
+    /**
+     * 노드 로컬 캐시 하나. 값이 없다는 사실(null)도 캐시합니다.
+     */
+    final class Cache<T> {
+
+        private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final Counter hits;
+        private final Counter misses;
+
+        private Cache(String name) {
+            this.hits = Counter.builder("ws.registry.near_cache.requests")
+                    .description("near cache 조회 수")
+                    .tag("cache", name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("ws.registry.near_cache.requests")
+                    .description("near cache 조회 수")
+                    .tag("cache", name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("ws.registry.near_cache.size", entries, Map::size)
+                    .description("near cache 항목 수")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 캐시된 값을 반환하고, 없거나 만료되었으면 loader로 Redis에서 읽어 캐시합니다.
+         */
+        T get(String key, Supplier<T> loader) {
+            if (!enabled) {
+                return loader.get();
+            }
+            long now = System.nanoTime();
+            Entry<T> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            misses.increment();
+            long version = invalidations.get();
+            T value = loader.get();
+            if (invalidations.get() == version) {
+                put(key, value, now);
+            }
+            return value;
+        }
+
+        /**
+         * 이 노드가 쓴 최신 값을 캐시에 반영합니다.
+         */
+        void put(String key, T value) {
+            if (enabled) {
+                invalidations.incrementAndGet(); // 동시에 진행 중인 읽기가 이전 값을 덮어쓰지 않도록
+                put(key, value, System.nanoTime());
+            }
+        }
+
+        private void put(String key, T value, long now) {
+            if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                Iterator<String> iterator = entries.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            entries.put(key, new Entry<>(value, now));
+        }
+
+        void remove(String key) {
+            entries.remove(key);
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+}
@@ -0,0 +1,499 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.Role;
+import devcamphub.backend.domain.Stream;
+import devcamphub.backend.domain.StreamChatMessage;
+import devcamphub.backend.domain.StreamStatus;
+import devcamphub.backend.domain.User;
+import devcamphub.backend.dto.ChatMessageDto;
+import devcamphub.backend.dto.StreamChatBatch;
+import devcamphub.backend.dto.StreamChatMessageDto;
+import devcamphub.backend.dto.StreamChatRejection;
+import devcamphub.backend.dto.UserSnapshot;
+import devcamphub.backend.repository.CampRepository;
+import devcamphub.backend.repository.StreamChatMessageRepository;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대규모 시청자가 있는 라이브 강의용 스트림 채팅 파이프라인입니다.
+ *
+ * 메시지는 바로 브로드캐스트하지 않고 스트림별 대기열에 쌓았다가, 전용 스레드가 batch-interval-ms(기본 100ms)마다
+ * 모아서 StreamChatBatch 한 프레임으로 /topic/stream-chat/{streamId}에 보냅니다.
+ * 시청자 500명, 100ms 동안 메시지 N개인 경우 프레임 수가 500 × N에서 500으로 줄어듭니다.
+ * 같은 묶음은 별도 저장 스레드가 하나의 트랜잭션(JDBC 배치 INSERT)으로 저장합니다.
+ * 이미 보낸 메시지이므로 저장에 실패해도 버리지 않고, 채널 채팅과 같은 방식(PersistRetryQueue)으로 다시 시도한 뒤
+ * 끝내 실패하면 Redis 목록(stream-chat:write-behind:dead-letter)에 남깁니다.
+ *
+ * 채팅방은 진행 중(ACTIVE)인 캠프 스트림에만 열리며, 캠프 생성자와 멤버만 보낼 수 있습니다.
+ * 스트림의 캠프는 방을 열 때 한 번, 보낸 사람의 참여 여부는 방마다 사용자당 한 번만 DB에서 확인하고 방에 기억합니다.
+ *
+ * 슬로우 모드는 서버에서 강제합니다. 설정값은 Redis 해시에 저장되어 모든 노드가 주기적으로 읽어 오며,
+ * 관리자(ADMIN)는 슬로우 모드의 제한을 받지 않습니다.
+ */
+@Slf4j
+@Service
+public class StreamChatService {
+
+    private static final String SLOW_MODE_KEY = "stream:chat:slow-mode";
+    private static final String REJECTION_DESTINATION = "/queue/stream-chat/rejected";
+    private static final long ROOM_IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    static final String DEAD_LETTER_KEY = "stream-chat:write-behind:dead-letter";
+
+    private final MessageBroadcaster broadcaster;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final StreamRepository streamRepository;
+    private final CampRepository campRepository;
+    private final StreamService streamService;
+    private final StreamChatMessageRepository streamChatMessageRepository;
+    private final EntityManager entityManager;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ChatMessageIdAllocator idAllocator;
+    private final ChatMessageDeduplicator deduplicator;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long batchIntervalMs;
+    private final int maxBatchSize;
+    private final int maxHistoryPageSize;
+    private final long slowModeRefreshNanos;
+    private final Map<Long, StreamChatRoom> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final ThreadPoolExecutor writer;
+    // 저장에 실패해 다시 시도할 메시지 (writer 스레드와 caller-runs로 저장하는 flusher 스레드가 함께 씀)
+    private final PersistRetryQueue<StreamChatMessage> retries;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter slowModeRejectedCounter;
+    private final Counter duplicateCounter;
+
+    public StreamChatService(MessageBroadcaster broadcaster,
+            SimpMessageSendingOperations messagingTemplate,
+            StreamRepository streamRepository,
+            CampRepository campRepository,
+            StreamService streamService,
+            StreamChatMessageRepository streamChatMessageRepository,
+            EntityManager entityManager,
+            UserSnapshotCache userSnapshotCache,
+            ChatMessageIdAllocator idAllocator,
+            ChatMessageDeduplicator deduplicator,
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stream-chat.batch-interval-ms:100}") long batchIntervalMs,
+            @Value("${stream-chat.max-batch-size:200}") int maxBatchSize,
+            @Value("${stream-chat.writer-capacity:100}") int writerCapacity,
+            @Value("${stream-chat.slow-mode-refresh-ms:5000}") long slowModeRefreshMs,
+            @Value("${stream-chat.history.max-page-size:100}") int maxHistoryPageSize,
+            @Value("${chat.write-behind.max-attempts:5}") int maxAttempts,
+            @Value("${chat.write-behind.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.broadcaster = broadcaster;
+        this.messagingTemplate = messagingTemplate;
+        this.streamRepository = streamRepository;
+        this.campRepository = campRepository;
+        this.streamService = streamService;
+        this.streamChatMessageRepository = streamChatMessageRepository;
+        this.entityManager = entityManager;
+        this.userSnapshotCache = userSnapshotCache;
+        this.idAllocator = idAllocator;
+        this.deduplicator = deduplicator;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchIntervalMs = batchIntervalMs;
+        this.maxBatchSize = maxBatchSize;
+        this.maxHistoryPageSize = maxHistoryPageSize;
+        this.slowModeRefreshNanos = TimeUnit.MILLISECONDS.toNanos(slowModeRefreshMs);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "stream-chat-flusher"));
+        // 저장이 밀리면 flusher 스레드에서 직접 저장하여 들어오는 속도를 늦춥니다. (caller-runs)
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writerCapacity),
+                runnable -> daemon(runnable, "stream-chat-writer"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.batchSizeSummary = DistributionSummary.builder("stream_chat.batch.size")
+                .description("한 프레임으로 브로드캐스트된 스트림 채팅 메시지 수")
+                .register(meterRegistry);
+        this.slowModeRejectedCounter = Counter.builder("stream_chat.slow_mode.rejected")
+                .description("슬로우 모드로 거절된 메시지 수")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("stream_chat.persist.duplicate")
+                .description("이미 저장되어 있어 건너뛴 스트림 채팅 메시지 수")
+                .register(meterRegistry);
+        this.retries = new PersistRetryQueue<>("stream_chat.persist", DEAD_LETTER_KEY,
+                this::saveOne, StreamChatMessage::getId, StreamChatService::deadLetterRecord,
+                redisTemplate, objectMapper, meterRegistry, maxAttempts, retryBackoffMs);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushAll, batchIntervalMs, batchIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 스트림 채팅 메시지를 받아 다음 묶음에 넣습니다.
+     * 진행 중인 스트림이 아니면 IllegalArgumentException, 스트림 캠프의 참여자가 아니면 IllegalStateException을 던집니다.
+     * 슬로우 모드에 걸리면 보낸 사용자에게만 거절 알림을 보냅니다.
+     */
+    public void sendMessage(Long streamId, StreamChatMessageDto messageDto, String userEmail) {
+        // 중복 메시지 체크 (Idempotent)
+        if (messageDto.getClientMsgId() != null && !deduplicator.markIfFirst(messageDto.getClientMsgId())) {
+            return;
+        }
+        boolean accepted = false;
+        try {
+            accepted = enqueue(streamId, messageDto, userEmail);
+        } finally {
+            // 거절되었거나 실패한 메시지는 클라이언트가 다시 보낼 수 있어야 합니다.
+            if (!accepted && messageDto.getClientMsgId() != null) {
+                deduplicator.unmark(messageDto.getClientMsgId());
+            }
+        }
+    }
+
+    /**
+     * 메시지를 다음 묶음에 넣고 true를 반환합니다. 슬로우 모드로 거절되면 false를 반환합니다.
+     */
+    private boolean enqueue(Long streamId, StreamChatMessageDto messageDto, String userEmail) {
+        UserSnapshot user = userSnapshotCache.getOrLoad(userEmail);
+        StreamChatRoom room = room(streamId);
+        checkParticipant(room, userEmail);
+
+        long now = System.nanoTime();
+        if (user.role() != Role.ADMIN) {
+            long retryAfterNanos = room.tryPass(userEmail, now);
+            if (retryAfterNanos > 0) {
+                slowModeRejectedCounter.increment();
+                messagingTemplate.convertAndSendToUser(userEmail, REJECTION_DESTINATION,
+                        new StreamChatRejection(messageDto.getClientMsgId(), "SLOW_MODE",
+                                TimeUnit.NANOSECONDS.toMillis(retryAfterNanos)));
+                return false;
+            }
+        }
+
+        StreamChatMessage message = StreamChatMessage.builder()
+                .id(idAllocator.nextId())
+                .stream(entityManager.getReference(Stream.class, streamId))
+                .author(entityManager.getReference(User.class, user.id())) // 외래 키만 필요하므로 프록시 사용
+                .content(messageDto.getContent())
+                .build();
+
+        messageDto.setMessageId(message.getId());
+        messageDto.setSender(user.nickname());
+        messageDto.setTimestamp(ChatMessageDto.formatTimestamp(message.getCreatedAt()));
+        PendingMessage pending = new PendingMessage(messageDto, message);
+        // flusher가 유휴 방을 닫았으면 닫힌 방을 치우고 새로 만든 방에 넣습니다.
+        while (!room.offer(pending, now)) {
+            rooms.remove(streamId, room);
+            room = room(streamId);
+        }
+        return true;
+    }
+
+    /**
+     * 스트림 채팅 최근 내역을 조회합니다. (최신순)
+     */
+    public List<StreamChatMessageDto> getRecentMessages(Long campId, Long streamId, int size, String userEmail) {
+        streamService.checkCampAccess(campId, streamId, userEmail);
+        int pageSize = Math.max(1, Math.min(size, maxHistoryPageSize));
+        return streamChatMessageRepository.findByStreamIdOrderByCreatedAtDesc(streamId, PageRequest.of(0, pageSize))
+                .map(StreamChatMessageDto::from)
+                .getContent();
+    }
+
+    /**
+     * 슬로우 모드를 설정합니다. 0초는 해제입니다.
+     * 스트림이 캠프에 속해야 하며, 스트림 소유자 또는 그 캠프에 참여한 관리자만 설정할 수 있습니다.
+     */
+    public void setSlowMode(Long campId, Long streamId, int seconds, String userEmail) {
+        if (!streamRepository.existsByIdAndCampId(streamId, campId)) {
+            throw new IllegalArgumentException("캠프에서 스트림을 찾을 수 없습니다.");
+        }
+        String ownerEmail = streamRepository.findOwnerEmailById(streamId)
+                .orElseThrow(() -> new IllegalArgumentException("스트림을 찾을 수 없습니다."));
+        if (!userEmail.equals(ownerEmail)
+                && (userSnapshotCache.getOrLoad(userEmail).role() != Role.ADMIN
+                        || !campRepository.isParticipant(campId, userEmail))) {
+            throw new IllegalStateException("슬로우 모드를 설정할 권한이 없습니다.");
+        }
+
+        if (seconds > 0) {
+            redisTemplate.opsForHash().put(SLOW_MODE_KEY, String.valueOf(streamId), String.valueOf(seconds));
+        } else {
+            redisTemplate.opsForHash().delete(SLOW_MODE_KEY, String.valueOf(streamId));
+        }
+        StreamChatRoom room = rooms.get(streamId);
+        if (room != null) {
+            room.slowModeNanos = TimeUnit.SECONDS.toNanos(seconds);
+            room.slowModeRefreshedAt = System.nanoTime();
+        }
+        log.info("Slow mode for stream {} set to {}s by {}", streamId, seconds, userEmail);
+    }
+
+    private StreamChatRoom room(Long streamId) {
+        StreamChatRoom room = rooms.get(streamId);
+        if (room != null) {
+            return room;
+        }
+        // 방을 열 때 한 번만 진행 중인 스트림인지 확인하고 캠프를 기억합니다.
+        Long campId = streamRepository.findCampIdByIdAndStatus(streamId, StreamStatus.ACTIVE)
+                .orElseThrow(() -> new IllegalArgumentException("진행 중인 스트림을 찾을 수 없습니다: " + streamId));
+        return rooms.computeIfAbsent(streamId, id -> {
+            StreamChatRoom created = new StreamChatRoom(campId);
+            refreshSlowMode(id, created);
+            return created;
+        });
+    }
+
+    /**
+     * 보낸 사람이 스트림 캠프의 생성자 또는 멤버인지 확인합니다. 확인된 사용자는 방에 기억해 다시 조회하지 않습니다.
+     */
+    private void checkParticipant(StreamChatRoom room, String userEmail) {
+        if (room.participants.contains(userEmail)) {
+            return;
+        }
+        if (!campRepository.isParticipant(room.campId, userEmail)) {
+            throw new IllegalStateException("캠프에 참여한 사용자만 채팅할 수 있습니다.");
+        }
+        room.participants.add(userEmail);
+    }
+
+    private void refreshSlowMode(Long streamId, StreamChatRoom room) {
+        try {
+            Object seconds = redisTemplate.opsForHash().get(SLOW_MODE_KEY, String.valueOf(streamId));
+            room.slowModeNanos = seconds == null ? 0 : TimeUnit.SECONDS.toNanos(Long.parseLong(seconds.toString()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh slow mode for stream {}: {}", streamId, e.getMessage());
+        }
+        room.slowModeRefreshedAt = System.nanoTime();
+    }
+
+    private void flushAll() {
+        if (!retries.isEmpty()) {
+            writer.execute(() -> retries.retryDue(false));
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<Long, StreamChatRoom> entry : rooms.entrySet()) {
+            try {
+                flush(entry.getKey(), entry.getValue(), now);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush stream chat for stream {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void flush(Long streamId, StreamChatRoom room, long now) {
+        if (now - room.slowModeRefreshedAt > slowModeRefreshNanos) {
+            refreshSlowMode(streamId, room);
+            room.evictExpiredSenders(now);
+        }
+        if (now - room.lastActivityNanos > ROOM_IDLE_NANOS && room.closeIfIdle()) {
+            rooms.remove(streamId, room);
+        }
+        // 닫기 전에 들어온 메시지가 있으면 이번 주기에 마저 보냅니다. 닫힌 뒤에는 메시지가 들어오지 않습니다.
+        if (room.pending.isEmpty()) {
+            return;
+        }
+
+        String destination = "/topic/stream-chat/" + streamId;
+        List<StreamChatMessage> entities = new ArrayList<>();
+        List<StreamChatMessageDto> batch = new ArrayList<>();
+        PendingMessage pending;
+        while ((pending = room.pending.poll()) != null) {
+            batch.add(pending.dto());
+            entities.add(pending.entity());
+            if (batch.size() == maxBatchSize) {
+                broadcast(destination, streamId, batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            broadcast(destination, streamId, batch);
+        }
+        writer.execute(() -> persist(entities));
+    }
+
+    private void broadcast(String destination, Long streamId, List<StreamChatMessageDto> batch) {
+        batchSizeSummary.record(batch.size());
+        broadcaster.broadcast(destination, new StreamChatBatch(streamId, batch));
+    }
+
+    private void persist(List<StreamChatMessage> entities) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> streamChatMessageRepository.saveAll(entities));
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} stream chat messages failed, retrying one by one: {}", entities.size(),
+                    e.getMessage());
+            retries.saveEach(entities);
+        }
+    }
+
+    /**
+     * 한 건을 저장하고, 실패했으면 그 예외를 반환합니다. 이미 저장된 메시지의 중복 실패는 성공으로 봅니다.
+     */
+    private RuntimeException saveOne(StreamChatMessage message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> streamChatMessageRepository.save(message));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            if (alreadyStored(message)) {
+                duplicateCounter.increment();
+                return null;
+            }
+            return e;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private boolean alreadyStored(StreamChatMessage message) {
+        try {
+            return streamChatMessageRepository.existsById(message.getId());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * dead-letter 목록에 남길 메시지 내용
+     */
+    private static Map<String, Object> deadLetterRecord(StreamChatMessage message) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("messageId", message.getId());
+        record.put("streamId", message.getStream().getId());
+        record.put("authorId", message.getAuthor().getId());
+        record.put("content", message.getContent());
+        record.put("createdAt", message.getCreatedAt().toString());
+        return record;
+    }
+
+    /**
+     * 종료 시 대기 중인 메시지를 마저 보내고 저장합니다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushAll();
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.error("Stream chat writer did not finish in time. {} batches were not persisted.",
+                    writer.getQueue().size());
+            return;
+        }
+        // 재시도를 기다리던 메시지는 마지막으로 한 번 더 시도하고, 실패하면 dead-letter 목록에 남깁니다.
+        retries.retryDue(true);
+    }
+
+    private record PendingMessage(StreamChatMessageDto dto, StreamChatMessage entity) {
+    }
+
+    /**
+     * 스트림 하나의 전송 대기열과 슬로우 모드 상태
+     *
+     * 유휴 방을 맵에서 제거할 때 그 사이 들어온 메시지가 제거된 방에 남지 않도록,
+     * 닫힘 표시와 대기열 추가를 같은 락으로 묶습니다. 닫힌 방에는 메시지를 넣을 수 없고 보내는 쪽이 방을 다시 찾습니다.
+     */
+    private static final class StreamChatRoom {
+
+        private final Long campId;
+        // 참여 여부를 확인한 보낸 사람 (이메일)
+        private final Set<String> participants = ConcurrentHashMap.newKeySet();
+        private final Queue<PendingMessage> pending = new ConcurrentLinkedQueue<>();
+        private final Map<String, Long> lastSentNanos = new ConcurrentHashMap<>();
+        private volatile long slowModeNanos;
+        private volatile long slowModeRefreshedAt;
+        private volatile long lastActivityNanos = System.nanoTime();
+        private boolean closed;
+
+        private StreamChatRoom(Long campId) {
+            this.campId = campId;
+        }
+
+        /**
+         * 대기열에 메시지를 넣습니다. 방이 이미 닫혔으면 false를 반환합니다.
+         */
+        private synchronized boolean offer(PendingMessage message, long now) {
+            if (closed) {
+                return false;
+            }
+            lastActivityNanos = now;
+            pending.add(message);
+            return true;
+        }
+
+        /**
+         * 대기 중인 메시지가 없으면 방을 닫고 true를 반환합니다.
+         */
+        private synchronized boolean closeIfIdle() {
+            if (!pending.isEmpty()) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        /**
+         * 슬로우 모드 검사. 보낼 수 있으면 0을, 아니면 다시 보낼 수 있을 때까지 남은 시간(ns)을 반환합니다.
+         */
+        private long tryPass(String userEmail, long now) {
+            long interval = slowModeNanos;
+            if (interval == 0) {
+                return 0;
+            }
+            while (true) {
+                Long last = lastSentNanos.get(userEmail);
+                if (last != null && now - last < interval) {
+                    return interval - (now - last);
+                }
+                boolean updated = last == null
+                        ? lastSentNanos.putIfAbsent(userEmail, now) == null
+                        : lastSentNanos.replace(userEmail, last, now);
+                if (updated) {
+                    return 0;
+                }
+            }
+        }
+
+        private void evictExpiredSenders(long now) {
+            long interval = slowModeNanos;
+            lastSentNanos.values().removeIf(last -> now - last >= interval);
+        }
+    }
+}
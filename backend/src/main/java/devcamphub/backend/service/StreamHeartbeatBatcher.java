@@ -0,0 +1,98 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스트림 세션 HEARTBEAT를 노드 단위로 모아 한 번의 Redis 파이프라인으로 TTL을 갱신합니다.
+ *
+ * 방송자는 이미 열려 있는 STOMP 연결로 "/app/stream-heartbeat" 프레임을 보내고(HTTP 인증/사용자 조회 없음),
+ * 이 노드는 flush-interval마다 그동안 받은 세션들의 EXPIRE를 한꺼번에 보냅니다.
+ * 같은 세션의 HEARTBEAT가 한 주기에 여러 번 와도 한 번만 갱신합니다.
+ * EXPIRE는 키가 없으면 아무것도 하지 않으므로, 종료되었거나 만료된 세션은 되살아나지 않습니다.
+ */
+@Slf4j
+@Component
+public class StreamHeartbeatBatcher {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final DistributionSummary batchSize;
+    private final Counter unknownSessions;
+
+    public StreamHeartbeatBatcher(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.batchSize = DistributionSummary.builder("stream.heartbeat.batch.size")
+                .description("한 번의 파이프라인으로 TTL을 갱신한 스트림 세션 수")
+                .register(meterRegistry);
+        this.unknownSessions = Counter.builder("stream.heartbeat.unknown_session")
+                .description("존재하지 않는 스트림 세션에 대한 HEARTBEAT 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 다음 주기에 TTL을 갱신할 스트림 세션을 기록합니다.
+     */
+    public void record(String streamSessionId) {
+        pending.add(streamSessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // 꺼내는 도중 들어온 HEARTBEAT는 이번 주기 또는 다음 주기에 반영됩니다.
+        List<String> sessionIds = new ArrayList<>(pending.size());
+        for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            sessionIds.add(iterator.next());
+            iterator.remove();
+        }
+
+        List<Object> results;
+        try {
+            byte[] deadlinesKey = StreamSessionService.DEADLINES_KEY.getBytes(StandardCharsets.UTF_8);
+            double deadline = StreamSessionService.deadline(System.currentTimeMillis());
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String sessionId : sessionIds) {
+                    connection.keyCommands().expire(
+                            StreamSessionService.sessionKey(sessionId).getBytes(StandardCharsets.UTF_8),
+                            StreamSessionService.HEARTBEAT_TTL_SECONDS);
+                    // 만료 색인에 있는 세션만 마감 시각을 뒤로 미룹니다. (XX: 이미 정리된 세션은 다시 넣지 않음)
+                    connection.zSetCommands().zAdd(deadlinesKey, deadline,
+                            sessionId.getBytes(StandardCharsets.UTF_8), RedisZSetCommands.ZAddArgs.ifExists());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도합니다. (TTL에 여유가 있으므로 한 주기 실패로 세션이 만료되지 않음)
+            pending.addAll(sessionIds);
+            log.warn("Failed to refresh TTL of {} stream sessions: {}", sessionIds.size(), e.getMessage());
+            return;
+        }
+
+        batchSize.record(sessionIds.size());
+        for (int i = 0; i < sessionIds.size(); i++) {
+            if (!Boolean.TRUE.equals(results.get(i * 2))) {
+                unknownSessions.increment();
+                log.warn("HEARTBEAT for non-existent session: {}", sessionIds.get(i));
+            }
+        }
+        log.debug("Refreshed TTL of {} stream sessions", sessionIds.size());
+    }
+}
@@ -1,6 +1,7 @@
 package devcamphub.backend.service;
 
 import devcamphub.backend.domain.*;
+import devcamphub.backend.dto.ActiveStreamsSnapshot;
 import devcamphub.backend.dto.StreamCreateRequest;
 import devcamphub.backend.dto.StreamResponseDto;
 import devcamphub.backend.repository.CampRepository;
@@ -10,12 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -25,8 +21,8 @@ public class StreamService {
     private final StreamRepository streamRepository;
     private final UserRepository userRepository;
     private final CampRepository campRepository;
-
-    private final String uploadDir = "uploads/thumbnails";
+    private final ActiveStreamDirectory activeStreamDirectory;
+    private final ViewerCountService viewerCountService;
 
     @Transactional
     public StreamResponseDto createStream(Long campId, StreamCreateRequest request, String userEmail) {
@@ -47,14 +43,32 @@ public class StreamService {
                 .build();
 
         Stream savedStream = streamRepository.save(newStream);
-        return StreamResponseDto.from(savedStream);
+        // 방송자가 시그널링 방에 들어가기 전에 기록해 시청자 수에서 뺍니다.
+        viewerCountService.registerOwner(savedStream.getId(), user.getNickname());
+        StreamResponseDto response = StreamResponseDto.from(savedStream);
+        activeStreamDirectory.streamStarted(campId, response);
+        return response;
     }
 
+    // 활성 스트림 목록은 DB 대신 ActiveStreamDirectory(노드 메모리 + Redis)에서 읽습니다.
     public List<StreamResponseDto> getActiveStreams(Long campId) {
-        return streamRepository.findByCampIdAndStatus(campId, StreamStatus.ACTIVE)
-                .stream()
-                .map(StreamResponseDto::from)
-                .collect(Collectors.toList());
+        return activeStreamDirectory.getActiveStreams(campId);
+    }
+
+    public ActiveStreamsSnapshot getActiveStreamsSnapshot(Long campId) {
+        return activeStreamDirectory.getSnapshot(campId);
+    }
+
+    /**
+     * 스트림이 캠프에 속하고, 사용자가 그 캠프의 생성자 또는 멤버인지 확인합니다.
+     */
+    public void checkCampAccess(Long campId, Long streamId, String userEmail) {
+        if (!streamRepository.existsByIdAndCampId(streamId, campId)) {
+            throw new IllegalArgumentException("캠프에서 스트림을 찾을 수 없습니다.");
+        }
+        if (!campRepository.isParticipant(campId, userEmail)) {
+            throw new IllegalStateException("캠프에 참여한 사용자만 조회할 수 있습니다.");
+        }
     }
 
     @Transactional
@@ -69,37 +83,6 @@ public class StreamService {
 
         stream.endStream(); // 상태를 INACTIVE로 변경
         streamRepository.save(stream);
-    }
-
-    @Transactional
-    public void updateThumbnail(Long streamId, String base64ImageData) {
-        Stream stream = streamRepository.findById(streamId)
-                .orElseThrow(() -> new IllegalArgumentException("스트림을 찾을 수 없습니다."));
-
-        // 데이터 URL 접두사 제거 (e.g., "data:image/jpeg;base64,")
-        String imageDataBytes = base64ImageData.substring(base64ImageData.indexOf(",") + 1);
-
-        // Base64 디코딩
-        byte[] decodedBytes = Base64.getDecoder().decode(imageDataBytes);
-
-        // 파일 경로 및 디렉토리 설정
-        File uploadPath = new File(uploadDir);
-        if (!uploadPath.exists()) {
-            uploadPath.mkdirs();
-        }
-
-        // 파일 저장
-        String fileName = streamId + ".jpg";
-        File file = new File(uploadPath, fileName);
-        try (FileOutputStream fos = new FileOutputStream(file)) {
-            fos.write(decodedBytes);
-        } catch (IOException e) {
-            // TODO: 예외 처리 고도화
-            throw new RuntimeException("썸네일 파일 저장에 실패했습니다.", e);
-        }
-
-        // 엔티티에 파일 경로 저장
-        stream.setThumbnailPath(fileName);
-        streamRepository.save(stream);
+        activeStreamDirectory.streamsEnded(List.of(streamId));
     }
 }
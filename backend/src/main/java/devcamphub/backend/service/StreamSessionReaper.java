@@ -0,0 +1,188 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.StreamStatus;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HEARTBEAT가 끊겨 Redis 스트림 세션(stream:session:*)이 만료된 스트림을 DB에서도 종료합니다.
+ *
+ * 세션마다 만료 예정 시각을 Sorted Set(stream:session:deadlines)에 두고, 주기마다 마감이 지난 세션 후보를
+ * batch-size개씩 조회한 뒤 Lua 스크립트로 색인에서 꺼냅니다(claim). 스크립트는 후보의 마감을 다시 확인하고 꺼내므로
+ * 여러 노드가 동시에 실행해도 한 세션은 한 노드만 처리합니다. 세션 키가 아직 살아 있으면(HEARTBEAT가 색인보다 먼저 반영된 경우 등)
+ * 꺼내지 않고 남은 TTL만큼 마감을 미룹니다.
+ * 꺼낸 세션들의 스트림은 하나의 UPDATE 문으로 종료하며, 이미 종료된 스트림은 조건(status = ACTIVE)에서 걸러지므로
+ * 같은 스트림을 여러 번 종료해도 결과는 같습니다.
+ */
+@Slf4j
+@Component
+public class StreamSessionReaper {
+
+    /**
+     * 후보 세션 중 아직 마감이 지나 있는 세션을 색인에서 꺼내고, 꺼낸 세션 ID와 스트림 ID를 번갈아 담아 반환합니다.
+     * 조회 후 다른 노드가 먼저 꺼냈거나 HEARTBEAT로 마감이 미뤄진 후보는 건너뜁니다.
+     * KEYS[1]=마감 색인 Sorted Set, KEYS[2]=세션 → 스트림 ID Hash, KEYS[2 + i]=ARGV[1 + i] 세션의 세션 키
+     * ARGV[1]=현재 시각(ms), ARGV[1 + i]=후보 세션 ID
+     */
+    private static final RedisScript<List> CLAIM_EXPIRED_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local claimed = {}
+            for i = 2, #ARGV do
+                local sessionId = ARGV[i]
+                local deadline = redis.call('ZSCORE', KEYS[1], sessionId)
+                if deadline and tonumber(deadline) <= now then
+                    local ttl = redis.call('PTTL', KEYS[i + 1])
+                    if ttl > 0 then
+                        redis.call('ZADD', KEYS[1], now + ttl, sessionId)
+                    else
+                        redis.call('ZREM', KEYS[1], sessionId)
+                        local streamId = redis.call('HGET', KEYS[2], sessionId)
+                        redis.call('HDEL', KEYS[2], sessionId)
+                        if streamId then
+                            table.insert(claimed, sessionId)
+                            table.insert(claimed, streamId)
+                        end
+                    end
+                end
+            end
+            return claimed
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final StreamRepository streamRepository;
+    private final ActiveStreamDirectory activeStreamDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter reapedSessions;
+    private final Counter endedStreams;
+
+    public StreamSessionReaper(RedisTemplate<String, String> redisTemplate,
+            StreamRepository streamRepository,
+            ActiveStreamDirectory activeStreamDirectory,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stream.reaper.batch-size:500}") int batchSize,
+            @Value("${stream.reaper.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.redisTemplate = redisTemplate;
+        this.streamRepository = streamRepository;
+        this.activeStreamDirectory = activeStreamDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.reapedSessions = Counter.builder("stream.reaper.reaped.sessions")
+                .description("HEARTBEAT가 끊겨 만료 처리한 스트림 세션 수")
+                .register(meterRegistry);
+        this.endedStreams = Counter.builder("stream.reaper.ended.streams")
+                .description("세션 만료로 DB에서 종료한 스트림 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${stream.reaper.interval-ms:10000}")
+    public void reapExpiredSessions() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (reapBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reap expired stream sessions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 마감이 지난 세션을 한 번 꺼내 처리하고, 꺼낸 세션 수를 반환합니다.
+     */
+    private int reapBatch() {
+        List<String> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<String> sessionIds = new ArrayList<>(claimed.size() / 2);
+        List<Long> streamIds = new ArrayList<>(claimed.size() / 2);
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            sessionIds.add(claimed.get(i));
+            streamIds.add(Long.valueOf(claimed.get(i + 1)));
+        }
+
+        Integer ended;
+        try {
+            ended = transactionTemplate.execute(status -> streamRepository.endActiveStreams(
+                    streamIds, LocalDateTime.now(), StreamStatus.ACTIVE, StreamStatus.ENDED));
+        } catch (RuntimeException e) {
+            // 색인에 되돌려 다음 주기(또는 다른 노드)에서 다시 시도합니다.
+            restore(sessionIds, streamIds);
+            throw e;
+        }
+
+        activeStreamDirectory.streamsEnded(streamIds);
+        reapedSessions.increment(sessionIds.size());
+        if (ended != null && ended > 0) {
+            endedStreams.increment(ended);
+            log.warn("Ended {} streams whose sessions expired without STOP ({} sessions reaped)",
+                    ended, sessionIds.size());
+        }
+        return sessionIds.size();
+    }
+
+    /**
+     * 마감이 지난 후보를 조회한 뒤, 스크립트가 건드리는 세션 키를 모두 KEYS로 넘겨 꺼냅니다.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> claim() {
+        long now = System.currentTimeMillis();
+        Set<String> due = redisTemplate.opsForZSet()
+                .rangeByScore(StreamSessionService.DEADLINES_KEY, Double.NEGATIVE_INFINITY, now, 0, batchSize);
+        if (due == null || due.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(due.size() + 2);
+        keys.add(StreamSessionService.DEADLINES_KEY);
+        keys.add(StreamSessionService.STREAM_IDS_KEY);
+        List<String> args = new ArrayList<>(due.size() + 1);
+        args.add(String.valueOf(now));
+        for (String sessionId : due) {
+            keys.add(StreamSessionService.SESSION_PREFIX + sessionId);
+            args.add(sessionId);
+        }
+        List<String> claimed = redisTemplate.execute(CLAIM_EXPIRED_SCRIPT, keys, args.toArray());
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void restore(List<String> sessionIds, List<Long> streamIds) {
+        byte[] deadlinesKey = bytes(StreamSessionService.DEADLINES_KEY);
+        byte[] streamIdsKey = bytes(StreamSessionService.STREAM_IDS_KEY);
+        // 바로 다시 꺼내지 않도록 한 주기 뒤로 미룹니다.
+        double retryAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < sessionIds.size(); i++) {
+                byte[] sessionId = bytes(sessionIds.get(i));
+                connection.hashCommands().hSet(streamIdsKey, sessionId, bytes(streamIds.get(i).toString()));
+                connection.zSetCommands().zAdd(deadlinesKey, retryAt, sessionId);
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
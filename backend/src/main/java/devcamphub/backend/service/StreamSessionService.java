@@ -2,9 +2,11 @@ package devcamphub.backend.service;
 
 import devcamphub.backend.domain.Role;
 import devcamphub.backend.domain.Stream;
+import devcamphub.backend.domain.StreamStatus;
 import devcamphub.backend.domain.StreamType;
 import devcamphub.backend.domain.User;
 import devcamphub.backend.dto.StreamEventRequest;
+import devcamphub.backend.dto.StreamResponseDto;
 import devcamphub.backend.repository.CampRepository;
 import devcamphub.backend.repository.StreamRepository;
 import devcamphub.backend.repository.UserRepository;
@@ -14,6 +16,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -25,14 +28,30 @@ public class StreamSessionService {
     private final StreamRepository streamRepository;
     private final UserRepository userRepository;
     private final CampRepository campRepository;
+    private final StreamHeartbeatBatcher heartbeatBatcher;
+    private final ActiveStreamDirectory activeStreamDirectory;
 
-    private static final String SESSION_PREFIX = "stream:session:";
-    private static final long HEARTBEAT_TTL_SECONDS = 45; // 30초마다 하트비트, 15초의 여유시간
+    static final String SESSION_PREFIX = "stream:session:";
+    // 세션별 만료 예정 시각(epoch ms) 색인과 세션 → 스트림 ID. 세션 키가 만료된 뒤 StreamSessionReaper가 스트림을 종료할 때 사용
+    static final String DEADLINES_KEY = "stream:session:deadlines";
+    static final String STREAM_IDS_KEY = "stream:session:stream-ids";
+    static final long HEARTBEAT_TTL_SECONDS = 45; // 30초마다 하트비트, 15초의 여유시간
 
-    private String getSessionKey(String streamSessionId) {
+    static String sessionKey(String streamSessionId) {
         return SESSION_PREFIX + streamSessionId;
     }
 
+    /**
+     * HEARTBEAT가 더 오지 않으면 세션 키가 만료될 시각(epoch ms)
+     */
+    static double deadline(long nowMillis) {
+        return nowMillis + TimeUnit.SECONDS.toMillis(HEARTBEAT_TTL_SECONDS);
+    }
+
+    private String getSessionKey(String streamSessionId) {
+        return sessionKey(streamSessionId);
+    }
+
     @Transactional
     public void handleStreamEvent(StreamEventRequest request, String userEmail) {
         String sessionKey = getSessionKey(request.streamSessionId());
@@ -43,7 +62,7 @@ public class StreamSessionService {
                 break;
 
             case HEARTBEAT:
-                heartbeatStream(sessionKey);
+                heartbeatStream(request.streamSessionId());
                 break;
 
             case STOP:
@@ -56,6 +75,21 @@ public class StreamSessionService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail));
 
+        Stream newStream = request.streamId() != null
+                ? attachableStream(request.streamId(), userEmail)
+                : createStream(request, user);
+
+        // Redis에 세션 정보 저장
+        redisTemplate.opsForHash().put(sessionKey, "streamId", newStream.getId().toString());
+        redisTemplate.opsForHash().put(sessionKey, "userId", user.getId().toString());
+        redisTemplate.expire(sessionKey, HEARTBEAT_TTL_SECONDS, TimeUnit.SECONDS);
+        redisTemplate.opsForHash().put(STREAM_IDS_KEY, request.streamSessionId(), newStream.getId().toString());
+        redisTemplate.opsForZSet().add(DEADLINES_KEY, request.streamSessionId(), deadline(System.currentTimeMillis()));
+
+        log.info("Stream START: sessionId={}, streamId={}, userId={}", request.streamSessionId(), newStream.getId(), user.getId());
+    }
+
+    private Stream createStream(StreamEventRequest request, User user) {
         // 스트림 타입 결정 (관리자는 LIVE, 학생은 MOGAKCO)
         StreamType streamType = (user.getRole() == Role.ADMIN) ? StreamType.LIVE : StreamType.MOGAKCO;
 
@@ -67,23 +101,34 @@ public class StreamSessionService {
                 .type(streamType)
                 .build();
         streamRepository.save(newStream);
-
-        // Redis에 세션 정보 저장
-        redisTemplate.opsForHash().put(sessionKey, "streamId", newStream.getId().toString());
-        redisTemplate.opsForHash().put(sessionKey, "userId", user.getId().toString());
-        redisTemplate.expire(sessionKey, HEARTBEAT_TTL_SECONDS, TimeUnit.SECONDS);
-
-        log.info("Stream START: sessionId={}, streamId={}, userId={}", request.streamSessionId(), newStream.getId(), user.getId());
+        if (newStream.getCamp() != null) {
+            activeStreamDirectory.streamStarted(newStream.getCamp().getId(), StreamResponseDto.from(newStream));
+        }
+        return newStream;
     }
 
-    private void heartbeatStream(String sessionKey) {
-        // 세션의 TTL(Time-To-Live)만 갱신
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey))) {
-            redisTemplate.expire(sessionKey, HEARTBEAT_TTL_SECONDS, TimeUnit.SECONDS);
-            log.debug("Stream HEARTBEAT: sessionId={}", sessionKey);
-        } else {
-            log.warn("HEARTBEAT for non-existent session: {}", sessionKey);
+    /**
+     * 이미 만든 스트림에 세션을 연결합니다. 진행 중인 자신의 스트림만 연결할 수 있습니다.
+     */
+    private Stream attachableStream(Long streamId, String userEmail) {
+        Stream stream = streamRepository.findById(streamId)
+                .orElseThrow(() -> new IllegalArgumentException("스트림을 찾을 수 없습니다."));
+        if (!stream.getOwner().getEmail().equals(userEmail)) {
+            throw new IllegalStateException("스트림에 세션을 연결할 권한이 없습니다.");
         }
+        if (stream.getStatus() != StreamStatus.ACTIVE) {
+            throw new IllegalArgumentException("이미 종료된 스트림입니다.");
+        }
+        return stream;
+    }
+
+    /**
+     * 세션의 TTL(Time-To-Live)만 갱신합니다.
+     * 다른 세션들의 HEARTBEAT와 모아 다음 주기에 한 번의 Redis 파이프라인으로 반영됩니다. (StreamHeartbeatBatcher)
+     * STOMP "/app/stream-heartbeat"로 받은 HEARTBEAT도 여기로 들어옵니다.
+     */
+    public void heartbeatStream(String streamSessionId) {
+        heartbeatBatcher.record(streamSessionId);
     }
 
     private void stopStream(String sessionKey) {
@@ -96,6 +141,7 @@ public class StreamSessionService {
             streamRepository.findById(streamId).ifPresent(stream -> {
                 stream.endStream();
                 streamRepository.save(stream);
+                activeStreamDirectory.streamsEnded(List.of(streamId));
                 log.info("Stream STOPPED in DB: streamId={}", streamId);
             });
         } else {
@@ -104,6 +150,9 @@ public class StreamSessionService {
 
         // Redis에서 세션 정보 삭제
         redisTemplate.delete(sessionKey);
+        String streamSessionId = sessionKey.substring(SESSION_PREFIX.length());
+        redisTemplate.opsForZSet().remove(DEADLINES_KEY, streamSessionId);
+        redisTemplate.opsForHash().delete(STREAM_IDS_KEY, streamSessionId);
         log.info("Stream session deleted from Redis: {}", sessionKey);
     }
 }
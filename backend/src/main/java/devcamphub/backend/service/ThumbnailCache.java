@@ -0,0 +1,90 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 자주 요청되는 썸네일 파일 내용을 메모리에 두는 LRU 캐시입니다.
+ *
+ * 썸네일 파일 이름에는 내용 해시가 들어가고 같은 이름의 파일은 내용이 바뀌지 않으므로(ThumbnailService),
+ * 캐시된 내용이 오래될 일이 없어 무효화 없이 용량(max-bytes)만 관리합니다.
+ * max-entry-bytes보다 큰 파일은 캐시하지 않고 항상 파일에서 보냅니다.
+ */
+@Component
+public class ThumbnailCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    // 접근 순서로 정렬되어 가장 오래 쓰이지 않은 항목이 맨 앞에 옵니다.
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ThumbnailCache(MeterRegistry meterRegistry,
+            @Value("${stream.thumbnail.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${stream.thumbnail.cache.max-entry-bytes:262144}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.hits = Counter.builder("stream.thumbnail.cache.requests")
+                .description("썸네일 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("stream.thumbnail.cache.requests")
+                .description("썸네일 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("stream.thumbnail.cache.bytes", this, ThumbnailCache::size)
+                .description("캐시된 썸네일 크기 합계(바이트)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 파일 내용을 반환합니다. 없으면 null. (반환한 배열은 수정하지 않아야 합니다)
+     */
+    public byte[] get(String fileName) {
+        byte[] content;
+        synchronized (this) {
+            content = entries.get(fileName);
+        }
+        (content != null ? hits : misses).increment();
+        return content;
+    }
+
+    /**
+     * 이 크기의 파일을 캐시에 넣을 수 있는지 반환합니다.
+     */
+    public boolean admits(long size) {
+        return size <= maxEntryBytes;
+    }
+
+    public synchronized void put(String fileName, byte[] content) {
+        if (!admits(content.length)) {
+            return;
+        }
+        byte[] previous = entries.put(fileName, content);
+        totalBytes += content.length - (previous != null ? previous.length : 0);
+        for (Iterator<byte[]> iterator = entries.values().iterator(); totalBytes > maxBytes && iterator.hasNext(); ) {
+            totalBytes -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    public synchronized void evict(String fileName) {
+        byte[] removed = entries.remove(fileName);
+        if (removed != null) {
+            totalBytes -= removed.length;
+        }
+    }
+
+    public synchronized long size() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,402 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.Stream;
+import devcamphub.backend.dto.StreamResponseDto;
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스트림 썸네일 업로드를 처리합니다.
+ *
+ * 요청 본문(이미지 바이너리)은 힙에 모으지 않고 NIO 채널로 임시 파일에 바로 옮깁니다.
+ * 파일이 작아도 헤더에 큰 크기를 적으면 디코딩할 때 큰 메모리를 잡으므로, 대기열에 넣기 전에 헤더의 가로/세로만 읽어
+ * 픽셀 수(max-pixels)를 확인합니다.
+ * 디코딩과 크기별(widths) 축소는 크기가 정해진 작업 스레드 풀에서 비동기로 처리하며, 대기열이 가득 차면 업로드를 거절합니다.
+ * 크기별 파일은 임시 파일로 쓴 뒤 원자적 rename으로 공개하므로 읽는 쪽이 덜 쓰인 파일을 보지 않고,
+ * 모든 파일이 공개된 뒤에야 짧은 트랜잭션으로 thumbnailPath를 커밋합니다. (파일 입출력 중에는 DB 연결을 잡지 않음)
+ *
+ * 같은 스트림의 썸네일은 한 번에 하나씩 처리합니다. 동시에 올라온 두 썸네일이 서로의 파일을 이전 썸네일로 보고 지우지 않도록
+ * 커밋과 이전 파일 삭제를 같은 잠금 안에서 하며, 나중에 커밋한 썸네일이 남습니다.
+ *
+ * 파일 이름에 내용 해시를 같은 이름의 파일은 내용이 절대 바뀌지 않게 하므로,
+ * 클라이언트와 중간 캐시는 썸네일 URL을 만료 없이 캐시할 수 있습니다. (새 썸네일은 새 URL로 알려짐)
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    /**
+     * 썸네일 파일이 공개되는 디렉토리 (GET /thumbnails/{fileName})
+     */
+    public static final Path THUMBNAIL_DIR = Paths.get("uploads", "thumbnails");
+
+    private static final String UPLOAD_SUFFIX = ".upload";
+    private static final String PARTIAL_SUFFIX = ".partial";
+    /**
+     * 내용 해시가 들어간 썸네일 파일 이름: {streamId}-{width}-{내용 해시 16자}.jpg
+     */
+    public static final String HASHED_FILE_NAME = "(\\d+)-(\\d+)-([0-9a-f]{16})\\.jpg";
+    private static final Pattern HASHED_NAME = Pattern.compile(HASHED_FILE_NAME);
+    // 스트림별 처리 잠금 (스트림 ID로 고르는 고정 개수의 잠금)
+    private static final int LOCK_STRIPES = 64;
+
+    private final StreamRepository streamRepository;
+    private final ActiveStreamDirectory activeStreamDirectory;
+    private final ThumbnailCache thumbnailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Path tempDir;
+    private final long maxUploadBytes;
+    private final long maxPixels;
+    private final int[] widths;
+    private final ThreadPoolExecutor workers;
+    private final Object[] streamLocks = new Object[LOCK_STRIPES];
+
+    private final Timer processingLatency;
+    private final Counter rejected;
+    private final Counter failures;
+
+    public ThumbnailService(StreamRepository streamRepository,
+            ActiveStreamDirectory activeStreamDirectory,
+            ThumbnailCache thumbnailCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stream.thumbnail.max-upload-bytes:5242880}") long maxUploadBytes,
+            @Value("${stream.thumbnail.max-pixels:16777216}") long maxPixels,
+            @Value("${stream.thumbnail.widths:640,320,160}") int[] widths,
+            @Value("${stream.thumbnail.workers:2}") int workerCount,
+            @Value("${stream.thumbnail.queue-capacity:32}") int queueCapacity) {
+        if (widths.length == 0) {
+            throw new IllegalArgumentException("썸네일 크기를 하나 이상 지정해야 합니다.");
+        }
+        this.streamRepository = streamRepository;
+        this.activeStreamDirectory = activeStreamDirectory;
+        this.thumbnailCache = thumbnailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 정적 리소스로 공개되지 않는 곳에 두되, rename이 같은 파일 시스템 안에서 일어나도록 uploads 아래에 둡니다.
+        this.tempDir = Paths.get("uploads", "tmp");
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxPixels = maxPixels;
+        // 가장 큰 크기가 대표 썸네일(thumbnailPath)이 됩니다.
+        Arrays.setAll(streamLocks, i -> new Object());
+        this.widths = Arrays.stream(widths).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.processingLatency = Timer.builder("stream.thumbnail.processing")
+                .description("썸네일 디코딩부터 thumbnailPath 커밋까지 걸린 시간")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("stream.thumbnail.rejected")
+                .description("처리 대기열이 가득 차 거절한 썸네일 업로드 수")
+                .register(meterRegistry);
+        this.failures = Counter.builder("stream.thumbnail.failures")
+                .description("디코딩 또는 저장에 실패한 썸네일 수")
+                .register(meterRegistry);
+        Gauge.builder("stream.thumbnail.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("처리를 기다리는 썸네일 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미지 바이너리를 받아 처리 대기열에 넣습니다.
+     * 대기열이 가득 차 받지 못했으면 false를 반환합니다. (처리 결과는 활성 스트림 목록 변경으로 전달됨)
+     */
+    public boolean upload(Long streamId, String userEmail, InputStream body) {
+        checkOwner(streamId, userEmail);
+        Path source = receive(streamId, body);
+        try {
+            checkDimensions(source);
+        } catch (IllegalArgumentException e) {
+            deleteQuietly(source);
+            throw e;
+        }
+        try {
+            workers.execute(() -> process(streamId, source));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            deleteQuietly(source);
+            log.warn("Rejected thumbnail upload for stream {}: processing queue is full", streamId);
+            return false;
+        }
+    }
+
+    /**
+     * 데이터 URL(e.g., "data:image/jpeg;base64,...") 형식의 기존 업로드를 처리합니다.
+     * 디코딩한 바이트 배열을 따로 만들지 않고 디코딩 스트림을 그대로 임시 파일로 옮깁니다.
+     */
+    public boolean uploadBase64(Long streamId, String userEmail, String dataUrl) {
+        if (dataUrl == null || dataUrl.isBlank()) {
+            throw new IllegalArgumentException("썸네일 데이터가 비어 있습니다.");
+        }
+        byte[] encoded = dataUrl.substring(dataUrl.indexOf(',') + 1).getBytes(StandardCharsets.US_ASCII);
+        return upload(streamId, userEmail, Base64.getDecoder().wrap(new ByteArrayInputStream(encoded)));
+    }
+
+    private void checkOwner(Long streamId, String userEmail) {
+        String ownerEmail = streamRepository.findOwnerEmailById(streamId)
+                .orElseThrow(() -> new IllegalArgumentException("스트림을 찾을 수 없습니다."));
+        // 스트림 소유자만 썸네일을 바꿀 수 있도록 권한 확인
+        if (!ownerEmail.equals(userEmail)) {
+            throw new IllegalStateException("썸네일을 변경할 권한이 없습니다.");
+        }
+    }
+
+    /**
+     * 요청 본문을 임시 파일로 옮깁니다.
+     * 최대 크기보다 1바이트 더 읽어 보고, 넘치면 파일을 지우고 거절합니다.
+     */
+    private Path receive(Long streamId, InputStream body) {
+        Path source = null;
+        try {
+            Files.createDirectories(tempDir);
+            Files.createDirectories(THUMBNAIL_DIR);
+            source = Files.createTempFile(tempDir, streamId + "-", UPLOAD_SUFFIX);
+            long size = 0;
+            try (ReadableByteChannel in = Channels.newChannel(body);
+                 FileChannel out = FileChannel.open(source, StandardOpenOption.WRITE)) {
+                long transferred;
+                while (size <= maxUploadBytes
+                        && (transferred = out.transferFrom(in, size, maxUploadBytes + 1 - size)) > 0) {
+                    size += transferred;
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("썸네일 데이터가 비어 있습니다.");
+            }
+            if (size > maxUploadBytes) {
+                throw new IllegalArgumentException("썸네일은 " + maxUploadBytes + "바이트 이하여야 합니다.");
+            }
+            return source;
+        } catch (IllegalArgumentException e) {
+            deleteQuietly(source);
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(source);
+            // Base64 디코딩 스트림은 잘못된 입력을 IOException으로 알립니다.
+            throw new IllegalArgumentException("썸네일 데이터를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 이미지를 디코딩하지 않고 헤더에서 가로/세로만 읽어, 지원하지 않는 형식이거나 픽셀 수가 max-pixels를 넘으면 거절합니다.
+     */
+    private void checkDimensions(Path source) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("썸네일은 " + maxPixels + "픽셀 이하여야 합니다.");
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("썸네일 데이터를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private void process(Long streamId, Path source) {
+        Timer.Sample sample = Timer.start();
+        try {
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                failures.increment();
+                log.warn("Discarded thumbnail for stream {}: unsupported image format", streamId);
+                return;
+            }
+            synchronized (streamLocks[Math.floorMod(streamId.hashCode(), LOCK_STRIPES)]) {
+                Set<String> published = new LinkedHashSet<>();
+                for (int width : widths) {
+                    published.add(publish(scale(image, width), streamId, width));
+                }
+                commit(streamId, published.iterator().next());
+                sample.stop(processingLatency);
+                deleteStale(streamId, published);
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to process thumbnail for stream {}: {}", streamId, e.getMessage());
+        } finally {
+            deleteQuietly(source);
+        }
+    }
+
+    /**
+     * 원본 비율을 유지한 채 width 너비로 줄입니다. 원본이 더 작으면 키우지 않습니다.
+     * JPEG는 투명도를 지원하지 않으므로 항상 RGB 이미지로 그립니다.
+     */
+    private static BufferedImage scale(BufferedImage image, int width) {
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * JPEG로 인코딩해 내용 해시가 들어간 이름으로 공개하고, 공개한 파일 이름을 반환합니다.
+     * 임시 파일에 쓴 뒤 원자적 rename으로 공개합니다. (같은 내용이면 같은 이름이므로 덮어써도 내용은 같음)
+     */
+    private String publish(BufferedImage image, Long streamId, int width) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", encoded)) {
+            throw new IOException("No JPEG writer available");
+        }
+        byte[] content = encoded.toByteArray();
+        String fileName = streamId + "-" + width + "-" + hash(content) + ".jpg";
+
+        Path partial = Files.createTempFile(tempDir, fileName + "-", PARTIAL_SUFFIX);
+        try {
+            Files.write(partial, content);
+            Files.move(partial, THUMBNAIL_DIR.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            return fileName;
+        } finally {
+            deleteQuietly(partial);
+        }
+    }
+
+    /**
+     * SHA-256의 앞 8바이트(16진수 16자)
+     */
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 내용 해시가 들어간 썸네일 파일 이름이면 그 해시를, 아니면(해시 도입 전 파일 등) null을 반환합니다.
+     */
+    public static String contentHash(String fileName) {
+        Matcher matcher = HASHED_NAME.matcher(fileName);
+        return matcher.matches() ? matcher.group(3) : null;
+    }
+
+    /**
+     * 새 썸네일이 커밋된 뒤 같은 스트림의 이전 썸네일 파일을 지웁니다.
+     */
+    private void deleteStale(Long streamId, Set<String> published) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(THUMBNAIL_DIR, streamId + "{-*,}.jpg")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                Matcher matcher = HASHED_NAME.matcher(fileName);
+                // 해시 도입 전 이름({streamId}.jpg, {streamId}-{width}.jpg)도 함께 정리합니다.
+                boolean sameStream = matcher.matches()
+                        ? matcher.group(1).equals(streamId.toString())
+                        : fileName.matches(streamId + "(-\\d+)?\\.jpg");
+                if (sameStream && !published.contains(fileName)) {
+                    thumbnailCache.evict(fileName);
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete stale thumbnails for stream {}: {}", streamId, e.getMessage());
+        }
+    }
+
+    private void commit(Long streamId, String thumbnailPath) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Stream stream = streamRepository.findById(streamId).orElse(null);
+            if (stream == null) {
+                return;
+            }
+            stream.setThumbnailPath(thumbnailPath);
+            // 목록에 있는(활성) 스트림만 갱신되며, 커밋 후에 반영됩니다. (캠프 없는 스트림은 목록에 없음)
+            if (stream.getCamp() != null) {
+                activeStreamDirectory.streamUpdated(stream.getCamp().getId(), StreamResponseDto.from(stream));
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary thumbnail file {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.User;
+import devcamphub.backend.dto.UserSnapshot;
+import devcamphub.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이메일(Principal 이름) → UserSnapshot 캐시입니다.
+ * STOMP CONNECT 인증 시 이미 조회한 사용자로 채워지므로, 이후 채팅 전송과 세션 등록은 DB를 조회하지 않습니다.
+ * 프로필(닉네임) 변경 시에는 커밋 이후 무효화되어 다음 조회에서 새 닉네임을 읽어옵니다.
+ * 무효화는 Redis Pub/Sub(user:snapshot:evict)으로 모든 노드에 전달되므로, 다른 노드도 이전 닉네임을 계속 쓰지 않습니다.
+ *
+ * 무효화될 때마다 버전이 오르며, 캐시에 넣는 쪽은 사용자를 조회하기 전의 버전을 함께 넘깁니다.
+ * 조회 이후 무효화가 있었으면 그 값은 이전 닉네임일 수 있으므로 캐시에 남기지 않습니다.
+ */
+@Slf4j
+@Component
+public class UserSnapshotCache implements MessageListener {
+
+    static final String EVICT_CHANNEL = "user:snapshot:evict";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final Map<String, UserSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final int maxSize;
+    private RedisMessageListenerContainer container;
+
+    public UserSnapshotCache(UserRepository userRepository,
+            RedisTemplate<String, String> redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            @Value("${ws.user-snapshot-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 현재 무효화 버전입니다. 사용자를 조회하기 전에 읽어 put에 넘깁니다.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * loadedAtVersion 이후 무효화가 없었을 때만 캐시에 남깁니다.
+     * 넣은 뒤 버전을 다시 확인하므로, 넣는 사이 끼어든 무효화도 놓치지 않습니다. (무효화는 버전을 먼저 올리고 지움)
+     */
+    public UserSnapshot put(User user, long loadedAtVersion) {
+        UserSnapshot snapshot = UserSnapshot.from(user);
+        if (version.get() != loadedAtVersion) {
+            return snapshot;
+        }
+        if (snapshots.size() >= maxSize && !snapshots.containsKey(snapshot.email())) {
+            evictOne();
+        }
+        snapshots.put(snapshot.email(), snapshot);
+        if (version.get() != loadedAtVersion) {
+            snapshots.remove(snapshot.email(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 캐시에 없으면(만료/무효화) DB에서 한 번 조회해 다시 채웁니다.
+     */
+    public UserSnapshot getOrLoad(String email) {
+        UserSnapshot snapshot = snapshots.get(email);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long loadedAtVersion = version.get();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+        return put(user, loadedAtVersion);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 모든 노드에서 스냅샷을 무효화합니다.
+     * (커밋 전에 지우면 동시에 들어온 요청이 이전 닉네임을 다시 캐시할 수 있습니다.)
+     */
+    public void evictAfterCommit(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(email);
+                }
+            });
+        } else {
+            evictEverywhere(email);
+        }
+    }
+
+    private void evictEverywhere(String email) {
+        evict(email);
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, email);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish user snapshot eviction for {}: {}", email, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evict(String email) {
+        version.incrementAndGet();
+        snapshots.remove(email);
+    }
+
+    private void evictOne() {
+        // 상한을 넘으면 임의의 항목 하나를 제거합니다. (제거된 사용자는 다음 전송 때 한 번만 다시 조회)
+        Iterator<String> iterator = snapshots.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.dto.ViewerSample;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스트림별 시청자 수를 집계합니다.
+ *
+ * 현재 시청자 수(원자적 카운터)와 누적 시청자 수(HyperLogLog)는 WebSocketSessionRegistry의 방 참여/퇴장 스크립트가
+ * 방 Set이 실제로 바뀔 때만 함께 갱신하므로, 여러 노드에서 들어오고 나가도 중복 집계되지 않습니다.
+ * (/app/signal/join, 연결 끊김, 죽은 노드 정리 모두 같은 스크립트를 거침)
+ * 스트림을 만들 때 방송자 닉네임을 기록해 두며(registerOwner), 스크립트는 방송자를 시청자 수에 넣지 않습니다.
+ *
+ * 이 서비스는 sample-interval마다 한 노드만(Redis 잠금) 모든 활성 스트림의 값을 한 번의 파이프라인으로 읽어
+ * 스트림별 시계열(Sorted Set, 점수 = 시각)에 기록하고, 바뀐 값은 활성 스트림 목록(ActiveStreamDirectory)에 반영합니다.
+ */
+@Slf4j
+@Component
+public class ViewerCountService {
+
+    private static final String SERIES_SUFFIX = ":series";
+    private static final String SAMPLER_LOCK_KEY = "stream:viewers:sampler:lock";
+    // 종료된 스트림의 카운터/시계열은 마지막 기록 후 이 시간이 지나면 Redis에서 사라집니다.
+    private static final Duration KEY_TTL = Duration.ofDays(1);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ActiveStreamDirectory activeStreamDirectory;
+    private final long sampleIntervalMs;
+    private final long retentionMs;
+
+    public ViewerCountService(RedisTemplate<String, String> redisTemplate,
+            ActiveStreamDirectory activeStreamDirectory,
+            @Value("${stream.viewers.sample-interval-ms:10000}") long sampleIntervalMs,
+            @Value("${stream.viewers.retention-minutes:360}") long retentionMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.activeStreamDirectory = activeStreamDirectory;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.retentionMs = Duration.ofMinutes(retentionMinutes).toMillis();
+    }
+
+    /**
+     * 스트림의 방송자 닉네임을 기록합니다. 방송자가 방에 들어가기 전에 호출해야 시청자 수에서 빠집니다.
+     */
+    public void registerOwner(Long streamId, String ownerNickname) {
+        redisTemplate.opsForValue().set(ownerKey(streamId), ownerNickname, KEY_TTL);
+    }
+
+    @Scheduled(fixedDelayString = "${stream.viewers.sample-interval-ms:10000}")
+    public void sample() {
+        try {
+            // 같은 주기에 여러 노드가 중복 기록하지 않도록 주기보다 조금 짧게 잠급니다.
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(SAMPLER_LOCK_KEY, "1",
+                    Duration.ofMillis(Math.max(1, sampleIntervalMs - 500))))) {
+                return;
+            }
+            Map<Long, Long> streamCamps = activeStreamDirectory.getActiveStreamCamps();
+            if (streamCamps.isEmpty()) {
+                return;
+            }
+            List<Long> streamIds = new ArrayList<>(streamCamps.keySet());
+            long now = System.currentTimeMillis();
+            List<ViewerSample> samples = record(streamIds, now);
+            for (int i = 0; i < streamIds.size(); i++) {
+                ViewerSample sample = samples.get(i);
+                activeStreamDirectory.viewersChanged(streamCamps.get(streamIds.get(i)), streamIds.get(i),
+                        sample.viewers(), sample.uniqueViewers());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to sample stream viewer counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스트림들의 현재 값을 읽어 시계열에 기록하고 반환합니다. (읽기 1회 + 쓰기 1회 파이프라인)
+     */
+    private List<ViewerSample> record(List<Long> streamIds, long now) {
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long streamId : streamIds) {
+                connection.stringCommands().get(bytes(currentKey(streamId)));
+                connection.hyperLogLogCommands().pfCount(bytes(uniqueKey(streamId)));
+            }
+            return null;
+        });
+
+        List<ViewerSample> samples = new ArrayList<>(streamIds.size());
+        for (int i = 0; i < streamIds.size(); i++) {
+            Object current = counts.get(i * 2);
+            Object unique = counts.get(i * 2 + 1);
+            long viewers = current != null ? Math.max(0, Long.parseLong(current.toString())) : 0;
+            samples.add(new ViewerSample(now, viewers, unique instanceof Long value ? value : 0));
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < streamIds.size(); i++) {
+                Long streamId = streamIds.get(i);
+                ViewerSample sample = samples.get(i);
+                byte[] seriesKey = bytes(seriesKey(streamId));
+                connection.zSetCommands().zAdd(seriesKey, now,
+                        bytes(now + ":" + sample.viewers() + ":" + sample.uniqueViewers()));
+                connection.zSetCommands().zRemRangeByScore(seriesKey, 0, now - retentionMs);
+                connection.keyCommands().expire(seriesKey, KEY_TTL.toSeconds());
+                connection.keyCommands().expire(bytes(currentKey(streamId)), KEY_TTL.toSeconds());
+                connection.keyCommands().expire(bytes(uniqueKey(streamId)), KEY_TTL.toSeconds());
+                connection.keyCommands().expire(bytes(ownerKey(streamId)), KEY_TTL.toSeconds());
+            }
+            return null;
+        });
+        return samples;
+    }
+
+    /**
+     * 최근 minutes분 동안 기록된 시청자 수 시계열을 시간순으로 반환합니다.
+     */
+    public List<ViewerSample> getHistory(Long streamId, int minutes) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("조회 기간은 1분 이상이어야 합니다.");
+        }
+        long now = System.currentTimeMillis();
+        long from = now - Math.min(Duration.ofMinutes(minutes).toMillis(), retentionMs);
+        Set<String> entries = redisTemplate.opsForZSet().rangeByScore(seriesKey(streamId), from, now);
+        if (entries == null) {
+            return List.of();
+        }
+        List<ViewerSample> history = new ArrayList<>(entries.size());
+        for (String entry : entries) {
+            String[] parts = entry.split(":");
+            history.add(new ViewerSample(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+        }
+        return history;
+    }
+
+    private static String currentKey(Long streamId) {
+        return WebSocketSessionRegistry.viewersCurrentKey(streamId.toString());
+    }
+
+    private static String uniqueKey(Long streamId) {
+        return WebSocketSessionRegistry.viewersUniqueKey(streamId.toString());
+    }
+
+    private static String ownerKey(Long streamId) {
+        return WebSocketSessionRegistry.viewersOwnerKey(streamId.toString());
+    }
+
+    private static String seriesKey(Long streamId) {
+        return WebSocketSessionRegistry.VIEWERS_PREFIX + streamId + SERIES_SUFFIX;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,70 +1,528 @@
 package devcamphub.backend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * 시그널링 세션/방 정보를 Redis에 기록합니다. (모든 노드가 공유)
+ * 조회는 RoomRegistryNearCache를 먼저 확인하므로, 다른 노드가 값을 바꾼 경우에만 Redis를 조회합니다.
+ * 값을 바꾸는 쓰기는 변경 사실을 무효화 채널로 함께 발행합니다.
+ *
+ * 접속 정보는 하나의 전역 Hash가 아니라 세션/사용자/노드별 키에 TTL을 두고 저장합니다.
+ * - ws:session:{sessionId}        세션 → 닉네임 (TTL)
+ * - ws:presence:{nickname}        닉네임 → {session, node, room, roomNode} (TTL, roomNode는 방에 들어갈 때 거친 노드)
+ * - ws:node:{nodeId}:alive        노드 생존 표시 (TTL)
+ * - ws:node:{nodeId}:members      이 노드를 통해 방에 들어간 "{방 ID}|{닉네임}" 목록 (members-ttl-seconds)
+ * - ws:nodes                      노드 ID 목록 (PresenceReaper가 죽은 노드를 찾는 데 사용)
+ * 각 노드는 자신에게 연결된 세션의 키 TTL을 주기적으로 한 번의 파이프라인으로 갱신합니다.
+ * 노드가 SessionDisconnectEvent 없이 죽으면 그 노드의 키는 갱신이 멈춰 한꺼번에 만료되고,
+ * 방 참여자 목록(ws:room:{roomId})에 남은 닉네임은 PresenceReaper가 정리합니다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class WebSocketSessionRegistry {
 
+    private static final String ROOM_PREFIX = "ws:room:";
+    private static final String SESSION_PREFIX = "ws:session:";
+    private static final String PRESENCE_PREFIX = "ws:presence:";
+    private static final String NODE_PREFIX = "ws:node:";
+    static final String NODES_KEY = "ws:nodes";
+    // 방(스트림)별 시청자 수: {접두사}{방 ID}:current (현재 참여자 수), {접두사}{방 ID}:unique (누적 참여자 HyperLogLog)
+    // {접두사}{방 ID}:owner 는 방송자 닉네임이며, 방송자는 시청자 수에 넣지 않습니다.
+    static final String VIEWERS_PREFIX = "stream:viewers:";
+    private static final int MAX_LEAVE_ATTEMPTS = 3;
+    // 방 참여 스크립트 결과의 첫 원소: presence의 이전 방 기록이 예상과 달라 다시 시도해야 함
+    private static final String MOVED = "moved";
+
+    /**
+     * 방 참여: 기존 참여자 목록 조회(자신 제외), 참여자 추가, 닉네임 → 방 기록을 한 번의 왕복으로 원자적으로 처리합니다.
+     * 동시에 들어온 두 참여자도 스크립트가 순서대로 실행되므로 둘 중 나중 참여자는 먼저 들어온 참여자를 반드시 봅니다.
+     * 같은 스크립트에서 near cache 무효화 메시지도 발행합니다.
+     * 방송자가 아닌 참여자는 새로 들어왔으면 현재 시청자 수를 올리고, 누적 시청자 HyperLogLog에 추가합니다.
+     * 다른 방에 참여 중이었으면 그 방의 참여자 목록, 노드 참여 목록, 현재 시청자 수에서도 함께 빼므로
+     * 호출하는 쪽이 presence에 기록된 이전 방과 그 방에 들어갈 때 거친 노드(ARGV[6], ARGV[7])를 먼저 알아야 합니다.
+     * 기록이 예상과 다르면 아무것도 바꾸지 않고 {"moved", 이전 방 ID, 이전 노드 ID}를 반환하며, 호출하는 쪽은 그 값으로 다시 시도합니다.
+     * 참여하면 {"joined", 기존 참여자...}를 반환합니다.
+     * KEYS[1]=방 Set, KEYS[2]=presence Hash, KEYS[3]=노드 참여 목록 Set,
+     * KEYS[4]=현재 시청자 수, KEYS[5]=누적 시청자 HyperLogLog, KEYS[6]=방송자 닉네임,
+     * KEYS[7]=이전 방 Set, KEYS[8]=이전 노드 참여 목록 Set, KEYS[9]=이전 방 현재 시청자 수, KEYS[10]=이전 방 방송자 닉네임
+     * ARGV[1]=닉네임, ARGV[2]=방 ID, ARGV[3]=무효화 채널, ARGV[4]=노드 ID, ARGV[5]=TTL(초),
+     * ARGV[6]=이전 방 ID (없으면 빈 문자열), ARGV[7]=이전 노드 ID (없으면 빈 문자열)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> JOIN_ROOM_SCRIPT = RedisScript.of("""
+            local oldRoom = redis.call('HGET', KEYS[2], 'room') or ''
+            local oldNode = redis.call('HGET', KEYS[2], 'roomNode') or redis.call('HGET', KEYS[2], 'node') or ''
+            if oldRoom == '' then
+                oldNode = ''
+            end
+            if oldRoom ~= ARGV[6] or oldNode ~= ARGV[7] then
+                return {'moved', oldRoom, oldNode}
+            end
+            if oldRoom ~= '' and oldRoom ~= ARGV[2] then
+                if redis.call('SREM', KEYS[7], ARGV[1]) == 1 and redis.call('GET', KEYS[10]) ~= ARGV[1] then
+                    redis.call('DECR', KEYS[9])
+                end
+                redis.call('PUBLISH', ARGV[3], ARGV[4] .. '|' .. oldRoom .. '|' .. ARGV[1])
+            end
+            if oldRoom ~= '' and (oldRoom ~= ARGV[2] or oldNode ~= ARGV[4]) then
+                redis.call('SREM', KEYS[8], oldRoom .. '|' .. ARGV[1])
+            end
+            local members = redis.call('SMEMBERS', KEYS[1])
+            local added = redis.call('SADD', KEYS[1], ARGV[1]) == 1
+            if redis.call('GET', KEYS[6]) ~= ARGV[1] then
+                if added then
+                    redis.call('INCR', KEYS[4])
+                end
+                redis.call('PFADD', KEYS[5], ARGV[1])
+            end
+            redis.call('HSET', KEYS[2], 'room', ARGV[2], 'roomNode', ARGV[4], 'node', ARGV[4])
+            redis.call('EXPIRE', KEYS[2], ARGV[5])
+            redis.call('SADD', KEYS[3], ARGV[2] .. '|' .. ARGV[1])
+            redis.call('PUBLISH', ARGV[3], ARGV[4] .. '|' .. ARGV[2] .. '|' .. ARGV[1])
+            local existing = {'joined'}
+            for _, member in ipairs(members) do
+                if member ~= ARGV[1] then
+                    existing[#existing + 1] = member
+                end
+            end
+            return existing
+            """, List.class);
+
+    /**
+     * 방 퇴장: 참여자 제거와 닉네임 → 방 기록 삭제를 한 번의 왕복으로 처리하고 퇴장한 방 ID를 반환합니다.
+     * 접근하는 키는 모두 KEYS로 넘기므로 호출하는 쪽이 방 ID(ARGV[2])를 먼저 알아야 합니다.
+     * presence에 기록된 방이 ARGV[2]와 다르면 아무것도 바꾸지 않고 기록된 방 ID를 반환하며, 호출하는 쪽은 그 방으로 다시 시도합니다.
+     * KEYS[1]=presence Hash, KEYS[2]=노드 참여 목록 Set, KEYS[3]=방 Set, KEYS[4]=현재 시청자 수, KEYS[5]=방송자 닉네임
+     * ARGV[1]=닉네임, ARGV[2]=방 ID (모르면 빈 문자열), ARGV[3]=무효화 채널, ARGV[4]=노드 ID
+     */
+    private static final RedisScript<String> LEAVE_ROOM_SCRIPT = RedisScript.of("""
+            local roomId = redis.call('HGET', KEYS[1], 'room')
+            if roomId ~= ARGV[2] then
+                return roomId
+            end
+            if redis.call('SREM', KEYS[3], ARGV[1]) == 1 and redis.call('GET', KEYS[5]) ~= ARGV[1] then
+                redis.call('DECR', KEYS[4])
+            end
+            redis.call('HDEL', KEYS[1], 'room', 'roomNode')
+            redis.call('SREM', KEYS[2], roomId .. '|' .. ARGV[1])
+            redis.call('PUBLISH', ARGV[3], ARGV[4] .. '|' .. roomId .. '|' .. ARGV[1])
+            return roomId
+            """, String.class);
+
+    /**
+     * 세션 해제: presence가 아직 이 세션을 가리킬 때만 지웁니다. (같은 닉네임으로 새 세션이 이미 연결된 경우 유지)
+     * KEYS[1]=세션 키, KEYS[2]=presence Hash / ARGV[1]=세션 ID, ARGV[2]=무효화 채널, ARGV[3]=무효화 메시지
+     */
+    private static final RedisScript<Long> UNREGISTER_SCRIPT = RedisScript.of("""
+            redis.call('DEL', KEYS[1])
+            if redis.call('HGET', KEYS[2], 'session') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HDEL', KEYS[2], 'session')
+            redis.call('PUBLISH', ARGV[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * 죽은 노드를 통해 방에 들어간 참여자 한 명을 정리합니다.
+     * 그 사이 다른 노드로 다시 연결해 같은 방에 들어와 있으면(roomNode가 다른 노드) 그대로 둡니다.
+     * 다른 노드로 다시 연결만 하고 방에는 들어오지 않았으면 presence의 방 기록만 지웁니다.
+     * (roomNode가 없는 이전 형식의 기록은 node로 판단합니다.)
+     * KEYS[1]=presence Hash, KEYS[2]=방 Set, KEYS[3]=현재 시청자 수, KEYS[4]=방송자 닉네임
+     * ARGV[1]=닉네임, ARGV[2]=방 ID, ARGV[3]=죽은 노드 ID, ARGV[4]=무효화 채널, ARGV[5]=이 노드 ID
+     */
+    private static final RedisScript<Long> REAP_MEMBER_SCRIPT = RedisScript.of("""
+            local room = redis.call('HGET', KEYS[1], 'room')
+            local node = redis.call('HGET', KEYS[1], 'node')
+            local roomNode = redis.call('HGET', KEYS[1], 'roomNode') or node
+            if room == ARGV[2] and roomNode and roomNode ~= ARGV[3] then
+                return 0
+            end
+            if node == ARGV[3] then
+                redis.call('DEL', KEYS[1])
+            elseif room == ARGV[2] then
+                redis.call('HDEL', KEYS[1], 'room', 'roomNode')
+            end
+            if redis.call('SREM', KEYS[2], ARGV[1]) == 0 then
+                return 0
+            end
+            if redis.call('GET', KEYS[4]) ~= ARGV[1] then
+                redis.call('DECR', KEYS[3])
+            end
+            redis.call('PUBLISH', ARGV[4], ARGV[5] .. '|' .. ARGV[2] .. '|' .. ARGV[1])
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final RoomRegistryNearCache nearCache;
+    private final long ttlSeconds;
+    private final long membersTtlSeconds;
+    private final String nodeId;
+    // 이 노드에 연결된 세션 (세션 ID → 닉네임). TTL 갱신 대상이며, 조회 시 Redis를 거치지 않습니다.
+    private final Map<String, String> localSessions = new ConcurrentHashMap<>();
 
-    private static final String ROOM_PREFIX = "ws:room:";
-    private static final String SESSION_NICKNAME_MAP = "ws:session-nickname";
-    private static final String NICKNAME_ROOM_MAP = "ws:nickname-room";
+    public WebSocketSessionRegistry(RedisTemplate<String, String> redisTemplate,
+            RoomRegistryNearCache nearCache,
+            NodeIdentity nodeIdentity,
+            @Value("${ws.presence.ttl-seconds:30}") long ttlSeconds,
+            @Value("${ws.presence.members-ttl-seconds:3600}") long membersTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.nodeId = nodeIdentity.id();
+        this.ttlSeconds = ttlSeconds;
+        this.membersTtlSeconds = membersTtlSeconds;
+    }
 
     private String getRoomKey(String roomId) {
         return ROOM_PREFIX + roomId;
     }
 
+    private static String presenceKey(String nickname) {
+        return PRESENCE_PREFIX + nickname;
+    }
+
+    static String nodeAliveKey(String nodeId) {
+        return NODE_PREFIX + nodeId + ":alive";
+    }
+
+    static String nodeMembersKey(String nodeId) {
+        return NODE_PREFIX + nodeId + ":members";
+    }
+
+    static String viewersCurrentKey(String roomId) {
+        return VIEWERS_PREFIX + roomId + ":current";
+    }
+
+    static String viewersUniqueKey(String roomId) {
+        return VIEWERS_PREFIX + roomId + ":unique";
+    }
+
+    static String viewersOwnerKey(String roomId) {
+        return VIEWERS_PREFIX + roomId + ":owner";
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
     public void registerSession(String sessionId, String nickname) {
-        redisTemplate.opsForHash().put(SESSION_NICKNAME_MAP, sessionId, nickname);
+        localSessions.put(sessionId, nickname);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] presence = bytes(presenceKey(nickname));
+            connection.stringCommands().set(bytes(SESSION_PREFIX + sessionId), bytes(nickname),
+                    Expiration.seconds(ttlSeconds), SetOption.upsert());
+            // 마지막으로 연결한 세션이 시그널 메시지를 받습니다.
+            connection.hashCommands().hMSet(presence, Map.of(
+                    bytes("session"), bytes(sessionId),
+                    bytes("node"), bytes(nodeId)));
+            connection.keyCommands().expire(presence, ttlSeconds);
+            connection.setCommands().sAdd(bytes(NODES_KEY), bytes(nodeId));
+            connection.stringCommands().set(bytes(nodeAliveKey(nodeId)), bytes("1"),
+                    Expiration.seconds(ttlSeconds), SetOption.upsert());
+            connection.publish(bytes(RoomRegistryNearCache.INVALIDATION_CHANNEL),
+                    bytes(nearCache.invalidation(null, nickname)));
+            return null;
+        });
+        nearCache.nicknameSessions.put(nickname, sessionId);
         log.info("Session registered in Redis: {} for nickname {}", sessionId, nickname);
     }
 
     public String unregisterSession(String sessionId) {
-        String nickname = (String) redisTemplate.opsForHash().get(SESSION_NICKNAME_MAP, sessionId);
+        String nickname = localSessions.remove(sessionId);
+        if (nickname == null) {
+            nickname = redisTemplate.opsForValue().get(SESSION_PREFIX + sessionId);
+        }
         if (nickname != null) {
-            redisTemplate.opsForHash().delete(SESSION_NICKNAME_MAP, sessionId);
+            Long removed = redisTemplate.execute(UNREGISTER_SCRIPT,
+                    List.of(SESSION_PREFIX + sessionId, presenceKey(nickname)),
+                    sessionId, RoomRegistryNearCache.INVALIDATION_CHANNEL, nearCache.invalidation(null, nickname));
+            if (Long.valueOf(1).equals(removed)) {
+                nearCache.nicknameSessions.put(nickname, null);
+            }
             log.info("Session unregistered from Redis: {} for nickname {}", sessionId, nickname);
         }
         return nickname;
     }
 
-    public void joinRoom(String roomId, String nickname) {
-        String roomKey = getRoomKey(roomId);
-        redisTemplate.opsForSet().add(roomKey, nickname);
-        redisTemplate.opsForHash().put(NICKNAME_ROOM_MAP, nickname, roomId);
-        Long size = redisTemplate.opsForSet().size(roomKey);
-        log.info("Nickname {} joined room {}. Total participants in Redis: {}", nickname, roomId, size);
+    /**
+     * 연결이 끊긴 세션들을 한 번의 파이프라인으로 정리합니다. (세션마다 방 퇴장 + 세션 해제 스크립트)
+     * 퇴장한 방이 있으면 결과의 roomId에 담깁니다.
+     */
+    public List<Departure> disconnectSessions(List<String> sessionIds) {
+        List<Departure> departures = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            String nickname = localSessions.remove(sessionId);
+            if (nickname == null) {
+                nickname = redisTemplate.opsForValue().get(SESSION_PREFIX + sessionId);
+            }
+            if (nickname != null) {
+                departures.add(new Departure(sessionId, nickname, null));
+            }
+        }
+        if (departures.isEmpty()) {
+            return departures;
+        }
+
+        // 퇴장 스크립트에 방 키를 넘기기 위해 참여 중인 방을 먼저 한 번의 파이프라인으로 읽습니다.
+        List<Object> rooms = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Departure departure : departures) {
+                connection.hashCommands().hGet(bytes(presenceKey(departure.nickname())), bytes("room"));
+            }
+            return null;
+        });
+
+        byte[] leaveScript = bytes(LEAVE_ROOM_SCRIPT.getScriptAsString());
+        byte[] unregisterScript = bytes(UNREGISTER_SCRIPT.getScriptAsString());
+        byte[] channel = bytes(RoomRegistryNearCache.INVALIDATION_CHANNEL);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < departures.size(); i++) {
+                Departure departure = departures.get(i);
+                String room = rooms.get(i) instanceof String roomId ? roomId : "";
+                byte[] presence = bytes(presenceKey(departure.nickname()));
+                connection.scriptingCommands().eval(leaveScript, ReturnType.VALUE, 5,
+                        presence, bytes(nodeMembersKey(nodeId)), bytes(getRoomKey(room)),
+                        bytes(viewersCurrentKey(room)), bytes(viewersOwnerKey(room)),
+                        bytes(departure.nickname()), bytes(room), channel, bytes(nodeId));
+                connection.scriptingCommands().eval(unregisterScript, ReturnType.INTEGER, 2,
+                        bytes(SESSION_PREFIX + departure.sessionId()), presence,
+                        bytes(departure.sessionId()), channel,
+                        bytes(nearCache.invalidation(null, departure.nickname())));
+            }
+            return null;
+        });
+
+        List<Departure> completed = new ArrayList<>(departures.size());
+        for (int i = 0; i < departures.size(); i++) {
+            Departure departure = departures.get(i);
+            String roomId = results.get(i * 2) instanceof String left ? left : null;
+            if (roomId != null && !roomId.equals(rooms.get(i))) {
+                // 그 사이 다른 방으로 옮겨 갔으면 그 방에서 다시 퇴장합니다.
+                roomId = leaveRoom(departure.nickname(), roomId);
+            }
+            nearCache.nicknameRooms.put(departure.nickname(), null);
+            if (roomId != null) {
+                nearCache.roomMembers.remove(roomId);
+            }
+            if (Long.valueOf(1).equals(results.get(i * 2 + 1))) {
+                nearCache.nicknameSessions.put(departure.nickname(), null);
+            }
+            completed.add(new Departure(departure.sessionId(), departure.nickname(), roomId));
+        }
+        return completed;
     }
 
-    public void leaveRoom(String nickname) {
-        String roomId = (String) redisTemplate.opsForHash().get(NICKNAME_ROOM_MAP, nickname);
+    public record Departure(String sessionId, String nickname, String roomId) {
+    }
+
+    /**
+     * 방에 참여하고, 참여 직전의 다른 참여자 목록과 함께 빠져나온 이전 방 ID를 반환합니다.
+     * 이전 방 키를 스크립트에 넘기기 위해 presence를 먼저 읽으므로 Redis 2회 왕복입니다.
+     * (그 사이 presence가 바뀌었으면 한 번 더 왕복)
+     */
+    @SuppressWarnings("unchecked")
+    public RoomJoin joinRoom(String roomId, String nickname) {
+        List<Object> presence = redisTemplate.opsForHash()
+                .multiGet(presenceKey(nickname), List.of("room", "roomNode", "node"));
+        String oldRoom = presence.get(0) instanceof String room ? room : "";
+        Object recordedNode = presence.get(1) != null ? presence.get(1) : presence.get(2);
+        String oldNode = !oldRoom.isEmpty() && recordedNode instanceof String node ? node : "";
+
+        for (int attempt = 0; attempt < MAX_LEAVE_ATTEMPTS; attempt++) {
+            List<String> reply = redisTemplate.execute(JOIN_ROOM_SCRIPT,
+                    List.of(getRoomKey(roomId), presenceKey(nickname), nodeMembersKey(nodeId),
+                            viewersCurrentKey(roomId), viewersUniqueKey(roomId), viewersOwnerKey(roomId),
+                            getRoomKey(oldRoom), nodeMembersKey(oldNode),
+                            viewersCurrentKey(oldRoom), viewersOwnerKey(oldRoom)),
+                    nickname, roomId, RoomRegistryNearCache.INVALIDATION_CHANNEL, nodeId,
+                    String.valueOf(ttlSeconds), oldRoom, oldNode);
+            if (reply == null || reply.isEmpty()) {
+                throw new IllegalStateException("방 참여 결과를 받지 못했습니다: " + roomId);
+            }
+            if (MOVED.equals(reply.get(0))) {
+                // 그 사이 다른 방으로 옮겨 갔으면 새로 기록된 방을 이전 방으로 다시 시도합니다.
+                oldRoom = reply.get(1);
+                oldNode = reply.get(2);
+                continue;
+            }
+
+            Set<String> existingUsers = new HashSet<>(reply.subList(1, reply.size()));
+            Set<String> members = new HashSet<>(existingUsers);
+            members.add(nickname);
+            nearCache.roomMembers.put(roomId, Set.copyOf(members));
+            nearCache.nicknameRooms.put(nickname, roomId);
+            String previousRoomId = oldRoom.isEmpty() || oldRoom.equals(roomId) ? null : oldRoom;
+            if (previousRoomId != null) {
+                nearCache.roomMembers.remove(previousRoomId);
+                log.info("Nickname {} moved from room {}.", nickname, previousRoomId);
+            }
+            log.info("Nickname {} joined room {}. Total participants in Redis: {}", nickname, roomId, members.size());
+            return new RoomJoin(existingUsers, previousRoomId);
+        }
+        throw new IllegalStateException("방 참여 중 참여 기록이 계속 바뀌었습니다: " + nickname);
+    }
+
+    /**
+     * 방 참여 결과: 참여 직전의 다른 참여자 목록과, 다른 방에서 옮겨 왔으면 그 방 ID (없으면 null)
+     */
+    public record RoomJoin(Set<String> existingUsers, String previousRoomId) {
+    }
+
+    /**
+     * 참여 중인 방에서 나가고, 나간 방 ID를 반환합니다. 참여 중인 방이 없으면 null입니다. (Redis 1회 왕복)
+     */
+    public String leaveRoom(String nickname) {
+        String roomId = leaveRoom(nickname, getRoomIdForUser(nickname));
+        nearCache.nicknameRooms.put(nickname, null);
         if (roomId != null) {
-            String roomKey = getRoomKey(roomId);
-            if (Boolean.TRUE.equals(redisTemplate.opsForSet().remove(roomKey, nickname))) {
-                Long size = redisTemplate.opsForSet().size(roomKey);
-                log.info("Nickname {} left room {}. Remaining participants in Redis: {}", nickname, roomId, size);
+            nearCache.roomMembers.remove(roomId);
+            log.info("Nickname {} left room {}.", nickname, roomId);
+        }
+        return roomId;
+    }
+
+    /**
+     * expectedRoomId에서 퇴장을 시도하고, presence에 다른 방이 기록되어 있으면 그 방으로 다시 시도합니다.
+     * (캐시된 방 ID가 오래된 경우 한 번 더 왕복)
+     */
+    private String leaveRoom(String nickname, String expectedRoomId) {
+        String expected = expectedRoomId;
+        for (int attempt = 0; attempt < MAX_LEAVE_ATTEMPTS; attempt++) {
+            String room = expected != null ? expected : "";
+            String roomId = redisTemplate.execute(LEAVE_ROOM_SCRIPT,
+                    List.of(presenceKey(nickname), nodeMembersKey(nodeId), getRoomKey(room),
+                            viewersCurrentKey(room), viewersOwnerKey(room)),
+                    nickname, room, RoomRegistryNearCache.INVALIDATION_CHANNEL, nodeId);
+            if (roomId == null || roomId.equals(expected)) {
+                return roomId;
             }
-            redisTemplate.opsForHash().delete(NICKNAME_ROOM_MAP, nickname);
+            expected = roomId;
         }
+        log.warn("Nickname {} kept changing rooms while leaving; last seen room {}", nickname, expected);
+        return null;
     }
 
     public Set<String> getUsersInRoom(String roomId) {
-        String roomKey = getRoomKey(roomId);
-        return redisTemplate.opsForSet().members(roomKey);
+        return nearCache.roomMembers.get(roomId, () -> {
+            Set<String> members = redisTemplate.opsForSet().members(getRoomKey(roomId));
+            return members != null ? Set.copyOf(members) : Set.of();
+        });
     }
 
     public String getRoomIdForUser(String nickname) {
-        return (String) redisTemplate.opsForHash().get(NICKNAME_ROOM_MAP, nickname);
+        return nearCache.nicknameRooms.get(nickname,
+                () -> (String) redisTemplate.opsForHash().get(presenceKey(nickname), "room"));
     }
 
+    /**
+     * 이 노드에 연결된 세션이면 Redis를 조회하지 않습니다.
+     */
     public String getNicknameBySessionId(String sessionId) {
-        return (String) redisTemplate.opsForHash().get(SESSION_NICKNAME_MAP, sessionId);
+        String nickname = localSessions.get(sessionId);
+        if (nickname != null) {
+            return nickname;
+        }
+        return redisTemplate.opsForValue().get(SESSION_PREFIX + sessionId);
+    }
+
+    public String getSessionIdByNickname(String nickname) {
+        return nearCache.nicknameSessions.get(nickname,
+                () -> (String) redisTemplate.opsForHash().get(presenceKey(nickname), "session"));
+    }
+
+    /**
+     * 이 노드의 생존 표시와 연결된 세션들의 TTL을 한 번의 파이프라인으로 갱신합니다.
+     * 노드 참여 목록도 함께 연장합니다. 죽은 노드의 목록은 PresenceReaper가 읽어야 하므로 생존 표시보다 길게 두고,
+     * 정리되지 못한 경우(ws:nodes에서 빠진 노드 등)에도 members-ttl-seconds 뒤에는 사라집니다.
+     */
+    @Scheduled(fixedDelayString = "${ws.presence.refresh-interval-ms:10000}")
+    public void refreshPresence() {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(bytes(nodeAliveKey(nodeId)), bytes("1"),
+                    Expiration.seconds(ttlSeconds), SetOption.upsert());
+            connection.setCommands().sAdd(bytes(NODES_KEY), bytes(nodeId));
+            connection.keyCommands().expire(bytes(nodeMembersKey(nodeId)), membersTtlSeconds);
+            for (Map.Entry<String, String> session : localSessions.entrySet()) {
+                connection.keyCommands().expire(bytes(SESSION_PREFIX + session.getKey()), ttlSeconds);
+                connection.keyCommands().expire(bytes(presenceKey(session.getValue())), ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 생존 표시(ws:node:{nodeId}:alive)가 만료된 다른 노드 ID 목록을 반환합니다.
+     */
+    public List<String> findDeadNodes() {
+        Set<String> nodes = redisTemplate.opsForSet().members(NODES_KEY);
+        if (nodes == null || nodes.isEmpty()) {
+            return List.of();
+        }
+        List<String> others = nodes.stream().filter(node -> !node.equals(nodeId)).toList();
+        List<Object> alive = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String node : others) {
+                connection.keyCommands().exists(bytes(nodeAliveKey(node)));
+            }
+            return null;
+        });
+        List<String> dead = new ArrayList<>();
+        for (int i = 0; i < others.size(); i++) {
+            if (!Boolean.TRUE.equals(alive.get(i))) {
+                dead.add(others.get(i));
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * 죽은 노드를 통해 방에 들어간 참여자들을 방에서 제거하고, 실제로 제거된 (방, 닉네임) 목록을 반환합니다.
+     * 정리가 끝나면 그 노드의 기록을 지웁니다.
+     */
+    public List<ReapedMember> reapNode(String deadNodeId) {
+        Set<String> members = redisTemplate.opsForSet().members(nodeMembersKey(deadNodeId));
+        List<ReapedMember> reaped = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                int separator = member.indexOf('|');
+                if (separator < 0) {
+                    continue;
+                }
+                String roomId = member.substring(0, separator);
+                String nickname = member.substring(separator + 1);
+                Long removed = redisTemplate.execute(REAP_MEMBER_SCRIPT,
+                        List.of(presenceKey(nickname), getRoomKey(roomId),
+                                viewersCurrentKey(roomId), viewersOwnerKey(roomId)),
+                        nickname, roomId, deadNodeId, RoomRegistryNearCache.INVALIDATION_CHANNEL, nodeId);
+                if (Long.valueOf(1).equals(removed)) {
+                    nearCache.invalidate(roomId, nickname);
+                    reaped.add(new ReapedMember(roomId, nickname));
+                }
+            }
+        }
+        redisTemplate.delete(nodeMembersKey(deadNodeId));
+        redisTemplate.opsForSet().remove(NODES_KEY, deadNodeId);
+        return reaped;
+    }
+
+    public record ReapedMember(String roomId, String nickname) {
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,174 @@
+package devcamphub.backend.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 일정 시간(window) 동안 본 long 값을 기억하는 lock-free 중복 검사 구조입니다.
+ * 고정 크기 open addressing 테이블(AtomicLongArray)에 CAS로 기록하므로 잠금과 박싱 할당이 없고,
+ * 현재/이전 두 세대를 window마다 교체하여 메모리 사용량이 제한됩니다.
+ * (값은 최소 window, 최대 2 * window 동안 기억됩니다.)
+ *
+ * 테이블은 0(빈 슬롯)과 Long.MIN_VALUE(지운 슬롯)를 표시 값으로 쓰므로, 이 두 값 자체는 테이블에 넣지 않고
+ * 세대마다 별도의 점유 비트로 기억합니다. (다른 값과 겹쳐 잘못 중복 판정되는 일이 없음)
+ *
+ * 테이블이 가득 차 기록할 자리를 찾지 못하면 "처음 본 값"으로 취급합니다.
+ * 따라서 최종 중복 방지는 DB 유니크 제약 조건 등 다른 수단이 함께 보장해야 합니다.
+ */
+public class DedupWindow {
+
+    private static final long EMPTY = 0L;
+    // 지운 슬롯 표시. 탐색 체인이 끊기지 않도록 빈 슬롯으로 되돌리지 않습니다.
+    private static final long TOMBSTONE = Long.MIN_VALUE;
+    // 표시 값과 같은 실제 값의 점유 비트
+    private static final int EMPTY_VALUE_BIT = 1;
+    private static final int TOMBSTONE_VALUE_BIT = 1 << 1;
+    private static final int MAX_PROBES = 64;
+
+    private final int capacity;
+    private final int mask;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final AtomicReference<Generations> generations;
+
+    public DedupWindow(int capacity, long windowNanos) {
+        this(capacity, windowNanos, System::nanoTime);
+    }
+
+    public DedupWindow(int capacity, long windowNanos, LongSupplier clock) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.generations = new AtomicReference<>(
+                new Generations(new AtomicLongArray(capacity), new AtomicLongArray(capacity),
+                        new AtomicInteger(), new AtomicInteger(), now));
+    }
+
+    /**
+     * 값을 기록합니다.
+     *
+     * @return window 안에서 처음 본 값이면 true, 이미 기록된 값이면 false
+     */
+    public boolean add(long value) {
+        Generations gens = rotateIfExpired();
+        int bit = sentinelBit(value);
+        if (bit != 0) {
+            if ((gens.previousSentinels.get() & bit) != 0) {
+                return false;
+            }
+            return (gens.currentSentinels.getAndUpdate(bits -> bits | bit) & bit) == 0;
+        }
+        if (contains(gens.previous, value)) {
+            return false;
+        }
+        return insert(gens.current, value);
+    }
+
+    /**
+     * 기록된 값을 지웁니다. (처리에 실패한 메시지의 재전송을 다시 받을 수 있도록 할 때 사용)
+     * 지운 슬롯은 재사용하지 않으므로 그 세대가 교체될 때까지 자리를 차지합니다.
+     */
+    public void remove(long value) {
+        Generations gens = generations.get();
+        int bit = sentinelBit(value);
+        if (bit != 0) {
+            gens.currentSentinels.updateAndGet(bits -> bits & ~bit);
+            gens.previousSentinels.updateAndGet(bits -> bits & ~bit);
+            return;
+        }
+        removeFrom(gens.current, value);
+        removeFrom(gens.previous, value);
+    }
+
+    private static int sentinelBit(long value) {
+        if (value == EMPTY) {
+            return EMPTY_VALUE_BIT;
+        }
+        return value == TOMBSTONE ? TOMBSTONE_VALUE_BIT : 0;
+    }
+
+    private void removeFrom(AtomicLongArray table, long key) {
+        int index = indexFor(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = table.get(index);
+            if (current == key) {
+                table.compareAndSet(index, key, TOMBSTONE);
+                return;
+            }
+            if (current == EMPTY) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private Generations rotateIfExpired() {
+        Generations gens = generations.get();
+        long now = clock.getAsLong();
+        if (now - gens.startedAt < windowNanos) {
+            return gens;
+        }
+        Generations rotated = new Generations(new AtomicLongArray(capacity), gens.current,
+                new AtomicInteger(), gens.currentSentinels, now);
+        // 다른 스레드가 먼저 교체했다면 그 결과를 사용합니다.
+        return generations.compareAndSet(gens, rotated) ? rotated : generations.get();
+    }
+
+    private boolean contains(AtomicLongArray table, long key) {
+        int index = indexFor(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = table.get(index);
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private boolean insert(AtomicLongArray table, long key) {
+        int index = indexFor(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = table.get(index);
+            if (current == key) {
+                return false;
+            }
+            if (current == EMPTY) {
+                if (table.compareAndSet(index, EMPTY, key)) {
+                    return true;
+                }
+                // 같은 슬롯을 다른 스레드가 먼저 차지함 → 같은 값인지 다시 확인
+                if (table.get(index) == key) {
+                    return false;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+        return true; // 테이블 포화: 기록하지 못했지만 통과시킴 (DB 제약 조건이 최종 방어선)
+    }
+
+    private int indexFor(long key) {
+        // murmur3 fmix64: 연속적인 clientMsgId도 테이블 전체에 고르게 퍼지도록 섞습니다.
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private record Generations(AtomicLongArray current, AtomicLongArray previous,
+            AtomicInteger currentSentinels, AtomicInteger previousSentinels, long startedAt) {
+    }
+}
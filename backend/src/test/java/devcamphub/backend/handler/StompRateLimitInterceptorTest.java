@@ -0,0 +1,148 @@
+package devcamphub.backend.handler;
+
+import devcamphub.backend.repository.StreamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * GCRA 버킷(Rule.tryAcquire)의 버스트, 회복, 동시 획득과 인터셉터의 거절 방식을 검증합니다.
+ */
+class StompRateLimitInterceptorTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // 초당 10개(간격 100ms), 버스트 3
+    private final StompRateLimitInterceptor.Rule rule = new StompRateLimitInterceptor.Rule(
+            StompRateLimitInterceptor.Rule.Kind.CHAT, 10, 3, new SimpleMeterRegistry());
+    private final AtomicLongArray buckets = new AtomicLongArray(1);
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new StompRateLimitInterceptor.Rule(
+                StompRateLimitInterceptor.Rule.Kind.CHAT, 0, 3, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StompRateLimitInterceptor.Rule(
+                StompRateLimitInterceptor.Rule.Kind.CHAT, 10, 0, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void allowsBurstThenRejects() {
+        assertThat(acquireAll(0, 3)).isEqualTo(3);
+        assertThat(rule.tryAcquire(buckets, 0, 0)).isFalse();
+    }
+
+    @Test
+    void recoversOnePermitPerInterval() {
+        acquireAll(0, 3);
+
+        assertThat(rule.tryAcquire(buckets, 0, INTERVAL - 1)).isFalse();
+        assertThat(rule.tryAcquire(buckets, 0, INTERVAL)).isTrue();
+        assertThat(rule.tryAcquire(buckets, 0, INTERVAL)).isFalse();
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondBurst() {
+        acquireAll(0, 3);
+
+        long later = TimeUnit.SECONDS.toNanos(10);
+        assertThat(acquireAll(later, 10)).isEqualTo(3);
+    }
+
+    @Test
+    void rejectionDoesNotConsumePermits() {
+        acquireAll(0, 3);
+        for (int i = 0; i < 100; i++) {
+            rule.tryAcquire(buckets, 0, 0);
+        }
+        assertThat(rule.tryAcquire(buckets, 0, INTERVAL)).isTrue();
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedBurst() throws InterruptedException {
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (rule.tryAcquire(buckets, 0, 0)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertThat(granted).hasValue(3);
+    }
+
+    @Test
+    void dropsOrRejectsChatSendsOverLimit() {
+        StompRateLimitInterceptor dropping = interceptor("drop");
+        Message<byte[]> send = chatSend();
+        for (int i = 0; i < 10; i++) {
+            assertThat(dropping.preSend(send, mock(MessageChannel.class))).isSameAs(send);
+        }
+        assertThat(dropping.preSend(send, mock(MessageChannel.class))).isNull();
+
+        StompRateLimitInterceptor rejecting = interceptor("error");
+        for (int i = 0; i < 10; i++) {
+            rejecting.preSend(send, mock(MessageChannel.class));
+        }
+        assertThatThrownBy(() -> rejecting.preSend(send, mock(MessageChannel.class)))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    private int acquireAll(long now, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (rule.tryAcquire(buckets, 0, now)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+
+    private static StompRateLimitInterceptor interceptor(String action) {
+        // 채팅은 1000초에 1개로 두어 테스트 중 회복되는 허용량이 없도록 합니다. (버스트 10)
+        return new StompRateLimitInterceptor(mock(StreamRepository.class), new SimpleMeterRegistry(),
+                true, action, 0.001, 10, 50, 200, 30, 100);
+    }
+
+    private static Message<byte[]> chatSend() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/app/chat/1/general");
+        accessor.setUser(new UsernamePasswordAuthenticationToken("tester@example.com", null, List.of()));
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,75 @@
+package devcamphub.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메시지 ID의 비트 구조(경과 ms | 노드 번호 7bit | 순번 5bit)와 발급 순서를 검증합니다.
+ */
+class ChatMessageIdAllocatorTest {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    void encodesElapsedMillisNodeNumberAndSequence() {
+        ChatMessageIdAllocator allocator = new ChatMessageIdAllocator(nodeNumbered(93));
+
+        long before = System.currentTimeMillis() - EPOCH_MILLIS;
+        long id = allocator.nextId();
+        long after = System.currentTimeMillis() - EPOCH_MILLIS;
+
+        assertThat(id >>> 12).isBetween(before, after);
+        assertThat((id >>> 5) & 0x7F).isEqualTo(93);
+        assertThat(id & 0x1F).isZero(); // 이 ms의 첫 ID
+        assertThat(id).isLessThan(1L << 53); // JavaScript number로 손실 없이 표현
+    }
+
+    @Test
+    void issuesStrictlyIncreasingIdsPastSequenceOverflow() {
+        ChatMessageIdAllocator allocator = new ChatMessageIdAllocator(nodeNumbered(127));
+
+        // 한 ms에 32개를 넘게 발급하면 다음 ms 값을 미리 사용합니다.
+        long previous = allocator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = allocator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat((id >>> 5) & 0x7F).isEqualTo(127);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nodesWithDifferentNumbersNeverCollide() {
+        ChatMessageIdAllocator first = new ChatMessageIdAllocator(nodeNumbered(1));
+        ChatMessageIdAllocator second = new ChatMessageIdAllocator(nodeNumbered(2));
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(ids.add(first.nextId())).isTrue();
+            assertThat(ids.add(second.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    void refusesToIssueWhenLeaseIsLost() {
+        NodeIdentity nodeIdentity = nodeNumbered(4);
+        ChatMessageIdAllocator allocator = new ChatMessageIdAllocator(nodeIdentity);
+        when(nodeIdentity.number()).thenThrow(new IllegalStateException("노드 번호 임대가 만료되었습니다."));
+
+        assertThatThrownBy(allocator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static NodeIdentity nodeNumbered(int number) {
+        NodeIdentity nodeIdentity = mock(NodeIdentity.class);
+        when(nodeIdentity.number()).thenReturn(number);
+        return nodeIdentity;
+    }
+}
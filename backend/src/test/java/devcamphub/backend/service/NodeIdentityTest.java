@@ -0,0 +1,141 @@
+package devcamphub.backend.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 임베디드 Redis에서 노드 번호 임대(SET NX + TTL)의 선점, 연장, 만료, 이전을 검증합니다.
+ */
+class NodeIdentityTest {
+
+    private static RedisServer redisServer;
+    private static int redisPort;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redisPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void liveNodesLeaseDistinctNumbers() {
+        Set<Integer> numbers = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            NodeIdentity node = new NodeIdentity(redisTemplate, -1, 30);
+            assertThat(node.number()).isBetween(0, 127);
+            assertThat(numbers.add(node.number())).isTrue();
+            assertThat(redisTemplate.opsForValue().get(NodeIdentity.LEASE_PREFIX + node.number()))
+                    .isEqualTo(node.id());
+        }
+    }
+
+    @Test
+    void failsWhenConfiguredNumberIsTaken() {
+        new NodeIdentity(redisTemplate, 7, 30);
+
+        assertThatThrownBy(() -> new NodeIdentity(redisTemplate, 7, 30))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new NodeIdentity(redisTemplate, 128, 30))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failsWhenEveryNumberIsTaken() {
+        for (int slot = 0; slot < 128; slot++) {
+            redisTemplate.opsForValue().set(NodeIdentity.LEASE_PREFIX + slot, "other");
+        }
+
+        assertThatThrownBy(() -> new NodeIdentity(redisTemplate, -1, 30))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void stopsIssuingAfterLeaseExpiresAndRecoversOnRenew() throws InterruptedException {
+        NodeIdentity node = new NodeIdentity(redisTemplate, 3, 1);
+
+        Thread.sleep(1_200);
+        assertThatThrownBy(node::number).isInstanceOf(IllegalStateException.class);
+
+        // Redis의 임대도 만료되었으므로 같은 번호를 다시 임대합니다.
+        node.renew();
+        assertThat(node.number()).isEqualTo(3);
+    }
+
+    @Test
+    void renewExtendsTheLease() throws InterruptedException {
+        NodeIdentity node = new NodeIdentity(redisTemplate, 3, 1);
+
+        Thread.sleep(600);
+        node.renew();
+        Thread.sleep(600);
+
+        assertThat(node.number()).isEqualTo(3);
+        assertThat(redisTemplate.opsForValue().get(NodeIdentity.LEASE_PREFIX + 3)).isEqualTo(node.id());
+    }
+
+    @Test
+    void movesToAnotherNumberWhenLeaseWasTaken() {
+        NodeIdentity node = new NodeIdentity(redisTemplate, 3, 30);
+        // 임대가 끝난 사이 다른 노드가 번호를 가져간 상황
+        redisTemplate.opsForValue().set(NodeIdentity.LEASE_PREFIX + 3, "other");
+
+        node.renew();
+
+        assertThat(node.number()).isNotEqualTo(3);
+        assertThat(redisTemplate.opsForValue().get(NodeIdentity.LEASE_PREFIX + node.number())).isEqualTo(node.id());
+        assertThat(redisTemplate.opsForValue().get(NodeIdentity.LEASE_PREFIX + 3)).isEqualTo("other");
+    }
+
+    @Test
+    void releaseFreesTheNumber() {
+        NodeIdentity node = new NodeIdentity(redisTemplate, 3, 30);
+
+        node.release();
+
+        assertThatThrownBy(node::number).isInstanceOf(IllegalStateException.class);
+        assertThat(new NodeIdentity(redisTemplate, 3, 30).number()).isEqualTo(3);
+    }
+}
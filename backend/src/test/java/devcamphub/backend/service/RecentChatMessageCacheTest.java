@@ -0,0 +1,151 @@
+package devcamphub.backend.service;
+
+import devcamphub.backend.domain.ChannelChatMessage;
+import devcamphub.backend.domain.User;
+import devcamphub.backend.dto.ChatMessageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채널 링 버퍼의 순서 밖 삽입, 워밍업 병합, 페이지 조회를 검증합니다.
+ */
+class RecentChatMessageCacheTest {
+
+    private static final User AUTHOR = User.builder().nickname("tester").build();
+
+    @Test
+    void readsNewestFirstAfterWarmingEmptyChannel() {
+        RecentChatMessageCache.ChannelRing ring = warmedEmpty(5);
+        append(ring, 1, 2, 3);
+
+        RecentChatMessageCache.CachedPage page = ring.read(null, null, 10);
+        assertThat(ids(page)).containsExactly(3L, 2L, 1L);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    void insertsLateMessagesInPlaceAndIgnoresDuplicates() {
+        RecentChatMessageCache.ChannelRing ring = warmedEmpty(5);
+        append(ring, 1, 4, 2, 3, 2, 4);
+
+        assertThat(ids(ring.read(null, null, 10))).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void lateMessageInFullBufferPushesOutOldest() {
+        RecentChatMessageCache.ChannelRing ring = warmedEmpty(3);
+        append(ring, 1, 3, 5, 4);
+
+        RecentChatMessageCache.CachedPage page = ring.read(null, null, 3);
+        assertThat(ids(page)).containsExactly(5L, 4L, 3L);
+        assertThat(page.hasMore()).isTrue(); // 1이 밀려나 채널의 처음부터 담고 있지 않음
+    }
+
+    @Test
+    void dropsLateMessageOlderThanFullBuffer() {
+        RecentChatMessageCache.ChannelRing ring = warmedEmpty(3);
+        append(ring, 2, 3, 4, 1);
+
+        assertThat(ids(ring.read(null, null, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ring.read(null, null, 4)).isNull(); // 1은 DB로 조회해야 함
+    }
+
+    @Test
+    void mergesMessagesAppendedDuringWarmUp() {
+        RecentChatMessageCache.ChannelRing ring = new RecentChatMessageCache.ChannelRing(10);
+        // 워밍업 전에 브로드캐스트로 들어온 메시지: 1은 DB 결과보다 오래되어 연속 구간이 아니므로 버려야 함
+        append(ring, 1, 5, 6);
+
+        ring.awaitWarm(() -> slice(true, 4, 3));
+
+        RecentChatMessageCache.CachedPage page = ring.read(null, null, 4);
+        assertThat(ids(page)).containsExactly(6L, 5L, 4L, 3L);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(ring.read(null, null, 5)).isNull();
+    }
+
+    @Test
+    void mergeKeepsNewestCapacityMessages() {
+        RecentChatMessageCache.ChannelRing ring = new RecentChatMessageCache.ChannelRing(3);
+        append(ring, 4, 5);
+
+        ring.awaitWarm(() -> slice(false, 3, 2, 1));
+
+        assertThat(ids(ring.read(null, null, 3))).containsExactly(5L, 4L, 3L);
+        assertThat(ring.read(null, null, 4)).isNull();
+    }
+
+    @Test
+    void pagesWithBeforeAndAfterCursors() {
+        RecentChatMessageCache.ChannelRing ring = warmedEmpty(10);
+        append(ring, 1, 2, 3, 4, 5, 6);
+
+        assertThat(ids(ring.read(5L, null, 2))).containsExactly(4L, 3L);
+        RecentChatMessageCache.CachedPage after = ring.read(null, 2L, 2);
+        assertThat(ids(after)).containsExactly(4L, 3L);
+        assertThat(after.hasMore()).isTrue();
+    }
+
+    @Test
+    void loadsOnlyOnceAndRetriesAfterFailure() {
+        RecentChatMessageCache.ChannelRing ring = new RecentChatMessageCache.ChannelRing(5);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThatThrownBy(() -> ring.awaitWarm(() -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ring.awaitWarm(() -> {
+            loads.incrementAndGet();
+            return slice(false, 1);
+        });
+        ring.awaitWarm(() -> {
+            loads.incrementAndGet();
+            return slice(false);
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(ids(ring.read(null, null, 5))).containsExactly(1L);
+    }
+
+    private static RecentChatMessageCache.ChannelRing warmedEmpty(int capacity) {
+        RecentChatMessageCache.ChannelRing ring = new RecentChatMessageCache.ChannelRing(capacity);
+        ring.awaitWarm(() -> slice(false));
+        return ring;
+    }
+
+    private static void append(RecentChatMessageCache.ChannelRing ring, long... ids) {
+        for (long id : ids) {
+            ring.append(new ChatMessageDto(id, null, "general", "tester", "message " + id, null));
+        }
+    }
+
+    /**
+     * 저장소 조회 결과(최신순)를 흉내 냅니다.
+     */
+    private static Slice<ChannelChatMessage> slice(boolean hasNext, long... newestFirst) {
+        List<ChannelChatMessage> messages = Arrays.stream(newestFirst)
+                .mapToObj(id -> ChannelChatMessage.builder()
+                        .id(id)
+                        .author(AUTHOR)
+                        .channel("general")
+                        .content("message " + id)
+                        .build())
+                .toList();
+        return new SliceImpl<>(messages, PageRequest.of(0, Math.max(1, messages.size())), hasNext);
+    }
+
+    private static List<Long> ids(RecentChatMessageCache.CachedPage page) {
+        return page.messages().stream().map(ChatMessageDto::getMessageId).toList();
+    }
+}
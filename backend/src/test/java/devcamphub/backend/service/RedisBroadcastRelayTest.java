@@ -0,0 +1,216 @@
+package devcamphub.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devcamphub.backend.dto.ChatMessageDto;
+import devcamphub.backend.repository.ChannelChatMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 하나의 JVM에서 두 개의 애플리케이션 컨텍스트(노드)를 임베디드 Redis에 연결해
+ * 노드 간 브로드캐스트 중계와 destination별 순서를 검증합니다.
+ */
+class RedisBroadcastRelayTest {
+
+    private static RedisServer redisServer;
+    private static int redisPort;
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void relaysChatBroadcastToEveryNodeInOrder() throws InterruptedException {
+        MessageBroadcaster broadcaster = nodeA.getBean(MessageBroadcaster.class);
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            broadcaster.broadcast("/topic/chat/1/general",
+                    new ChatMessageDto((long) i, null, "general", "tester", "message " + i, null));
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expected.add("message " + i);
+        }
+        assertThat(awaitContents(nodeA, "/topic/chat/1/general", count)).isEqualTo(expected);
+        assertThat(awaitContents(nodeB, "/topic/chat/1/general", count)).isEqualTo(expected);
+    }
+
+    @Test
+    void keepsOrderPerDestinationAcrossNodes() throws InterruptedException {
+        MessageBroadcaster broadcasterA = nodeA.getBean(MessageBroadcaster.class);
+        MessageBroadcaster broadcasterB = nodeB.getBean(MessageBroadcaster.class);
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            broadcasterA.broadcast("/topic/chat/1/general",
+                    new ChatMessageDto((long) i, null, "general", "a", "a" + i, null));
+            broadcasterB.broadcast("/topic/chat/1/general",
+                    new ChatMessageDto((long) i, null, "general", "b", "b" + i, null));
+        }
+
+        // 두 노드의 구독자는 같은 destination의 메시지를 완전히 같은 순서로 받아야 합니다.
+        List<String> receivedByA = awaitContents(nodeA, "/topic/chat/1/general", count * 2);
+        List<String> receivedByB = awaitContents(nodeB, "/topic/chat/1/general", count * 2);
+        assertThat(receivedByA).hasSize(count * 2).isEqualTo(receivedByB);
+    }
+
+    @Test
+    void doesNotRelayNodeLocalDestinations() throws InterruptedException {
+        nodeA.getBean(MessageBroadcaster.class).broadcast("/topic/camp/1/presence", Map.of("type", "JOIN"));
+        nodeA.getBean(MessageBroadcaster.class).broadcast("/topic/signal/7",
+                Map.of("type", "user-joined"));
+
+        awaitContents(nodeB, "/topic/signal/7", 1);
+        assertThat(nodeA.getBean(RecordingChannel.class).payloads("/topic/camp/1/presence")).hasSize(1);
+        assertThat(nodeB.getBean(RecordingChannel.class).payloads("/topic/camp/1/presence")).isEmpty();
+    }
+
+    private List<String> awaitContents(AnnotationConfigApplicationContext node, String destination, int expected)
+            throws InterruptedException {
+        RecordingChannel channel = node.getBean(RecordingChannel.class);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (channel.payloads(destination).size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        return channel.payloads(destination).stream()
+                .map(payload -> {
+                    try {
+                        JsonNode node = objectMapper.readTree(payload);
+                        return node.has("content") ? node.get("content").asText() : node.path("type").asText();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private AnnotationConfigApplicationContext startNode() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "ws.relay.mode", "redis",
+                "ws.broadcast.track-allocation", "false",
+                "test.redis.port", String.valueOf(redisPort))));
+        context.register(NodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    @Import({ NodeIdentity.class, MessageBroadcaster.class, RedisBroadcastRelay.class })
+    static class NodeConfig {
+
+        @Bean
+        LettuceConnectionFactory redisConnectionFactory(@Value("${test.redis.port}") int port) {
+            return new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        }
+
+        @Bean
+        StringRedisTemplate redisTemplate(LettuceConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+
+        @Bean
+        RecordingChannel recordingChannel() {
+            return new RecordingChannel();
+        }
+
+        @Bean
+        SimpMessagingTemplate messagingTemplate(RecordingChannel channel) {
+            return new SimpMessagingTemplate(channel);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RecentChatMessageCache recentChatMessageCache(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+            return new RecentChatMessageCache(mock(ChannelChatMessageRepository.class), objectMapper, meterRegistry,
+                    false, 300, 10, 30, 24);
+        }
+    }
+
+    /**
+     * 로컬 브로커 대신 전달된 메시지를 destination별로 기록합니다.
+     */
+    static class RecordingChannel implements MessageChannel {
+
+        private final List<Message<?>> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            messages.add(message);
+            return true;
+        }
+
+        List<String> payloads(String destination) {
+            return messages.stream()
+                    .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                    .map(message -> new String((byte[]) message.getPayload(), StandardCharsets.UTF_8))
+                    .toList();
+        }
+    }
+}
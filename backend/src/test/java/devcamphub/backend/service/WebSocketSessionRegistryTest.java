@@ -0,0 +1,207 @@
+package devcamphub.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 Redis에서 방 참여/퇴장, 세션 해제, 죽은 노드 정리 스크립트를 검증합니다.
+ * 두 레지스트리(노드 A, B)가 같은 Redis를 공유합니다. (near cache는 끄고 항상 Redis를 읽음)
+ */
+class WebSocketSessionRegistryTest {
+
+    private static RedisServer redisServer;
+    private static int redisPort;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private WebSocketSessionRegistry nodeA;
+    private WebSocketSessionRegistry nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redisPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        nodeA = registry();
+        nodeB = registry();
+        // 방 1의 방송자
+        redisTemplate.opsForValue().set(WebSocketSessionRegistry.viewersOwnerKey("1"), "owner");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void joinReturnsOtherMembersAndCountsViewersExceptOwner() {
+        assertThat(nodeA.joinRoom("1", "owner").existingUsers()).isEmpty();
+        assertThat(nodeA.joinRoom("1", "alice").existingUsers()).containsExactly("owner");
+        assertThat(nodeB.joinRoom("1", "bob").existingUsers()).containsExactlyInAnyOrder("owner", "alice");
+        // 같은 방에 다시 들어와도 두 번 세지 않습니다.
+        assertThat(nodeA.joinRoom("1", "alice").existingUsers()).containsExactlyInAnyOrder("owner", "bob");
+
+        assertThat(current("1")).isEqualTo(2);
+        assertThat(redisTemplate.opsForHyperLogLog().size(WebSocketSessionRegistry.viewersUniqueKey("1")))
+                .isEqualTo(2);
+        assertThat(members(nodeA)).containsExactlyInAnyOrder("1|owner", "1|alice");
+        assertThat(members(nodeB)).containsExactly("1|bob");
+    }
+
+    @Test
+    void joiningAnotherRoomLeavesThePreviousRoom() {
+        nodeA.joinRoom("1", "alice");
+
+        WebSocketSessionRegistry.RoomJoin join = nodeA.joinRoom("2", "alice");
+
+        assertThat(join.previousRoomId()).isEqualTo("1");
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).isEmpty();
+        assertThat(redisTemplate.opsForSet().members("ws:room:2")).containsExactly("alice");
+        assertThat(current("1")).isZero();
+        assertThat(current("2")).isEqualTo(1);
+        assertThat(members(nodeA)).containsExactly("2|alice");
+        assertThat(redisTemplate.opsForHash().get("ws:presence:alice", "room")).isEqualTo("2");
+    }
+
+    @Test
+    void joiningThroughAnotherNodeRemovesTheOldNodeEntry() {
+        nodeA.joinRoom("1", "alice");
+
+        nodeB.joinRoom("2", "alice");
+
+        assertThat(members(nodeA)).isEmpty();
+        assertThat(members(nodeB)).containsExactly("2|alice");
+        assertThat(redisTemplate.opsForHash().get("ws:presence:alice", "roomNode")).isEqualTo(nodeB.getNodeId());
+    }
+
+    @Test
+    void ownerMovingToAnotherRoomDoesNotDecrementViewers() {
+        nodeA.joinRoom("1", "alice");
+        nodeA.joinRoom("1", "owner");
+
+        nodeA.joinRoom("2", "owner");
+
+        assertThat(current("1")).isEqualTo(1);
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).containsExactly("alice");
+    }
+
+    @Test
+    void leaveRemovesMembershipAndReturnsTheRoom() {
+        nodeA.joinRoom("1", "alice");
+
+        assertThat(nodeA.leaveRoom("alice")).isEqualTo("1");
+
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).isEmpty();
+        assertThat(current("1")).isZero();
+        assertThat(members(nodeA)).isEmpty();
+        assertThat(redisTemplate.opsForHash().hasKey("ws:presence:alice", "room")).isFalse();
+        assertThat(nodeA.leaveRoom("alice")).isNull();
+    }
+
+    @Test
+    void unregisterKeepsNewerSessionOfSameNickname() {
+        nodeA.registerSession("s1", "alice");
+        nodeB.registerSession("s2", "alice");
+
+        nodeA.unregisterSession("s1");
+        assertThat(redisTemplate.opsForHash().get("ws:presence:alice", "session")).isEqualTo("s2");
+        assertThat(redisTemplate.hasKey("ws:session:s1")).isFalse();
+
+        nodeB.unregisterSession("s2");
+        assertThat(redisTemplate.opsForHash().hasKey("ws:presence:alice", "session")).isFalse();
+    }
+
+    @Test
+    void disconnectLeavesTheRoomAndUnregisters() {
+        nodeA.registerSession("s1", "alice");
+        nodeA.joinRoom("1", "alice");
+
+        List<WebSocketSessionRegistry.Departure> departures = nodeA.disconnectSessions(List.of("s1"));
+
+        assertThat(departures).containsExactly(new WebSocketSessionRegistry.Departure("s1", "alice", "1"));
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).isEmpty();
+        assertThat(current("1")).isZero();
+        assertThat(redisTemplate.opsForHash().hasKey("ws:presence:alice", "session")).isFalse();
+    }
+
+    @Test
+    void reapRemovesMembersThatJoinedThroughTheDeadNode() {
+        nodeA.registerSession("s1", "alice");
+        nodeA.joinRoom("1", "alice");
+
+        List<WebSocketSessionRegistry.ReapedMember> reaped = nodeB.reapNode(nodeA.getNodeId());
+
+        assertThat(reaped).containsExactly(new WebSocketSessionRegistry.ReapedMember("1", "alice"));
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).isEmpty();
+        assertThat(current("1")).isZero();
+        assertThat(redisTemplate.hasKey("ws:presence:alice")).isFalse();
+        assertThat(redisTemplate.hasKey(WebSocketSessionRegistry.nodeMembersKey(nodeA.getNodeId()))).isFalse();
+    }
+
+    @Test
+    void reapKeepsMembersThatRejoinedThroughAnotherNode() {
+        nodeA.registerSession("s1", "alice");
+        nodeA.joinRoom("1", "alice");
+        // 노드 A가 죽기 전에 남긴 기록을 다시 만들어, B로 다시 연결해 같은 방에 들어온 상황을 만듭니다.
+        nodeB.registerSession("s2", "alice");
+        nodeB.joinRoom("1", "alice");
+        redisTemplate.opsForSet().add(WebSocketSessionRegistry.nodeMembersKey(nodeA.getNodeId()), "1|alice");
+
+        assertThat(nodeB.reapNode(nodeA.getNodeId())).isEmpty();
+
+        assertThat(redisTemplate.opsForSet().members("ws:room:1")).containsExactly("alice");
+        assertThat(current("1")).isEqualTo(1);
+        assertThat(redisTemplate.opsForHash().get("ws:presence:alice", "session")).isEqualTo("s2");
+    }
+
+    private WebSocketSessionRegistry registry() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NodeIdentity nodeIdentity = new NodeIdentity(redisTemplate, -1, 30);
+        RoomRegistryNearCache nearCache =
+                new RoomRegistryNearCache(connectionFactory, nodeIdentity, meterRegistry, false, 100, 30);
+        return new WebSocketSessionRegistry(redisTemplate, nearCache, nodeIdentity, 30, 3600);
+    }
+
+    private long current(String roomId) {
+        String value = redisTemplate.opsForValue().get(WebSocketSessionRegistry.viewersCurrentKey(roomId));
+        return value != null ? Long.parseLong(value) : 0;
+    }
+
+    private Set<String> members(WebSocketSessionRegistry node) {
+        return redisTemplate.opsForSet().members(WebSocketSessionRegistry.nodeMembersKey(node.getNodeId()));
+    }
+}
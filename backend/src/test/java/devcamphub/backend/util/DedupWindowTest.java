@@ -0,0 +1,128 @@
+package devcamphub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 조작 가능한 시계로 세대 교체, 지운 슬롯(tombstone), 표시 값과 같은 실제 값의 처리를 검증합니다.
+ */
+class DedupWindowTest {
+
+    private static final long WINDOW = 1_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final DedupWindow window = new DedupWindow(16, WINDOW, now::get);
+
+    @Test
+    void rejectsCapacityThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new DedupWindow(12, WINDOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reportsDuplicateWithinWindow() {
+        assertThat(window.add(42L)).isTrue();
+        assertThat(window.add(42L)).isFalse();
+        assertThat(window.add(43L)).isTrue();
+    }
+
+    @Test
+    void remembersValuesForOneMoreGeneration() {
+        window.add(42L);
+
+        now.set(WINDOW); // 교체: 42는 이전 세대로
+        assertThat(window.add(42L)).isFalse();
+
+        now.set(WINDOW * 2); // 다시 교체: 이전 세대가 버려짐
+        assertThat(window.add(42L)).isTrue();
+    }
+
+    @Test
+    void removedValueCanBeAddedAgain() {
+        window.add(42L);
+        window.remove(42L);
+        assertThat(window.add(42L)).isTrue();
+        assertThat(window.add(42L)).isFalse();
+    }
+
+    @Test
+    void removeAlsoClearsPreviousGeneration() {
+        window.add(42L);
+        now.set(WINDOW);
+        window.remove(42L);
+        assertThat(window.add(42L)).isTrue();
+    }
+
+    @Test
+    void tombstoneKeepsProbeChainIntact() {
+        // 같은 슬롯에서 시작하는 값들을 찾아 연속으로 넣고, 앞의 값을 지워도 뒤의 값을 찾아야 합니다.
+        long first = 1L;
+        long second = collidingWith(first);
+        window.add(first);
+        window.add(second);
+
+        window.remove(first);
+        assertThat(window.add(second)).isFalse();
+    }
+
+    @Test
+    void sentinelValuesAreDistinctFromEachOtherAndFromOtherValues() {
+        assertThat(window.add(0L)).isTrue();
+        assertThat(window.add(Long.MIN_VALUE)).isTrue();
+        assertThat(window.add(Long.MIN_VALUE + 1)).isTrue();
+
+        assertThat(window.add(0L)).isFalse();
+        assertThat(window.add(Long.MIN_VALUE)).isFalse();
+        assertThat(window.add(Long.MIN_VALUE + 1)).isFalse();
+    }
+
+    @Test
+    void sentinelValuesFollowGenerationsAndRemoval() {
+        window.add(0L);
+        window.add(Long.MIN_VALUE);
+
+        now.set(WINDOW);
+        assertThat(window.add(0L)).isFalse();
+        window.remove(Long.MIN_VALUE);
+        assertThat(window.add(Long.MIN_VALUE)).isTrue();
+
+        now.set(WINDOW * 3); // 0이 기록된 세대가 버려짐
+        assertThat(window.add(0L)).isTrue();
+    }
+
+    @Test
+    void letsValuesThroughWhenTableIsFull() {
+        for (long value = 1; value <= 16; value++) {
+            assertThat(window.add(value)).isTrue();
+        }
+        // 자리가 없으면 기록하지 못하고 처음 본 값으로 취급합니다.
+        assertThat(window.add(100L)).isTrue();
+        assertThat(window.add(100L)).isTrue();
+        assertThat(window.add(1L)).isFalse();
+    }
+
+    /**
+     * 같은 첫 슬롯으로 해시되는 다른 값을 찾습니다. (DedupWindow.indexFor와 같은 fmix64, capacity 16)
+     */
+    private static long collidingWith(long value) {
+        for (long candidate = value + 1; ; candidate++) {
+            if (slotOf(candidate) == slotOf(value)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int slotOf(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & 15;
+    }
+}
@@ -0,0 +1,75 @@
+// src/api/stomp.ts
+import { Client, type IMessage, type StompSubscription } from "@stomp/stompjs";
+import SockJS from "sockjs-client";
+
+// 여러 훅이 구독만 필요한 토픽은 하나의 STOMP 연결을 함께 씁니다.
+// 마지막 구독이 해제되면 연결을 닫습니다.
+
+type Watcher = {
+  destination: string;
+  onMessage: (message: IMessage) => void;
+  onSubscribed: () => void;
+  subscription?: StompSubscription;
+};
+
+const watchers = new Set<Watcher>();
+let client: Client | null = null;
+
+function sockJsUrl() {
+  const wsBase = import.meta.env.VITE_WS_BASE ?? "http://127.0.0.1:8080";
+  const normalizedWsBase = wsBase.startsWith("ws://")
+    ? wsBase.replace(/^ws:\/\//, "http://")
+    : wsBase.startsWith("wss://")
+      ? wsBase.replace(/^wss:\/\//, "https://")
+      : wsBase;
+  const token = localStorage.getItem("token");
+  return token
+    ? `${normalizedWsBase}/ws-stomp?token=${encodeURIComponent(token)}`
+    : `${normalizedWsBase}/ws-stomp`;
+}
+
+function subscribe(shared: Client, watcher: Watcher) {
+  watcher.subscription = shared.subscribe(watcher.destination, watcher.onMessage);
+  watcher.onSubscribed();
+}
+
+function connect() {
+  const shared = new Client({
+    webSocketFactory: () => new SockJS(sockJsUrl()),
+    connectHeaders: {
+      Authorization: `Bearer ${localStorage.getItem("token")}`,
+    },
+    reconnectDelay: 5000,
+    // (재)연결될 때마다 모든 구독을 다시 등록합니다.
+    onConnect: () => watchers.forEach((watcher) => subscribe(shared, watcher)),
+  });
+  shared.activate();
+  return shared;
+}
+
+/**
+ * 공유 연결로 destination을 구독합니다. onSubscribed는 구독이 (다시) 등록될 때마다 호출되므로,
+ * 연결이 끊긴 사이 놓친 메시지를 스냅샷으로 다시 맞추는 데 씁니다. 반환한 함수로 구독을 해제합니다.
+ */
+export function watchTopic(
+  destination: string,
+  onMessage: (message: IMessage) => void,
+  onSubscribed: () => void
+) {
+  const watcher: Watcher = { destination, onMessage, onSubscribed };
+  watchers.add(watcher);
+  if (!client) {
+    client = connect();
+  } else if (client.connected) {
+    subscribe(client, watcher);
+  }
+
+  return () => {
+    watchers.delete(watcher);
+    if (client?.connected) watcher.subscription?.unsubscribe();
+    if (watchers.size === 0 && client) {
+      client.deactivate();
+      client = null;
+    }
+  };
+}
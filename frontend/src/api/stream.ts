@@ -1,62 +1,48 @@
 // src/api/stream.ts
+import type { Client } from "@stomp/stompjs";
 import { http } from "./http";
 
-export type StreamMeta = {
-  micOn: boolean;
-  camOn: boolean;
-  screenOn: boolean;
-  shareTarget?: string;
-  // 확장 가능 필드
-  [k: string]: unknown;
+// 백엔드의 StreamEventRequest와 형식을 맞춥니다.
+type StreamEventPayload = {
+  eventType: "START" | "HEARTBEAT" | "STOP";
+  streamSessionId: string;
+  campId?: number;
+  streamTitle?: string;
+  streamId?: number; // START 시 이미 만든 스트림에 세션만 연결
 };
 
-export type StreamSession = {
-  sessionId: string;
-  userId: string;
-  campId: string;
-  startedAt: string; // ISO
-  state: "OPEN" | "CLOSED" | "TIMEOUT";
-};
-
-type StartPayload = {
-  type: "START";
-  campId: string;
-  meta?: StreamMeta;
-};
-
-type HeartbeatPayload = {
-  type: "HEARTBEAT";
-  sessionId: string;
-  meta?: StreamMeta;
-};
-
-type StopPayload = {
-  type: "STOP";
-  sessionId: string;
-  meta?: StreamMeta;
-};
+// 하트비트 주기. 서버는 45초 동안 하트비트가 없으면 세션을 만료시키고 스트림을 종료합니다.
+export const HEARTBEAT_INTERVAL_MS = 30_000;
 
-export async function startSession(campId: string, meta?: StreamMeta) {
-  const body: StartPayload = { type: "START", campId, meta };
-  return http<{ session: StreamSession }>("/streams/events", {
+function postEvent(body: StreamEventPayload) {
+  return http<void>("/api/streams/events", {
     method: "POST",
     body: JSON.stringify(body),
   });
 }
 
-export async function heartbeat(sessionId: string, meta?: StreamMeta) {
-  const body: HeartbeatPayload = { type: "HEARTBEAT", sessionId, meta };
-  // 서버가 204를 줄 수도 있으므로 반환 타입은 void로
-  return http<void>("/streams/events", {
-    method: "POST",
-    body: JSON.stringify(body),
-  });
+// 이미 만든 스트림(POST /api/camps/{campId}/streams)에 하트비트 세션을 연결하고 세션 ID를 반환합니다.
+export async function startSession(streamId: number) {
+  const streamSessionId = crypto.randomUUID();
+  await postEvent({ eventType: "START", streamSessionId, streamId });
+  return streamSessionId;
 }
 
-export async function stopSession(sessionId: string, meta?: StreamMeta) {
-  const body: StopPayload = { type: "STOP", sessionId, meta };
-  return http<void>("/streams/events", {
-    method: "POST",
-    body: JSON.stringify(body),
+// STOMP 연결이 없을 때 쓰는 HTTP 하트비트
+export async function heartbeat(streamSessionId: string) {
+  return postEvent({ eventType: "HEARTBEAT", streamSessionId });
+}
+
+// 이미 연결된 STOMP 클라이언트로 HEARTBEAT를 보냅니다. (HTTP 인증 왕복 없음, 서버가 노드 단위로 모아 TTL 갱신)
+export function sendHeartbeat(client: Client, sessionId: string) {
+  if (!client.connected) return false;
+  client.publish({
+    destination: "/app/stream-heartbeat",
+    body: JSON.stringify({ streamSessionId: sessionId }),
   });
+  return true;
+}
+
+export async function stopSession(streamSessionId: string) {
+  return postEvent({ eventType: "STOP", streamSessionId });
 }
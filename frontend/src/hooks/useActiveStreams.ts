@@ -0,0 +1,117 @@
+import { useEffect, useState } from 'react';
+import { http } from '../api/http';
+import { watchTopic } from '../api/stomp';
+
+// 백엔드의 ActiveStreamsSnapshot / ActiveStreamDelta와 형식을 맞춥니다.
+interface ActiveStreamsSnapshot<T> {
+  version: number;
+  streams: T[];
+}
+
+interface ActiveStreamDelta<T> {
+  version: number;
+  op: 'ADD' | 'UPDATE' | 'REMOVE';
+  streamId: number;
+  stream: T | null;
+}
+
+// 스냅샷을 받기 전에 쌓아 둘 변경 수. 넘치면 버리고, 이후 버전이 건너뛴 것을 보고 스냅샷을 다시 받습니다.
+const MAX_PENDING = 100;
+// 스냅샷 요청이 실패했을 때 다시 시도하는 간격 (실패할 때마다 두 배, 최대값까지)
+const RETRY_MIN_MS = 1000;
+const RETRY_MAX_MS = 30_000;
+
+/**
+ * 캠프의 활성 스트림 목록을 유지합니다.
+ * 스냅샷(버전 포함)을 한 번 받은 뒤 /topic/streams/{campId}의 변경만 반영하므로 주기적으로 목록을 다시 요청하지 않습니다.
+ * 버전이 건너뛰었거나(변경 유실) 다시 연결되면 스냅샷을 새로 받습니다. 구독은 공유 STOMP 연결(api/stomp)을 씁니다.
+ */
+export const useActiveStreams = <T extends { streamId: number }>(
+  campId: string | undefined,
+  enabled = true
+) => {
+  const [streams, setStreams] = useState<T[]>([]);
+
+  useEffect(() => {
+    if (!campId || !enabled) {
+      setStreams([]);
+      return;
+    }
+
+    let active = true;
+    let version = -1; // 스냅샷을 받기 전
+    let pending: ActiveStreamDelta<T>[] = []; // 스냅샷을 받기 전에 도착한 변경
+    let current: T[] = [];
+
+    const publish = (next: T[]) => {
+      current = next;
+      if (active) setStreams(next);
+    };
+
+    const apply = (delta: ActiveStreamDelta<T>) => {
+      if (delta.version <= version) return true; // 스냅샷에 이미 반영됨
+      if (delta.version !== version + 1) return false; // 중간 변경 유실
+      version = delta.version;
+      const others = current.filter((s) => s.streamId !== delta.streamId);
+      publish(
+        delta.op === 'REMOVE' || !delta.stream
+          ? others
+          : [...others, delta.stream].sort((a, b) => a.streamId - b.streamId)
+      );
+      return true;
+    };
+
+    let request = 0; // 마지막 스냅샷 요청 번호. 늦게 도착한 이전 응답은 버립니다.
+    let retryDelay = RETRY_MIN_MS;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const loadSnapshot = async () => {
+      clearTimeout(retryTimer);
+      const requested = ++request;
+      version = -1;
+      pending = [];
+      try {
+        const snapshot = await http<ActiveStreamsSnapshot<T>>(`/api/camps/${campId}/streams/snapshot`);
+        if (!active || requested !== request) return;
+        retryDelay = RETRY_MIN_MS;
+        version = snapshot.version;
+        publish(snapshot.streams);
+        const buffered = pending;
+        pending = [];
+        if (!buffered.every(apply)) loadSnapshot();
+      } catch (error) {
+        if (!active || requested !== request) return;
+        console.error('스트림 목록을 불러오는 데 실패했습니다.', error);
+        pending = [];
+        retryTimer = setTimeout(loadSnapshot, retryDelay);
+        retryDelay = Math.min(retryDelay * 2, RETRY_MAX_MS);
+      }
+    };
+
+    // 먼저 구독한 뒤 스냅샷을 받아, 그 사이의 변경을 놓치지 않습니다.
+    const unwatch = watchTopic(
+      `/topic/streams/${campId}`,
+      (message) => {
+        try {
+          const delta = JSON.parse(message.body) as ActiveStreamDelta<T>;
+          if (version < 0) {
+            if (pending.length < MAX_PENDING) pending.push(delta);
+          } else if (!apply(delta)) {
+            loadSnapshot();
+          }
+        } catch (e) {
+          console.error('Failed to parse stream change:', message.body, e);
+        }
+      },
+      loadSnapshot
+    );
+
+    return () => {
+      active = false;
+      clearTimeout(retryTimer);
+      unwatch();
+    };
+  }, [campId, enabled]);
+
+  return streams;
+};
@@ -4,6 +4,7 @@ import SockJS from 'sockjs-client';
 
 // 백엔드의 ChatMessageDto와 형식을 맞춥니다.
 export interface ChatMessage {
+  messageId?: number; // 서버에 저장된 메시지 ID (채팅 내역 커서)
   clientMsgId?: number; // 클라이언트가 생성한 메시지 ID
   content: string;
   sender: string;
@@ -12,6 +13,36 @@ export interface ChatMessage {
   timestamp: string;
 }
 
+// 백엔드의 StreamChatMessageDto / StreamChatBatch / StreamChatRejection과 형식을 맞춥니다.
+interface StreamChatMessage {
+  messageId: number;
+  clientMsgId?: number;
+  sender: string;
+  content: string;
+  timestamp: string;
+}
+
+interface StreamChatBatch {
+  streamId: number;
+  messages: StreamChatMessage[];
+}
+
+interface StreamChatRejection {
+  clientMsgId: number | null;
+  reason: string;
+  retryAfterMs: number;
+}
+
+const fromStreamChat = (message: StreamChatMessage): ChatMessage => ({ ...message, type: 'CHAT' });
+
+// 백엔드의 ChatHistoryResponse와 형식을 맞춥니다. (messages는 최신순)
+interface ChatHistoryPage {
+  messages: ChatMessage[];
+  before: number | null;
+  after: number | null;
+  hasMore: boolean;
+}
+
 // 메시지 전송 상태 타입
 export type SendingStatus = 'idle' | 'sending' | 'retrying' | 'failed';
 
@@ -48,6 +79,9 @@ export const useChat = (fullChannelId: string, nickname: string) => {
     campId = parts[1];
     channelName = parts[2];
   }
+  // 스트리밍 채널("type:campId:type-{streamId}")은 스트림 채팅으로 보내고(/app/stream-chat/{streamId}),
+  // 서버가 짧은 주기로 모은 묶음(StreamChatBatch)을 /topic/stream-chat/{streamId}에서 받습니다.
+  const streamId = parts[0] === 'chat' ? null : channelName.slice(channelName.lastIndexOf('-') + 1);
 
   useEffect(() => {
     if (!fullChannelId || !nickname) return;
@@ -57,7 +91,10 @@ export const useChat = (fullChannelId: string, nickname: string) => {
 
     const fetchChatHistory = async () => {
       try {
-        const response = await fetch(`${apiBase}/api/camps/${campId}/chat/${channelName}/history`, {
+        const historyUrl = streamId
+          ? `${apiBase}/api/camps/${campId}/streams/${streamId}/chat/history`
+          : `${apiBase}/api/camps/${campId}/chat/${channelName}/history`;
+        const response = await fetch(historyUrl, {
           headers: {
             'Authorization': `Bearer ${localStorage.getItem('token')}`
           }
@@ -65,8 +102,10 @@ export const useChat = (fullChannelId: string, nickname: string) => {
         if (!response.ok) {
           throw new Error(`HTTP error! status: ${response.status}`);
         }
-        const history: ChatMessage[] = await response.json();
-        setMessages(history); // 과거 메시지로 초기화
+        const history: ChatMessage[] = streamId
+          ? ((await response.json()) as StreamChatMessage[]).map(fromStreamChat)
+          : ((await response.json()) as ChatHistoryPage).messages;
+        setMessages([...history].reverse()); // 과거 메시지로 초기화 (화면은 오래된 순)
       } catch (error) {
         console.error("Failed to fetch chat history:", error);
       }
@@ -96,7 +135,38 @@ export const useChat = (fullChannelId: string, nickname: string) => {
       onConnect: () => {
         console.log(`[useChat] WebSocket connected. Subscribing to /topic/chat/${campId}/${channelName}`);
         setConnectionState('connected');
-        
+
+        if (streamId) {
+          // 묶음 안에 내가 보낸 clientMsgId가 있으면 전송 완료(ACK)로 봅니다.
+          client.subscribe(`/topic/stream-chat/${streamId}`, (message) => {
+            try {
+              const batch = JSON.parse(message.body) as StreamChatBatch;
+              batch.messages.forEach((m) => {
+                if (m.clientMsgId != null && pendingMessagesRef.current.delete(m.clientMsgId)) {
+                  setSendingStatus({ status: 'idle', retryCount: 0 });
+                }
+              });
+              setMessages(prevMessages => [...prevMessages, ...batch.messages.map(fromStreamChat)]);
+            } catch (e) {
+              console.error("Failed to parse message body:", message.body, e);
+            }
+          });
+
+          // 슬로우 모드 등으로 거절된 메시지는 바로 실패로 표시합니다. (같은 clientMsgId로 다시 보낼 수 있음)
+          client.subscribe('/user/queue/stream-chat/rejected', (message) => {
+            try {
+              const rejection = JSON.parse(message.body) as StreamChatRejection;
+              if (rejection.clientMsgId != null && pendingMessagesRef.current.delete(rejection.clientMsgId)) {
+                lastFailedMsgIdRef.current = rejection.clientMsgId;
+                setSendingStatus({ status: 'failed', retryCount: 0 });
+              }
+            } catch (e) {
+              console.error("Failed to parse rejection:", message.body, e);
+            }
+          });
+          return;
+        }
+
         // 채팅 메시지 구독
         client.subscribe(`/topic/chat/${campId}/${channelName}`, (message) => {
           console.log('[useChat] Message received from topic:', message.body);
@@ -111,12 +181,13 @@ export const useChat = (fullChannelId: string, nickname: string) => {
         // ACK 구독 - 서버가 메시지를 처리했다는 확인
         client.subscribe('/user/queue/ack', (message) => {
           try {
-            const ack = JSON.parse(message.body) as { clientMsgId: number; status: string };
+            // 서버는 연속 전송된 메시지의 ACK를 clientMsgIds 목록으로 묶어 보냅니다.
+            const ack = JSON.parse(message.body) as { clientMsgIds: number[]; status: string };
             console.log('[useChat 시도4] ACK received:', ack);
             
             if (ack.status === 'DELIVERED') {
               // pending에서 제거 → 타임아웃 취소
-              pendingMessagesRef.current.delete(ack.clientMsgId);
+              ack.clientMsgIds.forEach((clientMsgId) => pendingMessagesRef.current.delete(clientMsgId));
               setSendingStatus({ status: 'idle', retryCount: 0 });
             }
           } catch (e) {
@@ -149,7 +220,7 @@ export const useChat = (fullChannelId: string, nickname: string) => {
       client.deactivate();
       console.log('[useChat] Disconnected from WebSocket');
     };
-  }, [fullChannelId, nickname, campId, channelName, apiBase, wsBase]);
+  }, [fullChannelId, nickname, campId, channelName, streamId, apiBase, wsBase]);
 
   const sendMessage = async (
     messagePayload: { text: string; code?: string; files?: unknown[] },
@@ -185,16 +256,18 @@ export const useChat = (fullChannelId: string, nickname: string) => {
     // pending에 저장 (ACK 대기용)
     pendingMessagesRef.current.set(clientMsgId, messagePayload);
     
-    const chatMessageForApi = {
-      clientMsgId, // 메시지 ID 포함
-      sender: nickname,
-      content: JSON.stringify(messagePayload),
-      type: 'CHAT',
-    };
+    const chatMessageForApi = streamId
+      ? { clientMsgId, content: JSON.stringify(messagePayload) }
+      : {
+          clientMsgId, // 메시지 ID 포함
+          sender: nickname,
+          content: JSON.stringify(messagePayload),
+          type: 'CHAT',
+        };
 
     try {
       clientRef.current.publish({
-        destination: `/app/chat/${campId}/${channelName}`,
+        destination: streamId ? `/app/stream-chat/${streamId}` : `/app/chat/${campId}/${channelName}`,
         body: JSON.stringify(chatMessageForApi),
       });
       
@@ -1,6 +1,7 @@
 import { useCallback, useEffect, useRef, useState } from "react";
 import { http } from "../api/http";
-import { Client } from '@stomp/stompjs';
+import { HEARTBEAT_INTERVAL_MS, heartbeat, sendHeartbeat, startSession, stopSession } from "../api/stream";
+import { Client, type IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 
 export interface StreamMeta {
@@ -12,6 +13,8 @@ export interface StreamMeta {
   track: 'WEB' | 'ANDROID' | 'IOS';
 }
 
+const ICE_BATCH_DELAY_MS = 10;
+
 interface StreamResponseDto {
     streamId: number;
     title: string;
@@ -25,6 +28,8 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
     joinStreamId ? parseInt(joinStreamId, 10) : null
   );
   const [meta, setMeta] = useState<Partial<StreamMeta>>({});
+  // 방송자의 하트비트 세션 ID (하트비트가 끊기면 서버가 스트림을 종료)
+  const [streamSessionId, setStreamSessionId] = useState<string | null>(null);
   
   const [localStream, setLocalStream] = useState<MediaStream | null>(null);
   const localStreamRef = useRef<MediaStream | null>(null);
@@ -44,18 +49,26 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
       console.log(`[${peerNickname}] Peer connection state: ${pc.connectionState}`);
     };
 
+    // 연달아 나오는 ICE 후보는 잠깐 모아 한 프레임(data 배열)으로 보냅니다.
+    let pendingCandidates: RTCIceCandidate[] = [];
     pc.onicecandidate = (event) => {
-      if (event.candidate && stompClient.current?.connected) {
-        stompClient.current.publish({ 
-          destination: `/app/signal/${currentStreamId}`, 
-          body: JSON.stringify({ 
-            type: 'ice', 
-            sender: nickname, 
-            receiver: peerNickname, 
-            data: event.candidate 
-          }) 
+      if (!event.candidate) return;
+      pendingCandidates.push(event.candidate);
+      if (pendingCandidates.length > 1) return;
+      setTimeout(() => {
+        const candidates = pendingCandidates;
+        pendingCandidates = [];
+        if (!stompClient.current?.connected) return;
+        stompClient.current.publish({
+          destination: `/app/signal/${currentStreamId}`,
+          body: JSON.stringify({
+            type: 'ice',
+            sender: nickname,
+            receiver: peerNickname,
+            data: candidates.length === 1 ? candidates[0] : candidates
+          })
         });
-      }
+      }, ICE_BATCH_DELAY_MS);
     };
 
     pc.ontrack = (event) => {
@@ -91,6 +104,11 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
       setMeta(initialMeta);
       setStreamId(streamRes.streamId);
       setStreaming(true);
+      try {
+        setStreamSessionId(await startSession(streamRes.streamId));
+      } catch (error) {
+        console.error("하트비트 세션 시작 실패:", error);
+      }
       return streamRes.streamId;
     } catch (err) {
       console.error("스트리밍 시작 실패:", err);
@@ -106,6 +124,10 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
     } catch (error) {
       console.error("스트림 종료 API 호출 실패:", error);
     }
+    if (streamSessionId) {
+      stopSession(streamSessionId).catch((error) => console.error("하트비트 세션 종료 실패:", error));
+      setStreamSessionId(null);
+    }
     
     localStreamRef.current?.getTracks().forEach(track => track.stop());
     localStreamRef.current = null;
@@ -119,7 +141,18 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
     if (stompClient.current?.active) {
       stompClient.current.deactivate();
     }
-  }, [campId, streamId]);
+  }, [campId, streamId, streamSessionId]);
+
+  // 방송 중에는 열려 있는 STOMP 연결로 하트비트를 보내고, 연결이 없을 때만 HTTP로 보냅니다.
+  useEffect(() => {
+    if (!streamSessionId) return;
+    const timer = setInterval(() => {
+      const client = stompClient.current;
+      if (client && sendHeartbeat(client, streamSessionId)) return;
+      heartbeat(streamSessionId).catch((error) => console.error("하트비트 전송 실패:", error));
+    }, HEARTBEAT_INTERVAL_MS);
+    return () => clearInterval(timer);
+  }, [streamSessionId]);
 
   const toggleAudio = useCallback(() => {
     if (localStreamRef.current) {
@@ -158,7 +191,9 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
         webSocketFactory: () => new SockJS(sockJsUrl),
         reconnectDelay: 5000,
         onConnect: () => {
-            client.subscribe(`/topic/signal/${streamId}`, async message => {
+            // offer/answer/ice는 서버가 수신자 세션으로만 보내고(/user/queue/signal),
+            // user-joined/user-left 같은 방 전체 이벤트만 토픽으로 받습니다.
+            const handleSignal = async (message: IMessage) => {
                 const signal = JSON.parse(message.body);
                 const sender = signal.sender;
                 if (sender === nickname) return;
@@ -190,7 +225,11 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
                       break;
                   }
                   case 'ice': {
-                      await pc.addIceCandidate(new RTCIceCandidate(signal.data));
+                      // 서버가 연달아 온 후보를 배열로 묶어 보낼 수 있습니다.
+                      const candidates = Array.isArray(signal.data) ? signal.data : [signal.data];
+                      for (const candidate of candidates) {
+                          await pc.addIceCandidate(new RTCIceCandidate(candidate));
+                      }
                       break;
                   }
                   case 'user-left': {
@@ -206,7 +245,9 @@ export function useStreamSession(campId: string, nickname: string, joinStreamId?
                       break;
                   }
               }
-            });
+            };
+            client.subscribe(`/topic/signal/${streamId}`, handleSignal);
+            client.subscribe('/user/queue/signal', handleSignal);
 
             // 본인을 제외한 기존 참여자 목록을 요청하고, 연결을 시작
             client.publish({
@@ -1,9 +1,10 @@
-import { useEffect, useState, useCallback } from "react";
+import { useEffect, useState, useCallback, useMemo } from "react";
 import { useNavigate, useParams, useSearchParams } from "react-router-dom";
 import "../styles/CampDetail.css";
 import ChatPage from "./ChatPage";
 import HeroCard from "../components/HeroCard";
 import { useStreamSession, type StreamMeta } from "../hooks/useStreamSession";
+import { useActiveStreams } from "../hooks/useActiveStreams";
 import { http, API_BASE } from "../api/http";
 import { type Camp } from "./DashBoardHome";
 import BroadcastView from "../components/BroadcastView";
@@ -25,6 +26,8 @@ interface StreamResponseDto {
   ownerNickname: string;
   type: "LECTURE" | "MOGAKCO";
   thumbnailUrl?: string; // Optional for now
+  viewerCount?: number; // 현재 시청자 수 (주기적으로 갱신)
+  uniqueViewerCount?: number; // 누적 시청자 수 (근사값)
 }
 
 type Channel = "notice" | "qna" | "resources" | "lounge" | "study" | "live" | "mogakco";
@@ -127,33 +130,13 @@ export default function CampDetail() {
     setSp(next, { replace: true });
   }, [ch, setSp]);
 
-  const [activeStreams, setActiveStreams] = useState<StreamResponseDto[]>([]);
-
-  useEffect(() => {
-    if (ch !== "mogakco" && ch !== "live") {
-      setActiveStreams([]);
-      return;
-    }
-
-    const fetchStreams = async () => {
-      try {
-        const streams = await http<StreamResponseDto[]>(`/api/camps/${campId}/streams`);
-        if (ch === "live") {
-          setActiveStreams(streams.filter((s) => s.type === "LECTURE"));
-        } else {
-          // mogakco
-          setActiveStreams(streams.filter((s) => s.type === "MOGAKCO"));
-        }
-      } catch (error) {
-        console.error("스트림 목록을 불러오는 데 실패했습니다.", error);
-      }
-    };
-
-    fetchStreams();
-    const interval = setInterval(fetchStreams, 10000); // 10초마다 목록 새로고침
-
-    return () => clearInterval(interval);
-  }, [ch, campId]);
+  // 활성 스트림 목록: 스냅샷을 한 번 받고 이후 변경은 /topic/streams/{campId}로 받습니다.
+  // 채널을 바꿀 때마다 공유 STOMP 연결을 닫았다 열지 않도록 페이지에 있는 동안 계속 구독합니다.
+  const streams = useActiveStreams<StreamResponseDto>(campId);
+  const activeStreams = useMemo(
+    () => streams.filter((s) => s.type === (ch === "live" ? "LECTURE" : "MOGAKCO")),
+    [streams, ch]
+  );
 
   const [streamType, setStreamType] = useState<"LECTURE" | "MOGAKCO">("MOGAKCO");
   const [showCheckin, setShowCheckin] = useState(false);
@@ -310,7 +293,10 @@ export default function CampDetail() {
                               </div>
                             </div>
                           )}
-                          <div className="nickname">{stream.ownerNickname}</div>
+                          <div className="nickname">
+                            {stream.ownerNickname}
+                            {stream.viewerCount ? ` · 👀 ${stream.viewerCount}` : ""}
+                          </div>
                         </div>
                       ))
                     ) : (
@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { useParams } from "react-router-dom";
-import { http } from "../api/http";
+import { useActiveStreams } from "../hooks/useActiveStreams";
 import ChatPage from "./ChatPage";
 
 // CampDetail.tsx에서 복사해온 decodeJwt 함수
@@ -37,7 +37,9 @@ export interface StreamResponseDto {
 
 export default function LiveLecture() {
   const { campId } = useParams<{ campId: string }>();
-  const [lectureStream, setLectureStream] = useState<StreamResponseDto | null>(null);
+  // 활성 스트림 목록: 스냅샷을 한 번 받고 이후 변경은 /topic/streams/{campId}로 받습니다.
+  const streams = useActiveStreams<StreamResponseDto>(campId);
+  const lectureStream = streams.find((s) => s.type === "LECTURE") ?? null;
   const [nickname, setNickname] = useState("익명"); // nickname 상태 추가
 
   useEffect(() => {
@@ -48,22 +50,7 @@ export default function LiveLecture() {
         setNickname(payload.nickname);
       }
     }
-
-    const fetchLectureStream = async () => {
-      try {
-        const allStreams = await http<StreamResponseDto[]>(`/api/camps/${campId}/streams`);
-        const lecture = allStreams.find((s) => s.type === "LECTURE");
-        setLectureStream(lecture || null);
-      } catch (error) {
-        console.error("강의 정보를 불러오는 데 실패했습니다.", error);
-      }
-    };
-
-    fetchLectureStream();
-    const interval = setInterval(fetchLectureStream, 15000); // 15초마다 새로고침
-
-    return () => clearInterval(interval);
-  }, [campId]);
+  }, []);
 
   return (
     <div className="live-wrapper">